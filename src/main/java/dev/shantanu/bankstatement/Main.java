@@ -0,0 +1,148 @@
+package dev.shantanu.bankstatement;
+
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.ingest.BatchIngester;
+import dev.shantanu.bankstatement.ingest.InboxDaemon;
+import dev.shantanu.bankstatement.ingest.IngestOptions;
+import dev.shantanu.bankstatement.ingest.IngestStats;
+import dev.shantanu.bankstatement.ingest.StatementFiles;
+import dev.shantanu.bankstatement.output.StatementWriter;
+import dev.shantanu.bankstatement.parser.LayoutCache;
+import dev.shantanu.bankstatement.parser.ParseBudget;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import dev.shantanu.bankstatement.parser.StringDictionary;
+import dev.shantanu.bankstatement.server.StatementHttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch ingester: parses every statement named on the command line and streams the transactions as NDJSON or CSV.
+ * The throughput summary goes to standard error, so standard output only carries rows. Exits with 1 when a file
+ * failed to parse and with 2 on a usage error. With {@code --watch} it runs an {@link InboxDaemon}, and with
+ * {@code --serve} a {@link StatementHttpServer}, until the JVM is stopped instead.
+ */
+public final class Main {
+  private static final long MAX_UPLOAD_BYTES = 64L * 1024 * 1024;
+  private static final long PARSE_PERMIT_TIMEOUT_SECONDS = 30;
+  private static final long LARGE_FILE_THRESHOLD_BYTES = 32L * 1024 * 1024;
+  private static final Duration PARSE_TIME_LIMIT = Duration.ofMinutes(5);
+  private static final long MAX_ROWS_SCANNED = 10_000_000;
+  private static final long MAX_DECOMPRESSED_BYTES = 2L * 1024 * 1024 * 1024;
+  private static final int EXIT_FAILED_FILES = 1;
+  private static final int EXIT_USAGE = 2;
+
+  private Main() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    IngestOptions options;
+    try {
+      options = IngestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(IngestOptions.USAGE);
+      System.exit(EXIT_USAGE);
+      return;
+    }
+    if (options.help()) {
+      System.out.print(IngestOptions.USAGE);
+      return;
+    }
+
+    // Files are the unit of parallelism, so each parse reads its worksheets sequentially and --threads bounds every
+    // parse thread. All parses share one dictionary of the narrations repeating across statements and the layouts of
+    // the exports seen so far. Very large workbooks are streamed so that a few of them in flight don't exhaust the
+    // heap, and a file that would pin its worker, a zip bomb or a sheet of phantom rows, fails on its own budget
+    ParseBudget budget = ParseBudget.builder()
+      .timeLimit(PARSE_TIME_LIMIT)
+      .maxRows(MAX_ROWS_SCANNED)
+      .maxDecompressedBytes(MAX_DECOMPRESSED_BYTES)
+      .maxHeapBytes(Runtime.getRuntime().maxMemory() / 2)
+      .build();
+    ParseOptions parseOptions = ParseOptions.builder()
+      .sharedStringDictionary(new StringDictionary())
+      .layoutCache(new LayoutCache())
+      .sheetParallelism(1)
+      .largeFileThreshold(LARGE_FILE_THRESHOLD_BYTES)
+      .budget(budget)
+      .build();
+    // Categories are assigned as the rows of each parsed statement are written, see TransactionCategorizer
+    TransactionCategorizer categorizer;
+    try {
+      categorizer = options.categories() == null ? null : TransactionCategorizer.load(options.categories());
+    } catch (AccountStatementException e) {
+      System.err.println("Could not load the categories " + options.categories() + ": " + e.getMessage());
+      System.exit(EXIT_USAGE);
+      return;
+    }
+    if (options.isDaemon()) {
+      runDaemon(options, parseOptions, categorizer);
+      return;
+    }
+    if (options.isServer()) {
+      StatementHttpServer server = new StatementHttpServer(new InetSocketAddress(options.port()), parseOptions,
+        options.threads(), MAX_UPLOAD_BYTES, PARSE_PERMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+      server.start();
+      return;
+    }
+
+    List<Path> files;
+    try {
+      files = StatementFiles.resolve(options.inputs());
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+      System.exit(EXIT_USAGE);
+      return;
+    }
+    if (files.isEmpty()) {
+      System.err.println("No statement files found in " + options.inputs());
+      System.exit(EXIT_USAGE);
+      return;
+    }
+    BatchIngester ingester = new BatchIngester(StatementType.getDefault(), options.threads(), parseOptions);
+
+    IngestStats stats;
+    try (StatementWriter writer = options.format().open(openOutput(options.output()), categorizer)) {
+      stats = ingester.ingest(files, writer);
+    }
+    System.err.println(stats.summary());
+    if (stats.failedFiles() > 0) {
+      System.exit(EXIT_FAILED_FILES);
+    }
+  }
+
+  private static void runDaemon(IngestOptions options, ParseOptions parseOptions, TransactionCategorizer categorizer)
+    throws IOException {
+    InboxDaemon daemon = new InboxDaemon(options.inbox(), options.outbox(), StatementType.getDefault(), options.threads(),
+      parseOptions, options.format(), categorizer);
+    Thread watcher = Thread.currentThread();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        daemon.close();
+        watcher.join();
+      } catch (IOException | InterruptedException e) {
+        System.err.println("Daemon did not stop cleanly: " + e);
+      }
+    }));
+    daemon.run();
+  }
+
+  private static Writer openOutput(Path output) throws IOException {
+    if (output == null) {
+      return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+    }
+    return Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+  }
+}
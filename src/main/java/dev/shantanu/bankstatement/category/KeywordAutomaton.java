@@ -0,0 +1,144 @@
+package dev.shantanu.bankstatement.category;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over every keyword of the rules, compiled into a DFA: one pass over a text finds the
+ * keywords it contains, whatever their number. Matching ignores case.
+ * <p>
+ * The alphabet is reduced to the characters the keywords use, every other character shares one class, so the
+ * transition table holds {@code states * (distinct characters + 1)} entries. Each state carries the lowest rule index
+ * of the keywords ending there, its own or through its suffixes, so a scan only keeps the minimum over the states it
+ * passes.
+ */
+final class KeywordAutomaton {
+  static final int NO_MATCH = Integer.MAX_VALUE;
+  private static final int ROOT = 0;
+
+  private final char[] charClasses;
+  private final int alphabetSize;
+  private final int[] transitions;
+  private final int[] matches;
+
+  private KeywordAutomaton(char[] charClasses, int alphabetSize, int[] transitions, int[] matches) {
+    this.charClasses = charClasses;
+    this.alphabetSize = alphabetSize;
+    this.transitions = transitions;
+    this.matches = matches;
+  }
+
+  /**
+   * @param keywords keyword of each rule, the index in the list being the rule index
+   */
+  static KeywordAutomaton compile(List<String> keywords) {
+    char[] charClasses = new char[Character.MAX_VALUE + 1];
+    int alphabetSize = 1;
+    for (String keyword : keywords) {
+      for (int i = 0; i < keyword.length(); i++) {
+        char c = fold(keyword.charAt(i));
+        if (charClasses[c] == 0) {
+          if (alphabetSize == Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Keywords use too many distinct characters");
+          }
+          charClasses[c] = (char) alphabetSize++;
+        }
+      }
+    }
+
+    // Trie of the keywords, a state's transitions keyed by character class
+    List<Map<Character, Integer>> trie = new ArrayList<>();
+    List<Integer> trieMatches = new ArrayList<>();
+    trie.add(new HashMap<>());
+    trieMatches.add(NO_MATCH);
+    for (int rule = 0; rule < keywords.size(); rule++) {
+      String keyword = keywords.get(rule);
+      if (keyword.isEmpty()) {
+        throw new IllegalArgumentException("Keyword of rule " + rule + " is empty");
+      }
+      int state = ROOT;
+      for (int i = 0; i < keyword.length(); i++) {
+        char charClass = charClasses[fold(keyword.charAt(i))];
+        Integer next = trie.get(state).get(charClass);
+        if (next == null) {
+          next = trie.size();
+          trie.add(new HashMap<>());
+          trieMatches.add(NO_MATCH);
+          trie.get(state).put(charClass, next);
+        }
+        state = next;
+      }
+      trieMatches.set(state, Math.min(trieMatches.get(state), rule));
+    }
+
+    // Breadth first, so that the failure state of a state is complete before the state itself
+    int states = trie.size();
+    int[] transitions = new int[states * alphabetSize];
+    int[] matches = new int[states];
+    int[] failures = new int[states];
+    Queue<Integer> queue = new ArrayDeque<>();
+    matches[ROOT] = trieMatches.get(ROOT);
+    for (int charClass = 0; charClass < alphabetSize; charClass++) {
+      Integer next = trie.get(ROOT).get((char) charClass);
+      if (next != null) {
+        transitions[charClass] = next;
+        failures[next] = ROOT;
+        queue.add(next);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      matches[state] = Math.min(trieMatches.get(state), matches[failures[state]]);
+      for (int charClass = 0; charClass < alphabetSize; charClass++) {
+        Integer next = trie.get(state).get((char) charClass);
+        int fallback = transitions[failures[state] * alphabetSize + charClass];
+        if (next == null) {
+          transitions[state * alphabetSize + charClass] = fallback;
+        } else {
+          transitions[state * alphabetSize + charClass] = next;
+          failures[next] = fallback;
+          queue.add(next);
+        }
+      }
+    }
+    return new KeywordAutomaton(charClasses, alphabetSize, transitions, matches);
+  }
+
+  /**
+   * @return the lowest index of the rules whose keyword occurs in the text, {@link #NO_MATCH} when none does
+   */
+  int firstMatch(CharSequence text) {
+    int best = NO_MATCH;
+    int state = ROOT;
+    for (int i = 0; i < text.length(); i++) {
+      state = transitions[state * alphabetSize + charClasses[fold(text.charAt(i))]];
+      int match = matches[state];
+      if (match < best) {
+        best = match;
+        if (best == 0) {
+          return best;
+        }
+      }
+    }
+    return best;
+  }
+
+  int states() {
+    return matches.length;
+  }
+
+  /**
+   * Case of a character as keywords and texts are compared, upper case after a round trip through lower case so that
+   * both cases of characters like the Greek sigma meet.
+   */
+  private static char fold(char c) {
+    if (c < 128) {
+      return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+    return Character.toUpperCase(Character.toLowerCase(c));
+  }
+}
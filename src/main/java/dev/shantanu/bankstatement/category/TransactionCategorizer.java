@@ -0,0 +1,99 @@
+package dev.shantanu.bankstatement.category;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Assigns each transaction the category of the first rule whose keyword occurs in its remarks. The rules are read
+ * from a JSON file listing categories in priority order, each with its keywords:
+ * <pre>{@code
+ * {"categories": [
+ *   {"name": "Food", "keywords": ["SWIGGY", "ZOMATO"]},
+ *   {"name": "Shopping", "keywords": ["AMAZON", "FLIPKART"]}
+ * ]}
+ * }</pre>
+ * Keywords match anywhere in the remarks, ignoring case; when keywords of several categories occur, the category
+ * listed first wins. Every keyword is compiled into one {@link KeywordAutomaton}, so a transaction is categorised in
+ * a single pass over its remarks however many rules there are. Thread-safe.
+ */
+public final class TransactionCategorizer {
+  private static final Logger logger = LoggerFactory.getLogger(TransactionCategorizer.class);
+  // Below this many transactions a statement is categorised on the calling thread, forking costs more than it saves
+  private static final int PARALLEL_THRESHOLD = 4096;
+
+  private final KeywordAutomaton automaton;
+  private final String[] ruleCategories;
+
+  private TransactionCategorizer(KeywordAutomaton automaton, String[] ruleCategories) {
+    this.automaton = automaton;
+    this.ruleCategories = ruleCategories;
+  }
+
+  /**
+   * @throws AccountStatementException with {@link ErrorCode#CONFIGURATION_ERROR} when the file can't be read or isn't
+   *                                   a valid rule file
+   */
+  public static TransactionCategorizer load(Path rules) {
+    try (Reader reader = Files.newBufferedReader(rules, StandardCharsets.UTF_8)) {
+      JsonArray categories = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonArray("categories");
+      List<String> keywords = new ArrayList<>();
+      List<String> ruleCategories = new ArrayList<>();
+      for (JsonElement element : categories) {
+        JsonObject category = element.getAsJsonObject();
+        String name = category.get("name").getAsString();
+        for (JsonElement keyword : category.getAsJsonArray("keywords")) {
+          keywords.add(keyword.getAsString());
+          ruleCategories.add(name);
+        }
+      }
+      KeywordAutomaton automaton = KeywordAutomaton.compile(keywords);
+      logger.info("Loaded {} categories with {} keywords from {}, compiled into {} states", categories.size(),
+        keywords.size(), rules, automaton.states());
+      return new TransactionCategorizer(automaton, ruleCategories.toArray(String[]::new));
+    } catch (Exception e) {
+      logger.error("Error reading categorisation rules {}. Exception = {}", rules, e.getMessage());
+      throw new AccountStatementException(ErrorCode.CONFIGURATION_ERROR,
+        "Error reading categorisation rules " + rules, new IllegalStateException(e));
+    }
+  }
+
+  /**
+   * @return category of the remarks, {@code null} when no rule matches
+   */
+  public String categorize(String remarks) {
+    if (remarks == null) {
+      return null;
+    }
+    int rule = automaton.firstMatch(remarks);
+    return rule == KeywordAutomaton.NO_MATCH ? null : ruleCategories[rule];
+  }
+
+  /**
+   * Categorises the transactions, in parallel for large statements.
+   *
+   * @return category of each transaction at the same index, {@code null} where no rule matches
+   */
+  public String[] categorizeAll(List<TransactionRecord> transactionRecords) {
+    String[] categories = new String[transactionRecords.size()];
+    IntStream indexes = IntStream.range(0, categories.length);
+    if (categories.length >= PARALLEL_THRESHOLD) {
+      indexes = indexes.parallel();
+    }
+    indexes.forEach(i -> categories[i] = categorize(transactionRecords.get(i).transactionRemarks()));
+    return categories;
+  }
+}
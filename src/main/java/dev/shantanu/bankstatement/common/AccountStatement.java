@@ -1,13 +1,39 @@
 package dev.shantanu.bankstatement.common;
 
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import dev.shantanu.bankstatement.parser.model.StatementSummary;
 import dev.shantanu.bankstatement.parser.model.TransactionInfo;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
-public record AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords) {
-  public AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords) {
+/**
+ * @param transactionRecords transactions in the order they were read, unmodifiable
+ * @param summary            totals computed while parsing, {@code null} unless requested through
+ *                           {@link dev.shantanu.bankstatement.parser.ParseOptions#computeSummary()}
+ * @param errors             conversion errors found while parsing
+ */
+public record AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords,
+                               StatementSummary summary, ParseErrorReport errors) {
+  public AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords,
+                          StatementSummary summary, ParseErrorReport errors) {
     this.transactionInfo = transactionInfo;
-    this.transactionRecords = Set.copyOf((Collection) Objects.requireNonNull(transactionRecords, "Transactions list cannot be null"));
+    Set<TransactionRecord> records = new LinkedHashSet<>(Objects.requireNonNull(transactionRecords, "Transactions list cannot be null"));
+    if (records.contains(null)) {
+      throw new NullPointerException("Transactions list cannot contain null");
+    }
+    this.transactionRecords = Collections.unmodifiableSet(records);
+    this.summary = summary;
+    this.errors = Objects.requireNonNullElse(errors, ParseErrorReport.EMPTY);
+  }
+
+  public AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords,
+                          StatementSummary summary) {
+    this(transactionInfo, transactionRecords, summary, ParseErrorReport.EMPTY);
+  }
+
+  public AccountStatement(TransactionInfo transactionInfo, Set<TransactionRecord> transactionRecords) {
+    this(transactionInfo, transactionRecords, null);
   }
 }
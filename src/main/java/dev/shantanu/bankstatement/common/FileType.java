@@ -1,8 +1,12 @@
 package dev.shantanu.bankstatement.common;
 
+import java.util.Optional;
+
 public enum FileType {
   XLS("excel", "xls"),
-  XLSX("excel", "xlsx");
+  XLSX("excel", "xlsx"),
+  CSV("csv", "csv"),
+  PDF("pdf", "pdf");
 
   private final String fileExtension;
   private final String typeName;
@@ -12,6 +16,23 @@ public enum FileType {
     this.typeName = typeName;
   }
 
+  /**
+   * The file type matching the extension of the file name, compared ignoring case.
+   */
+  public static Optional<FileType> fromFileName(String fileName) {
+    int extensionStart = fileName.lastIndexOf('.');
+    if (extensionStart < 0) {
+      return Optional.empty();
+    }
+    String extension = fileName.substring(extensionStart + 1);
+    for (FileType fileType : values()) {
+      if (fileType.fileExtension.equalsIgnoreCase(extension)) {
+        return Optional.of(fileType);
+      }
+    }
+    return Optional.empty();
+  }
+
   public String getFileExtension() {
     return this.fileExtension;
   }
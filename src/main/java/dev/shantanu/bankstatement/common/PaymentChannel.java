@@ -0,0 +1,41 @@
+package dev.shantanu.bankstatement.common;
+
+/**
+ * Payment channel encoded in the leading code of an ICICI transaction narration, see "Legends Used in Account
+ * Statement" at the end of the statement.
+ */
+public enum PaymentChannel {
+  UPI("UPI"),
+  NEFT("NEFT"),
+  RTGS("RTGS"),
+  IMPS("IMPS", "MMT"),
+  INTERNAL_TRANSFER("INFT", "INF"),
+  BILL_PAYMENT("BPAY", "BBPS", "BIL"),
+  CHEQUE("CLG"),
+  CASH_WITHDRAWAL("ATM", "NFS", "VAT", "MAT", "CCWD"),
+  CARD("VPS", "IPS", "POS"),
+  OTHER;
+
+  private static final PaymentChannel[] VALUES = values();
+
+  private final String[] codes;
+
+  private PaymentChannel(String... codes) {
+    this.codes = codes;
+  }
+
+  /**
+   * Case-insensitive lookup of the channel code {@code text[from, to)} without creating a substring.
+   */
+  static PaymentChannel fromCode(String text, int from, int to) {
+    int length = to - from;
+    for (PaymentChannel channel : VALUES) {
+      for (String code : channel.codes) {
+        if (code.length() == length && text.regionMatches(true, from, code, 0, length)) {
+          return channel;
+        }
+      }
+    }
+    return OTHER;
+  }
+}
@@ -0,0 +1,200 @@
+package dev.shantanu.bankstatement.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single pass tokenizer for ICICI transaction narrations such as {@code UPI/<name>/<vpa>/<note>/<bank>/<reference>},
+ * {@code MMT/IMPS/<reference>/<name>/<bank>} and {@code NEFT-<utr>-<name>-...}. Segments are located by index
+ * scanning, no regular expressions are involved and only the extracted components are copied out of the narration.
+ */
+public final class RemarkTokenizer {
+  private static final int MAX_CACHED_REMARKS = 1 << 16;
+  private static final int MIN_REFERENCE_DIGITS = 9;
+  private static final ConcurrentHashMap<String, RemarkTokens> CACHE = new ConcurrentHashMap<>();
+
+  private RemarkTokenizer() {
+  }
+
+  /**
+   * Memoized {@link #tokenize(String)}. Narrations are deduplicated while parsing, so rows sharing a narration share
+   * the tokenized value as well. The memo is dropped wholesale once it reaches its entry cap.
+   */
+  public static RemarkTokens tokensOf(String remarks) {
+    if (remarks == null || remarks.isEmpty()) {
+      return RemarkTokens.EMPTY;
+    }
+    RemarkTokens tokens = CACHE.get(remarks);
+    if (tokens == null) {
+      tokens = tokenize(remarks);
+      if (CACHE.size() >= MAX_CACHED_REMARKS) {
+        CACHE.clear();
+      }
+      CACHE.putIfAbsent(remarks, tokens);
+    }
+    return tokens;
+  }
+
+  public static RemarkTokens tokenize(String remarks) {
+    if (remarks == null) {
+      return RemarkTokens.EMPTY;
+    }
+    int length = remarks.length();
+    int codeStart = skipWhitespace(remarks, 0, length);
+    int codeEnd = codeStart;
+    while (codeEnd < length && Character.isLetter(remarks.charAt(codeEnd))) {
+      codeEnd++;
+    }
+    if (codeEnd == codeStart) {
+      return RemarkTokens.EMPTY;
+    }
+    PaymentChannel channel = PaymentChannel.fromCode(remarks, codeStart, codeEnd);
+    if (codeEnd == length) {
+      return new RemarkTokens(channel, null, null, null);
+    }
+    char delimiter = remarks.charAt(codeEnd);
+    return switch (channel) {
+      case UPI -> tokenizeUpi(remarks, codeEnd + 1, delimiter);
+      case IMPS -> tokenizeReferenceFirst(channel, remarks, codeEnd + 1, delimiter, true);
+      case NEFT, RTGS -> tokenizeReferenceFirst(channel, remarks, codeEnd + 1, delimiter, false);
+      default -> tokenizeCounterpartyOnly(channel, remarks, codeEnd + 1, delimiter);
+    };
+  }
+
+  /**
+   * The VPA is the segment containing {@code @}, the reference is the first long numeric segment and the counterparty
+   * is the first textual segment before the VPA. Exports without a payee name fall back to the VPA as counterparty.
+   */
+  private static RemarkTokens tokenizeUpi(String remarks, int from, char delimiter) {
+    int length = remarks.length();
+    String name = null;
+    String vpa = null;
+    String reference = null;
+    int segmentStart = from;
+    while (segmentStart <= length) {
+      int segmentEnd = indexOf(remarks, delimiter, segmentStart, length);
+      int start = skipWhitespace(remarks, segmentStart, segmentEnd);
+      int end = trimEnd(remarks, start, segmentEnd);
+      if (start < end) {
+        if (vpa == null && indexOf(remarks, '@', start, end) < end) {
+          vpa = remarks.substring(start, end);
+        } else if (reference == null && isReference(remarks, start, end, true)) {
+          reference = remarks.substring(start, end);
+        } else if (name == null && vpa == null && hasLetter(remarks, start, end)
+          && PaymentChannel.fromCode(remarks, start, end) != PaymentChannel.UPI) {
+          name = remarks.substring(start, end);
+        }
+      }
+      segmentStart = segmentEnd + 1;
+    }
+    return new RemarkTokens(PaymentChannel.UPI, name != null ? name : vpa, reference, vpa);
+  }
+
+  /**
+   * The reference (IMPS RRN or NEFT/RTGS UTR) comes first and the counterparty is the next textual segment. Nested
+   * channel codes ({@code MMT/IMPS}) and IMPS transfer types ({@code P2A}, {@code P2P}) are skipped.
+   */
+  private static RemarkTokens tokenizeReferenceFirst(PaymentChannel channel, String remarks, int from, char delimiter,
+                                                     boolean numericReference) {
+    int length = remarks.length();
+    String reference = null;
+    String counterparty = null;
+    int segmentStart = from;
+    while (segmentStart <= length && counterparty == null) {
+      int segmentEnd = indexOf(remarks, delimiter, segmentStart, length);
+      int start = skipWhitespace(remarks, segmentStart, segmentEnd);
+      int end = trimEnd(remarks, start, segmentEnd);
+      if (start < end && PaymentChannel.fromCode(remarks, start, end) != channel && !isTransferType(remarks, start, end)) {
+        if (reference == null && isReference(remarks, start, end, numericReference)) {
+          reference = remarks.substring(start, end);
+        } else if (reference != null && hasLetter(remarks, start, end)) {
+          counterparty = remarks.substring(start, end);
+        }
+      }
+      segmentStart = segmentEnd + 1;
+    }
+    return new RemarkTokens(channel, counterparty, reference, null);
+  }
+
+  /**
+   * Narrations such as {@code CLG <name>} or {@code BIL/<biller>/...}: the counterparty is the remaining text when the
+   * code is followed by whitespace, otherwise the first textual segment.
+   */
+  private static RemarkTokens tokenizeCounterpartyOnly(PaymentChannel channel, String remarks, int from, char delimiter) {
+    int length = remarks.length();
+    if (Character.isWhitespace(delimiter)) {
+      int start = skipWhitespace(remarks, from, length);
+      int end = trimEnd(remarks, start, length);
+      return new RemarkTokens(channel, start < end ? remarks.substring(start, end) : null, null, null);
+    }
+    int segmentStart = from;
+    while (segmentStart <= length) {
+      int segmentEnd = indexOf(remarks, delimiter, segmentStart, length);
+      int start = skipWhitespace(remarks, segmentStart, segmentEnd);
+      int end = trimEnd(remarks, start, segmentEnd);
+      if (start < end && hasLetter(remarks, start, end)) {
+        return new RemarkTokens(channel, remarks.substring(start, end), null, null);
+      }
+      segmentStart = segmentEnd + 1;
+    }
+    return new RemarkTokens(channel, null, null, null);
+  }
+
+  private static boolean isReference(String text, int from, int to, boolean numeric) {
+    if (numeric) {
+      if (to - from < MIN_REFERENCE_DIGITS) {
+        return false;
+      }
+      for (int i = from; i < to; i++) {
+        if (!Character.isDigit(text.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    boolean hasDigit = false;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      if (!Character.isLetterOrDigit(c)) {
+        return false;
+      }
+      hasDigit |= Character.isDigit(c);
+    }
+    return hasDigit;
+  }
+
+  private static boolean isTransferType(String text, int from, int to) {
+    return to - from == 3 && text.regionMatches(true, from, "P2", 0, 2);
+  }
+
+  private static boolean hasLetter(String text, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (Character.isLetter(text.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int indexOf(String text, char c, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (text.charAt(i) == c) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static int skipWhitespace(String text, int from, int to) {
+    while (from < to && Character.isWhitespace(text.charAt(from))) {
+      from++;
+    }
+    return from;
+  }
+
+  private static int trimEnd(String text, int from, int to) {
+    while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+      to--;
+    }
+    return to;
+  }
+}
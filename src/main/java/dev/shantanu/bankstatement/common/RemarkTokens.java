@@ -0,0 +1,14 @@
+package dev.shantanu.bankstatement.common;
+
+/**
+ * Structured view of a transaction narration, e.g. {@code UPI/<name>/<vpa>/<note>/<bank>/<reference>/...}.
+ * Components that are absent from the narration are {@code null}.
+ *
+ * @param channel         payment channel, {@link PaymentChannel#OTHER} when the narration is not recognised
+ * @param counterparty    payer or payee name, falls back to the VPA for UPI narrations without a name
+ * @param referenceNumber UPI/IMPS reference number or NEFT/RTGS UTR
+ * @param vpa             UPI virtual payment address
+ */
+public record RemarkTokens(PaymentChannel channel, String counterparty, String referenceNumber, String vpa) {
+  public static final RemarkTokens EMPTY = new RemarkTokens(PaymentChannel.OTHER, null, null, null);
+}
@@ -0,0 +1,34 @@
+package dev.shantanu.bankstatement.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between {@link BigDecimal} amounts and {@code long} amounts in minor units (paise for INR), used where
+ * amounts are summed or compared over whole statements and {@link BigDecimal} arithmetic would dominate.
+ */
+public final class ScaledAmounts {
+  /**
+   * Number of decimal places kept in scaled amounts.
+   */
+  public static final int SCALE = 2;
+
+  private ScaledAmounts() {
+  }
+
+  /**
+   * @return {@code amount} in minor units, {@code 0} for {@code null}; amounts with more than {@link #SCALE} decimals
+   * are rounded half-even
+   * @throws ArithmeticException when the amount does not fit a {@code long} in minor units
+   */
+  public static long toScaled(BigDecimal amount) {
+    if (amount == null) {
+      return 0L;
+    }
+    return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+  }
+
+  public static BigDecimal fromScaled(long scaledAmount) {
+    return BigDecimal.valueOf(scaledAmount, SCALE);
+  }
+}
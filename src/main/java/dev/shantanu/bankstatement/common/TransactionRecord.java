@@ -1,12 +1,15 @@
 package dev.shantanu.bankstatement.common;
 
+import com.google.gson.annotations.SerializedName;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import org.apache.commons.lang3.StringUtils;
 
-public record TransactionRecord(int serialNumber, LocalDate valueDate, LocalDate transactionDate, String checkNumber,
-                                String transactionRemarks, BigDecimal withdrawalAmount, BigDecimal depositAmount,
+public record TransactionRecord(int serialNumber, LocalDate valueDate, LocalDate transactionDate,
+                                @SerializedName(value = "checkNumber", alternate = "chequeNumber") String checkNumber,
+                                @SerializedName(value = "transactionRemarks", alternate = "remarks") String transactionRemarks,
+                                BigDecimal withdrawalAmount, BigDecimal depositAmount,
                                 BigDecimal balance, String error) {
   static final DateTimeFormatter formatter;
 
@@ -24,6 +27,14 @@ public record TransactionRecord(int serialNumber, LocalDate valueDate, LocalDate
     this(serialNumber, valueLocalDate, transactionLocalDate, checkNumber, transactionRemarks, withdrawal, deposit, balance, error);
   }
 
+  /**
+   * Channel, counterparty, reference number and VPA extracted from {@link #transactionRemarks()}. Tokenized on first
+   * access and shared by every row carrying the same narration.
+   */
+  public RemarkTokens remarkTokens() {
+    return RemarkTokenizer.tokensOf(transactionRemarks);
+  }
+
   static {
     formatter = DateTimeFormatter.ISO_LOCAL_DATE;
   }
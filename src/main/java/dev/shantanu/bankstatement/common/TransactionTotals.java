@@ -0,0 +1,16 @@
+package dev.shantanu.bankstatement.common;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and amount totals of the transactions in a month or date range.
+ */
+public record TransactionTotals(int transactionCount, BigDecimal totalWithdrawals, BigDecimal totalDeposits) {
+
+  /**
+   * @return deposits minus withdrawals
+   */
+  public BigDecimal netChange() {
+    return totalDeposits.subtract(totalWithdrawals);
+  }
+}
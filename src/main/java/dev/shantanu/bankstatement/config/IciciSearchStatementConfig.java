@@ -3,22 +3,30 @@ package dev.shantanu.bankstatement.config;
 import com.google.gson.JsonObject;
 import java.util.List;
 
+/**
+ * The configuration file is read once, on the first call of a configuration method rather than when the class is
+ * loaded, so creating the configuration (e.g. for a parse that is rejected up front) stays cheap.
+ */
 public final class IciciSearchStatementConfig implements StatementConfiguration {
-  private static final Config CONFIG;
 
   public IciciSearchStatementConfig() {
   }
 
   @Override
   public StatementType statementType() {
-    return CONFIG.statementType();
+    return Holder.CONFIG.statementType();
   }
 
   public List<JsonObject> getSections() {
-    return CONFIG.getSections();
+    return Holder.CONFIG.getSections();
   }
 
-  static {
-    CONFIG = StatementConfiguration.builder(StatementType.ICICI_BANK_SEARCH_STATEMENT).build();
+  @Override
+  public String version() {
+    return Holder.CONFIG.version();
+  }
+
+  private static final class Holder {
+    private static final Config CONFIG = StatementConfiguration.builder(StatementType.ICICI_BANK_SEARCH_STATEMENT).build();
   }
 }
@@ -59,7 +59,13 @@ public class JacksonStatementConfiguration implements StatementConfiguration {
   }
 
   private static JsonNode getJsonObjectFrom(File configFile, String configRoot) {
-    ObjectMapper objectMapper = new ObjectMapper();
-    return objectMapper.readTree(configFile).get(configRoot);
+    return MapperHolder.OBJECT_MAPPER.readTree(configFile).get(configRoot);
+  }
+
+  /**
+   * Jackson is only loaded when a Jackson configuration is first read, and its mapper is then reused.
+   */
+  private static final class MapperHolder {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   }
 }
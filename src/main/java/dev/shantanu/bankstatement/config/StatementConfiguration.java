@@ -24,11 +24,20 @@ import org.slf4j.LoggerFactory;
 public interface StatementConfiguration {
   Logger log = LoggerFactory.getLogger(StatementConfiguration.class);
   String STATEMENT_CONFIG = "StatementConfig";
+  String DEFAULT_VERSION = "0";
 
   StatementType statementType();
 
   List<JsonObject> getSections();
 
+  /**
+   * Version declared at the configuration root. Anything derived from a parse (e.g. cached results) should be keyed
+   * by it, so that editing the configuration invalidates those results.
+   */
+  default String version() {
+    return DEFAULT_VERSION;
+  }
+
   static Builder builder(StatementType type) {
     return new Builder(type);
   }
@@ -38,12 +47,17 @@ public interface StatementConfiguration {
   }
 
   // Immutable record representing loaded configuration
-  record Config(StatementType type, List<JsonObject> sections) implements StatementConfiguration {
+  record Config(StatementType type, String version, List<JsonObject> sections) implements StatementConfiguration {
     @Override
     public List<JsonObject> getSections() {
       return sections;
     }
 
+    @Override
+    public String version() {
+      return version;
+    }
+
     @Override
     public StatementType statementType() {
       return type;
@@ -73,6 +87,8 @@ public interface StatementConfiguration {
         JsonObject root = JsonParser.parseReader(new InputStreamReader(inputStream)).getAsJsonObject();
         JsonObject statementRoot = root.getAsJsonObject(type.getConfigRoot());
         JsonArray sectionArray = statementRoot.getAsJsonArray("sections");
+        JsonElement versionElement = statementRoot.get("version");
+        String version = versionElement == null ? DEFAULT_VERSION : versionElement.getAsString();
 
         sections = sectionArray
           .asList()
@@ -84,10 +100,10 @@ public interface StatementConfiguration {
           .map(jo -> jo.get("title").getAsString())
           .toList();
 
-        log.info("Loaded configuration for type={} file={} with sections={}",
-          type, configFileName, titles);
+        log.info("Loaded configuration for type={} file={} version={} with sections={}",
+          type, configFileName, version, titles);
 
-        return new Config(type, Collections.unmodifiableList(sections));
+        return new Config(type, version, Collections.unmodifiableList(sections));
 
       } catch (Exception e) {
         log.error("Error reading configuration for type={}. Exception = {}", type, e.getMessage());
@@ -0,0 +1,23 @@
+package dev.shantanu.bankstatement.config;
+
+import java.util.List;
+
+/**
+ * How the end of a transactions table is recognised, the {@code terminator} object of a table configuration.
+ * Missing values fall back to {@link #DEFAULT}.
+ *
+ * @param blankRows      the table ends after more than this many consecutive blank rows
+ * @param footerKeywords the table ends at the first row with a cell containing one of these (case-insensitive)
+ * @param minimumColumns rows with fewer non-blank mapped cells are not transactions
+ * @param maximumErrors  rows with more conversion errors are not transactions
+ * @param invalidRows    the table ends after this many consecutive non-blank rows that are not transactions,
+ *                       {@code 0} to skip such rows and keep reading
+ */
+public record TableTerminatorConfig(int blankRows, List<String> footerKeywords, int minimumColumns, int maximumErrors,
+                                    int invalidRows) {
+  public static final TableTerminatorConfig DEFAULT = new TableTerminatorConfig(3, List.of(), 5, 3, 0);
+
+  public TableTerminatorConfig {
+    footerKeywords = footerKeywords == null ? List.of() : List.copyOf(footerKeywords);
+  }
+}
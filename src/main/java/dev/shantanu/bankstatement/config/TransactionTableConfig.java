@@ -2,7 +2,12 @@ package dev.shantanu.bankstatement.config;
 
 import java.util.List;
 
-public record TransactionTableConfig(int headerRowOffset, List<ColumnField> columnFields) {
+public record TransactionTableConfig(int headerRowOffset, List<ColumnField> columnFields,
+                                     TableTerminatorConfig terminator) {
+  public TransactionTableConfig(int headerRowOffset, List<ColumnField> columnFields) {
+    this(headerRowOffset, columnFields, TableTerminatorConfig.DEFAULT);
+  }
+
   public List<String> columnNames() {
     return this.columnFields.stream().map(ColumnField::displayName).toList();
   }
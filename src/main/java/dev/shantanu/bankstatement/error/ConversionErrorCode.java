@@ -0,0 +1,43 @@
+package dev.shantanu.bankstatement.error;
+
+/**
+ * Why a cell of a transaction row could not be converted. A row with errors carries the names of its error codes in
+ * {@link dev.shantanu.bankstatement.common.TransactionRecord#error()}, see {@link #describe(int)}.
+ */
+public enum ConversionErrorCode {
+  INVALID_INTEGER,
+  INVALID_DATE,
+  INVALID_AMOUNT,
+  /**
+   * The row had more conversion errors than the table allows and was dropped.
+   */
+  ROW_REJECTED;
+
+  private static final ConversionErrorCode[] VALUES = values();
+  private static final String[] DESCRIPTIONS = new String[1 << VALUES.length];
+
+  static {
+    for (int mask = 1; mask < DESCRIPTIONS.length; mask++) {
+      StringBuilder description = new StringBuilder();
+      for (ConversionErrorCode code : VALUES) {
+        if ((mask & code.mask()) != 0) {
+          description.append(description.isEmpty() ? "" : "|").append(code.name());
+        }
+      }
+      DESCRIPTIONS[mask] = description.toString();
+    }
+  }
+
+  public int mask() {
+    return 1 << ordinal();
+  }
+
+  /**
+   * @param mask {@link #mask()} of every code of a row combined
+   * @return names of the codes in declaration order joined by {@code |}, {@code null} for no codes; the strings are
+   * precomputed, so describing a row does not allocate
+   */
+  public static String describe(int mask) {
+    return mask == 0 ? null : DESCRIPTIONS[mask];
+  }
+}
@@ -6,7 +6,9 @@ public enum ErrorCode {
   EMPTY_FILE("EMPTY_FILE", "File does not contain worksheet"),
   INVALID_FILE_FORMAT("INVALID_FILE_FORMAT", "Provided input file format is not valid. For Excel files supported file formats are .xls and .xlsx"),
   NOT_SUPPORTED_STATEMENT_TYPE("NOT_SUPPORTED_STATEMENT_TYPE", "Not supported statement type"),
-  CONFIGURATION_ERROR("CONFIGURATION_ERROR", "Configuration error for bank account statement");
+  CONFIGURATION_ERROR("CONFIGURATION_ERROR", "Configuration error for bank account statement"),
+  PASSWORD_REQUIRED("PASSWORD_REQUIRED", "Statement is password protected and none of the supplied passwords opens it"),
+  BUDGET_EXCEEDED("BUDGET_EXCEEDED", "Parsing the file exceeded its time, row, size or memory budget");
 
   private final String message;
   private final String code;
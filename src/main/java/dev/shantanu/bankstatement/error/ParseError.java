@@ -0,0 +1,12 @@
+package dev.shantanu.bankstatement.error;
+
+/**
+ * A sampled conversion error.
+ *
+ * @param code        kind of error
+ * @param rowNumber   row number as shown by spreadsheet applications, starting at 1
+ * @param columnIndex index of the column, starting at 0; {@code -1} when the error concerns the whole row
+ * @param value       cell text that could not be converted, {@code null} for row errors
+ */
+public record ParseError(ConversionErrorCode code, int rowNumber, int columnIndex, String value) {
+}
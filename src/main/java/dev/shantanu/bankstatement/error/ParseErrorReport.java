@@ -0,0 +1,53 @@
+package dev.shantanu.bankstatement.error;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversion errors of a parse: exact counts per {@link ConversionErrorCode} and a bounded sample of the individual
+ * errors, ordered by row and column.
+ */
+public record ParseErrorReport(Map<ConversionErrorCode, Integer> counts, List<ParseError> samples) {
+  public static final ParseErrorReport EMPTY = new ParseErrorReport(Map.of(), List.of());
+
+  public ParseErrorReport {
+    counts = counts.isEmpty() ? Map.of() : Collections.unmodifiableMap(new EnumMap<>(counts));
+    samples = samples.stream()
+      .sorted(Comparator.comparingInt(ParseError::rowNumber).thenComparingInt(ParseError::columnIndex))
+      .toList();
+  }
+
+  public int count(ConversionErrorCode code) {
+    return counts.getOrDefault(code, 0);
+  }
+
+  public int totalCount() {
+    return counts.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  public boolean isEmpty() {
+    return counts.isEmpty();
+  }
+
+  /**
+   * Combines the reports of several worksheets; samples are concatenated, not re-sampled.
+   */
+  public ParseErrorReport merge(ParseErrorReport other) {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return other;
+    }
+    Map<ConversionErrorCode, Integer> mergedCounts = new EnumMap<>(ConversionErrorCode.class);
+    mergedCounts.putAll(counts);
+    other.counts.forEach((code, count) -> mergedCounts.merge(code, count, Integer::sum));
+    List<ParseError> mergedSamples = new ArrayList<>(samples);
+    mergedSamples.addAll(other.samples);
+    return new ParseErrorReport(mergedCounts, mergedSamples);
+  }
+}
@@ -4,80 +4,127 @@ import dev.shantanu.bankstatement.error.AccountStatementException;
 import dev.shantanu.bankstatement.error.ErrorCode;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.util.List;
+import org.apache.commons.lang3.Strings;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Lightweight validation of an Excel account statement. Only the container directory, the sheet list, the sheet
+ * dimension and the first {@value #PROBED_ROWS} rows of the first sheet are read, so probing costs the same for a
+ * statement of ten rows and one of a hundred thousand; no {@link org.apache.poi.ss.usermodel.Workbook} is built.
+ */
 public class ExcelBankAccountStatement implements ExcelTransactionStatementFormat {
   private static final Logger LOGGER = LoggerFactory.getLogger(ExcelBankAccountStatement.class);
+  public static final int PROBED_ROWS = 50;
+  private static final String ACCOUNT_NUMBER_LABEL = "Account Number";
+  private static final String TRANSACTION_PERIOD_LABEL = "Transaction Date from";
+  private static final List<String> TRANSACTION_HEADER_LABELS = List.of("Transaction Date", "Transaction Remarks", "Balance");
+  private static final int MINIMUM_TRANSACTION_CELLS = 5;
 
+  private final List<String> sheetNames;
+  private final int estimatedRowCount;
   private boolean hasAccountInformation;
   private boolean hasTransactionPeriodInformation;
   private boolean hasTransactions;
 
   ExcelBankAccountStatement(Path pathToExcelFile) {
     File file = pathToExcelFile.toFile();
-    verifyFile(file);
+    SheetSample sample = verifyFile(file);
+    this.sheetNames = sample.sheetNames();
+    this.estimatedRowCount = sample.lastRowNumber();
+    inspect(sample);
   }
 
-  private void verifyFile(File file) {
+  /**
+   * @throws AccountStatementException when the file is missing, not a workbook, encrypted or has no sheet
+   */
+  public static ExcelBankAccountStatement probe(Path pathToExcelFile) {
+    return new ExcelBankAccountStatement(pathToExcelFile);
+  }
+
+  private static SheetSample verifyFile(File file) {
     if (!file.isFile()) {
-      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, null, null);
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Not a file = " + file.getName(), null);
+    }
+    SheetSample sample;
+    try {
+      FileMagic fileMagic = FileMagic.valueOf(file);
+      sample = switch (fileMagic) {
+        case OOXML -> OoxmlProbe.probe(file, PROBED_ROWS);
+        case OLE2 -> Ole2Probe.probe(file, PROBED_ROWS);
+        default -> {
+          final String errorMessage = String.format("File format %s not supported for file = %s", fileMagic, file.getName());
+          throw new AccountStatementException(ErrorCode.NOT_SUPPORTED_FILE_FORMAT, errorMessage, new IllegalStateException());
+        }
+      };
+    } catch (IOException | EncryptedDocumentException | IllegalArgumentException e) {
+      LOGGER.error("Could not probe file = {}. Error message = {}", file.getName(), e.getMessage());
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read the workbook " + file.getName(), e);
     }
-    try (InputStream inputStream = Files.newInputStream(file.toPath(), StandardOpenOption.READ)) {
-      Workbook workbook = getWorkbook(file, inputStream);
-      int numberOfSheets = workbook.getNumberOfSheets();
-
-      if (numberOfSheets < 1) {
-        final String errorMessage = String.format("No sheets found for file = %s", file.getName());
-        LOGGER.error(errorMessage);
-        throw new AccountStatementException(ErrorCode.EMPTY_FILE, errorMessage, new IllegalStateException());
-      }
-      Sheet mainSheet = workbook.getSheetAt(workbook.getActiveSheetIndex());
 
-      for (var row : mainSheet) {
-        if (row.getRowNum() == 0) continue; //
-        for (var column : row) {
-          if (column.getCellType() == CellType.STRING) {
+    if (sample.sheetNames().isEmpty()) {
+      final String errorMessage = String.format("No sheets found for file = %s", file.getName());
+      LOGGER.error(errorMessage);
+      throw new AccountStatementException(ErrorCode.EMPTY_FILE, errorMessage, new IllegalStateException());
+    }
+    return sample;
+  }
 
-          }
+  private void inspect(SheetSample sample) {
+    int headerRowNumber = -1;
+    for (SheetSample.SampledRow row : sample.rows()) {
+      if (headerRowNumber > 0) {
+        if (row.cells().size() >= MINIMUM_TRANSACTION_CELLS) {
+          hasTransactions = true;
+          return;
         }
+        continue;
+      }
+      hasAccountInformation |= containsLabel(row, ACCOUNT_NUMBER_LABEL);
+      hasTransactionPeriodInformation |= containsLabel(row, TRANSACTION_PERIOD_LABEL);
+      if (TRANSACTION_HEADER_LABELS.stream().allMatch(label -> containsLabel(row, label))) {
+        headerRowNumber = row.rowNumber();
       }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
     }
+    // Header found but the transactions start after the probed rows
+    hasTransactions = headerRowNumber > 0 && sample.rows().getLast().rowNumber() >= PROBED_ROWS
+      && estimatedRowCount > headerRowNumber;
   }
 
-  private static Workbook getWorkbook(File file, InputStream inputStream) throws IOException {
-    Workbook workbook = WorkbookFactory.create(inputStream);
-    if (!(workbook instanceof HSSFWorkbook) && !(workbook instanceof XSSFWorkbook)) {
-      final String errorMessage = String.format("File format not supported for file = %s", file.getName());
-      throw new AccountStatementException(ErrorCode.NOT_SUPPORTED_FILE_FORMAT, errorMessage, new IllegalStateException());
+  private static boolean containsLabel(SheetSample.SampledRow row, String label) {
+    for (String cell : row.cells()) {
+      if (Strings.CI.startsWith(cell.trim(), label)) {
+        return true;
+      }
     }
-    return workbook;
+    return false;
+  }
+
+  public List<String> sheetNames() {
+    return sheetNames;
   }
 
   @Override
   public boolean hasAccountInformation() {
-    return false;
+    return hasAccountInformation;
   }
 
   @Override
   public boolean hasTransactionPeriodInformation() {
-    return false;
+    return hasTransactionPeriodInformation;
   }
 
   @Override
   public boolean hasTransactions() {
-    return false;
+    return hasTransactions;
+  }
+
+  @Override
+  public int estimatedRowCount() {
+    return estimatedRowCount;
   }
 }
@@ -4,4 +4,9 @@ public interface ExcelTransactionStatementFormat {
   boolean hasAccountInformation();
   boolean hasTransactionPeriodInformation();
   boolean hasTransactions();
+
+  /**
+   * Rows of the statement sheet as declared by the file, without reading them; {@code -1} when unknown.
+   */
+  int estimatedRowCount();
 }
@@ -0,0 +1,81 @@
+package dev.shantanu.bankstatement.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+/**
+ * Samples an .xls file without building a workbook. The OLE2 container is opened read-only, and the BIFF records of
+ * the workbook stream are read in order: the global records with the sheet list and the shared string table, then
+ * the first sheet up to its first rows. Nothing after those rows is read.
+ */
+final class Ole2Probe {
+
+  private Ole2Probe() {
+  }
+
+  static SheetSample probe(File file, int maxRows) throws IOException {
+    try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true);
+         InputStream in = fileSystem.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(fileSystem.getRoot()))) {
+      RecordFactoryInputStream records = new RecordFactoryInputStream(in, false);
+      List<String> sheetNames = new ArrayList<>();
+      Map<Integer, List<String>> rows = new TreeMap<>();
+      SSTRecord sharedStrings = null;
+      int lastRowNumber = -1;
+      boolean inFirstSheet = false;
+      Record record;
+      while ((record = records.nextRecord()) != null) {
+        if (record instanceof BOFRecord bof && bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+          inFirstSheet = true;
+        } else if (record instanceof BoundSheetRecord boundSheet) {
+          sheetNames.add(boundSheet.getSheetname());
+        } else if (record instanceof SSTRecord sst) {
+          sharedStrings = sst;
+        } else if (inFirstSheet) {
+          if (record instanceof EOFRecord) {
+            break;
+          }
+          if (record instanceof DimensionsRecord dimensions) {
+            // The last row of the record is exclusive and 0-based, i.e. the 1-based number of the last row
+            lastRowNumber = dimensions.getLastRow();
+          } else if (record instanceof CellValueRecordInterface cell) {
+            if (cell.getRow() >= maxRows) {
+              break;
+            }
+            String text = switch (record) {
+              case LabelSSTRecord label when sharedStrings != null -> sharedStrings.getString(label.getSSTIndex()).getString();
+              case LabelRecord label -> label.getValue();
+              case NumberRecord number -> NumberToTextConverter.toText(number.getValue());
+              default -> null;
+            };
+            if (text != null && !text.isBlank()) {
+              rows.computeIfAbsent(cell.getRow() + 1, _ -> new ArrayList<>()).add(text);
+            }
+          }
+        }
+      }
+
+      List<SheetSample.SampledRow> sampledRows = new ArrayList<>();
+      rows.forEach((rowNumber, cells) -> sampledRows.add(new SheetSample.SampledRow(rowNumber, List.copyOf(cells))));
+      return new SheetSample(List.copyOf(sheetNames), lastRowNumber, List.copyOf(sampledRows));
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package dev.shantanu.bankstatement.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.util.XMLHelper;
+
+/**
+ * Samples an .xlsx file without building a workbook. {@link ZipFile} only reads the central directory; then the sheet
+ * list is read from {@code workbook.xml}, and the first sheet is streamed until its dimension and first rows are
+ * known. Shared strings are read only up to the highest index the sampled cells use.
+ */
+final class OoxmlProbe {
+  private static final String RELATIONSHIP_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+  private static final String OFFICE_DOCUMENT_TYPE = RELATIONSHIP_NAMESPACE + "/officeDocument";
+  private static final String SHARED_STRINGS_TYPE = RELATIONSHIP_NAMESPACE + "/sharedStrings";
+  private static final String DEFAULT_WORKBOOK_PART = "xl/workbook.xml";
+  private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+  private OoxmlProbe() {
+  }
+
+  static SheetSample probe(File file, int maxRows) throws IOException {
+    try (ZipFile zipFile = new ZipFile(file)) {
+      String workbookPart = relationshipTargets(zipFile, "_rels/.rels", "").getOrDefault(OFFICE_DOCUMENT_TYPE, DEFAULT_WORKBOOK_PART);
+      String workbookDirectory = workbookPart.substring(0, workbookPart.lastIndexOf('/') + 1);
+      String workbookRels = workbookDirectory + "_rels/" + workbookPart.substring(workbookDirectory.length()) + ".rels";
+      Map<String, String> targets = relationshipTargets(zipFile, workbookRels, workbookDirectory);
+
+      List<String> sheetNames = new ArrayList<>();
+      String firstSheetPart = null;
+      try (InputStream in = openEntry(zipFile, workbookPart)) {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("sheet")) {
+            sheetNames.add(reader.getAttributeValue(null, "name"));
+            if (firstSheetPart == null) {
+              firstSheetPart = targets.get(reader.getAttributeValue(RELATIONSHIP_NAMESPACE, "id"));
+            }
+          }
+        }
+      }
+      if (firstSheetPart == null) {
+        return new SheetSample(sheetNames, -1, List.of());
+      }
+      return sampleSheet(zipFile, firstSheetPart, targets.get(SHARED_STRINGS_TYPE), sheetNames, maxRows);
+    } catch (XMLStreamException e) {
+      throw new IOException("Malformed workbook part in " + file.getName(), e);
+    }
+  }
+
+  private static SheetSample sampleSheet(ZipFile zipFile, String sheetPart, String sharedStringsPart,
+                                         List<String> sheetNames, int maxRows) throws IOException, XMLStreamException {
+    int lastRowNumber = -1;
+    // Row number -> cell texts, shared string cells hold their Integer index until the strings are read
+    Map<Integer, List<Object>> rows = new TreeMap<>();
+    int maxSharedStringIndex = -1;
+    try (InputStream in = openEntry(zipFile, sheetPart)) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+      int rowNumber = 0;
+      String cellType = null;
+      StringBuilder cellText = null;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "dimension" -> lastRowNumber = lastRowOf(reader.getAttributeValue(null, "ref"));
+            case "row" -> {
+              String r = reader.getAttributeValue(null, "r");
+              rowNumber = r == null ? rowNumber + 1 : Integer.parseInt(r);
+            }
+            case "c" -> {
+              cellType = reader.getAttributeValue(null, "t");
+              cellText = new StringBuilder();
+            }
+            case "v", "t" -> {
+              if (cellText != null) {
+                cellText.append(reader.getElementText());
+              }
+            }
+            default -> {
+            }
+          }
+          if (rowNumber > maxRows) {
+            break;
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("c")) {
+          String text = cellText.toString();
+          if (!text.isBlank()) {
+            Object cell = text;
+            if ("s".equals(cellType)) {
+              int index = Integer.parseInt(text.trim());
+              maxSharedStringIndex = Math.max(maxSharedStringIndex, index);
+              cell = index;
+            }
+            rows.computeIfAbsent(rowNumber, _ -> new ArrayList<>()).add(cell);
+          }
+          cellText = null;
+        }
+      }
+    }
+
+    List<String> sharedStrings = maxSharedStringIndex < 0 || sharedStringsPart == null
+      ? List.of()
+      : readSharedStrings(zipFile, sharedStringsPart, maxSharedStringIndex);
+    List<SheetSample.SampledRow> sampledRows = new ArrayList<>();
+    rows.forEach((rowNumber, cells) -> sampledRows.add(new SheetSample.SampledRow(rowNumber, cells.stream()
+      .map(cell -> cell instanceof Integer index ? sharedString(sharedStrings, index) : (String) cell)
+      .toList())));
+    return new SheetSample(List.copyOf(sheetNames), lastRowNumber, List.copyOf(sampledRows));
+  }
+
+  private static List<String> readSharedStrings(ZipFile zipFile, String sharedStringsPart, int maxIndex)
+    throws IOException, XMLStreamException {
+    List<String> sharedStrings = new ArrayList<>();
+    try (InputStream in = openEntry(zipFile, sharedStringsPart)) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+      StringBuilder item = null;
+      int phoneticDepth = 0;
+      while (reader.hasNext() && sharedStrings.size() <= maxIndex) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "si" -> item = new StringBuilder();
+            case "rPh" -> phoneticDepth++;
+            case "t" -> {
+              String text = reader.getElementText();
+              if (item != null && phoneticDepth == 0) {
+                item.append(text);
+              }
+            }
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (reader.getLocalName().equals("rPh")) {
+            phoneticDepth--;
+          } else if (reader.getLocalName().equals("si") && item != null) {
+            sharedStrings.add(item.toString());
+            item = null;
+          }
+        }
+      }
+    }
+    return sharedStrings;
+  }
+
+  private static Map<String, String> relationshipTargets(ZipFile zipFile, String relsPart, String baseDirectory)
+    throws IOException, XMLStreamException {
+    Map<String, String> targets = new HashMap<>();
+    if (zipFile.getEntry(relsPart) == null) {
+      return targets;
+    }
+    try (InputStream in = openEntry(zipFile, relsPart)) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+      while (reader.hasNext()) {
+        if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Relationship")) {
+          String target = reader.getAttributeValue(null, "Target");
+          String part = target.startsWith("/") ? target.substring(1) : baseDirectory + target;
+          // Both the id and, for single part relationships, the type resolve to the part
+          targets.put(reader.getAttributeValue(null, "Id"), part);
+          targets.putIfAbsent(reader.getAttributeValue(null, "Type"), part);
+        }
+      }
+    }
+    return targets;
+  }
+
+  private static InputStream openEntry(ZipFile zipFile, String name) throws IOException {
+    ZipEntry entry = zipFile.getEntry(name);
+    if (entry == null) {
+      throw new IOException("Workbook part " + name + " not found");
+    }
+    return zipFile.getInputStream(entry);
+  }
+
+  private static String sharedString(List<String> sharedStrings, int index) {
+    return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+  }
+
+  /**
+   * Row number of the last cell of a dimension reference such as {@code A1:J51}.
+   */
+  private static int lastRowOf(String ref) {
+    if (ref == null) {
+      return -1;
+    }
+    String lastCell = ref.substring(ref.indexOf(':') + 1);
+    int digitsStart = 0;
+    while (digitsStart < lastCell.length() && !Character.isDigit(lastCell.charAt(digitsStart))) {
+      digitsStart++;
+    }
+    return digitsStart == lastCell.length() ? -1 : Integer.parseInt(lastCell.substring(digitsStart));
+  }
+}
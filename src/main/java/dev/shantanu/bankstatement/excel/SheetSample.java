@@ -0,0 +1,21 @@
+package dev.shantanu.bankstatement.excel;
+
+import java.util.List;
+
+/**
+ * What a probe read from a workbook: the sheet names and the first rows of the first sheet.
+ *
+ * @param sheetNames names of every sheet, in workbook order
+ * @param lastRowNumber 1-based number of the last row of the first sheet according to its dimension, {@code -1} when the
+ *                      sheet declares no dimension
+ * @param rows          non-empty rows among the first rows of the first sheet, in row order
+ */
+record SheetSample(List<String> sheetNames, int lastRowNumber, List<SampledRow> rows) {
+
+  /**
+   * @param rowNumber 1-based row number
+   * @param cells     text of the non-blank cells, in column order
+   */
+  record SampledRow(int rowNumber, List<String> cells) {
+  }
+}
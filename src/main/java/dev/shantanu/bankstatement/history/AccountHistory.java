@@ -0,0 +1,143 @@
+package dev.shantanu.bankstatement.history;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.ScaledAmounts;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.common.TransactionTotals;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transaction history of one account merged from any number of statements. Transactions present in more than one
+ * statement (overlapping export periods) are kept once, see {@link TransactionKey}. Transactions are partitioned by
+ * month, so range queries and totals only touch the months in range and use a binary search on the boundary months.
+ * Instances are not thread-safe.
+ */
+public final class AccountHistory {
+  private static final Logger logger = LoggerFactory.getLogger(AccountHistory.class);
+
+  private final String accountNumber;
+  private final NavigableMap<YearMonth, MonthPartition> partitions = new TreeMap<>();
+  private final Set<TransactionKey> transactionKeys = new HashSet<>();
+  private int undatedTransactions;
+
+  /**
+   * @param accountNumber account the merged statements must belong to, {@code null} to accept any statement
+   */
+  public AccountHistory(String accountNumber) {
+    this.accountNumber = accountNumber;
+  }
+
+  public String accountNumber() {
+    return accountNumber;
+  }
+
+  /**
+   * Merges the transactions of a statement into the history. Transactions without a transaction date can't be placed
+   * in a month and are counted in {@link #undatedTransactions()} only.
+   *
+   * @return number of transactions that were not in the history yet
+   * @throws IllegalArgumentException when the statement belongs to a different account
+   */
+  public int add(AccountStatement accountStatement) {
+    String statementAccountNumber = accountStatement.transactionInfo() == null
+      ? null
+      : accountStatement.transactionInfo().accountNumber();
+    if (accountNumber != null && statementAccountNumber != null && !accountNumber.equals(statementAccountNumber)) {
+      throw new IllegalArgumentException("Statement of account " + statementAccountNumber
+        + " can't be added to the history of account " + accountNumber);
+    }
+    int added = 0;
+    for (TransactionRecord transactionRecord : accountStatement.transactionRecords()) {
+      if (transactionRecord.transactionDate() == null) {
+        undatedTransactions++;
+      } else if (transactionKeys.add(TransactionKey.of(transactionRecord))) {
+        partitions.computeIfAbsent(YearMonth.from(transactionRecord.transactionDate()), _ -> new MonthPartition())
+          .add(transactionRecord);
+        added++;
+      }
+    }
+    logger.debug("Merged {} of {} transactions into the history of account {}", added,
+      accountStatement.transactionRecords().size(), accountNumber);
+    return added;
+  }
+
+  /**
+   * @return number of distinct transactions in the history
+   */
+  public int size() {
+    return transactionKeys.size();
+  }
+
+  public int undatedTransactions() {
+    return undatedTransactions;
+  }
+
+  /**
+   * @return months with at least one transaction, oldest first
+   */
+  public Set<YearMonth> months() {
+    return Collections.unmodifiableSet(partitions.navigableKeySet());
+  }
+
+  /**
+   * @return transactions dated within {@code [from, to]} (both inclusive), in transaction date order
+   */
+  public List<TransactionRecord> range(LocalDate from, LocalDate to) {
+    List<TransactionRecord> transactionRecords = new ArrayList<>();
+    for (MonthPartition partition : partitionsInRange(from, to).values()) {
+      transactionRecords.addAll(partition.range(from, to));
+    }
+    return transactionRecords;
+  }
+
+  /**
+   * @return totals of the transactions dated within {@code [from, to]} (both inclusive)
+   */
+  public TransactionTotals totals(LocalDate from, LocalDate to) {
+    long[] accumulator = new long[3];
+    for (MonthPartition partition : partitionsInRange(from, to).values()) {
+      partition.accumulate(from, to, accumulator);
+    }
+    return new TransactionTotals((int) accumulator[0], ScaledAmounts.fromScaled(accumulator[1]),
+      ScaledAmounts.fromScaled(accumulator[2]));
+  }
+
+  /**
+   * @return totals of one month, zero when the history has no transactions in it
+   */
+  public TransactionTotals monthlyTotals(YearMonth month) {
+    MonthPartition partition = partitions.get(month);
+    if (partition == null) {
+      return new TransactionTotals(0, ScaledAmounts.fromScaled(0), ScaledAmounts.fromScaled(0));
+    }
+    return partition.totals();
+  }
+
+  /**
+   * @return totals of every month with transactions, oldest first
+   */
+  public Map<YearMonth, TransactionTotals> monthlyTotals() {
+    Map<YearMonth, TransactionTotals> monthlyTotals = new LinkedHashMap<>();
+    partitions.forEach((month, partition) -> monthlyTotals.put(month, partition.totals()));
+    return monthlyTotals;
+  }
+
+  private NavigableMap<YearMonth, MonthPartition> partitionsInRange(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("Date from " + from + " is after " + to);
+    }
+    return partitions.subMap(YearMonth.from(from), true, YearMonth.from(to), true);
+  }
+}
@@ -0,0 +1,116 @@
+package dev.shantanu.bankstatement.history;
+
+import dev.shantanu.bankstatement.common.ScaledAmounts;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.common.TransactionTotals;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Transactions of one month. Records are appended unsorted and indexed on the next read: sorted by transaction date
+ * into a primitive {@code int[]} of epoch days for binary search, with withdrawals and deposits in minor units next to
+ * it and the month totals computed once.
+ */
+final class MonthPartition {
+  private final List<TransactionRecord> pending = new ArrayList<>();
+  private TransactionRecord[] records = new TransactionRecord[0];
+  private int[] epochDays = new int[0];
+  private long[] withdrawals = new long[0];
+  private long[] deposits = new long[0];
+  private long totalWithdrawals;
+  private long totalDeposits;
+
+  void add(TransactionRecord transactionRecord) {
+    pending.add(transactionRecord);
+  }
+
+  int size() {
+    return records.length + pending.size();
+  }
+
+  /**
+   * @return read-only view of the records dated within {@code [from, to]}, in transaction date order
+   */
+  List<TransactionRecord> range(LocalDate from, LocalDate to) {
+    index();
+    int start = lowerBound((int) from.toEpochDay());
+    int end = lowerBound((int) to.toEpochDay() + 1);
+    return Collections.unmodifiableList(Arrays.asList(records).subList(start, end));
+  }
+
+  TransactionTotals totals() {
+    index();
+    return new TransactionTotals(records.length, ScaledAmounts.fromScaled(totalWithdrawals),
+      ScaledAmounts.fromScaled(totalDeposits));
+  }
+
+  /**
+   * Adds the totals of the records dated within {@code [from, to]} to {@code accumulator}: count, withdrawals and
+   * deposits in minor units.
+   */
+  void accumulate(LocalDate from, LocalDate to, long[] accumulator) {
+    index();
+    int start = lowerBound((int) from.toEpochDay());
+    int end = lowerBound((int) to.toEpochDay() + 1);
+    if (start == 0 && end == records.length) {
+      accumulator[0] += records.length;
+      accumulator[1] += totalWithdrawals;
+      accumulator[2] += totalDeposits;
+      return;
+    }
+    accumulator[0] += end - start;
+    for (int i = start; i < end; i++) {
+      accumulator[1] += withdrawals[i];
+      accumulator[2] += deposits[i];
+    }
+  }
+
+  private void index() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    TransactionRecord[] merged = Arrays.copyOf(records, records.length + pending.size());
+    for (int i = 0; i < pending.size(); i++) {
+      merged[records.length + i] = pending.get(i);
+    }
+    pending.clear();
+    // Stable sort keeps statement order for transactions on the same day
+    Arrays.sort(merged, Comparator.comparing(TransactionRecord::transactionDate));
+
+    int size = merged.length;
+    records = merged;
+    epochDays = new int[size];
+    withdrawals = new long[size];
+    deposits = new long[size];
+    totalWithdrawals = 0;
+    totalDeposits = 0;
+    for (int i = 0; i < size; i++) {
+      epochDays[i] = (int) merged[i].transactionDate().toEpochDay();
+      withdrawals[i] = ScaledAmounts.toScaled(merged[i].withdrawalAmount());
+      deposits[i] = ScaledAmounts.toScaled(merged[i].depositAmount());
+      totalWithdrawals += withdrawals[i];
+      totalDeposits += deposits[i];
+    }
+  }
+
+  /**
+   * @return index of the first record dated on or after {@code epochDay}
+   */
+  private int lowerBound(int epochDay) {
+    int low = 0;
+    int high = epochDays.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (epochDays[mid] < epochDay) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
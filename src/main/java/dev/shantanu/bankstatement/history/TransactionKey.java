@@ -0,0 +1,23 @@
+package dev.shantanu.bankstatement.history;
+
+import dev.shantanu.bankstatement.common.ScaledAmounts;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+
+/**
+ * Identity of a transaction across exports. Serial numbers restart with every export, so the same transaction has a
+ * different serial number in overlapping statements; it is identified by its dates, amounts, running balance and
+ * narration instead.
+ */
+record TransactionKey(long transactionEpochDay, long valueEpochDay, long withdrawalAmount, long depositAmount,
+                      long balance, String checkNumber, String transactionRemarks) {
+
+  static TransactionKey of(TransactionRecord transactionRecord) {
+    return new TransactionKey(transactionRecord.transactionDate().toEpochDay(),
+      transactionRecord.valueDate() == null ? Long.MIN_VALUE : transactionRecord.valueDate().toEpochDay(),
+      ScaledAmounts.toScaled(transactionRecord.withdrawalAmount()),
+      ScaledAmounts.toScaled(transactionRecord.depositAmount()),
+      ScaledAmounts.toScaled(transactionRecord.balance()),
+      transactionRecord.checkNumber(),
+      transactionRecord.transactionRemarks());
+  }
+}
@@ -0,0 +1,96 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.parser.ParseCost;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admits parses while the heap they are estimated to need, see {@link ParseCost#heapBytes()}, fits a capacity, so that
+ * a few large files arriving together wait for each other instead of exhausting the heap. Waiting parses are admitted
+ * in arrival order, and a file estimated above the whole capacity is admitted alone; files too costly to parse at all
+ * are refused by the parse's own {@link dev.shantanu.bankstatement.parser.ParseBudget}.
+ */
+final class AdmissionControl {
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+  private static final long PERMIT_BYTES = 1024 * 1024;
+
+  private final Semaphore permits;
+  private final int capacity;
+
+  AdmissionControl(long capacityBytes) {
+    if (capacityBytes < PERMIT_BYTES) {
+      throw new IllegalArgumentException("Admission capacity must be at least 1 MiB, was " + capacityBytes);
+    }
+    this.capacity = (int) Math.min(Integer.MAX_VALUE, capacityBytes / PERMIT_BYTES);
+    this.permits = new Semaphore(capacity, true);
+  }
+
+  /**
+   * @return admission of parses using up to half of the maximum heap
+   */
+  static AdmissionControl ofHeap() {
+    return new AdmissionControl(Runtime.getRuntime().maxMemory() / 2);
+  }
+
+  /**
+   * Waits until the file fits. A file whose cost can't be estimated is admitted at the smallest cost and left to fail
+   * in the parser.
+   */
+  Permit admit(Path file, ParseOptions parseOptions) throws InterruptedException {
+    ParseCost parseCost;
+    try {
+      parseCost = ParseCost.estimate(file.toFile(), parseOptions);
+    } catch (IOException e) {
+      logger.debug("Could not estimate the cost of {}: {}", file, e.getMessage());
+      parseCost = null;
+    }
+    long heapBytes = parseCost == null ? 0 : parseCost.heapBytes();
+    int cost = Math.clamp((heapBytes + PERMIT_BYTES - 1) / PERMIT_BYTES, 1, capacity);
+    // The timed form keeps to arrival order where the untimed one would barge
+    if (!permits.tryAcquire(cost, 0, TimeUnit.SECONDS)) {
+      logger.debug("Waiting for {} MiB of heap to parse {}", cost, file);
+      permits.acquire(cost);
+    }
+    return new Permit(parseOptions, parseCost, cost);
+  }
+
+  /**
+   * @return permits not held by admitted parses, in MiB
+   */
+  int availableMiB() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * Heap held by an admitted parse, given back on {@link #close()}.
+   */
+  final class Permit implements AutoCloseable {
+    private final ParseOptions parseOptions;
+    private final ParseCost parseCost;
+    private final int cost;
+
+    private Permit(ParseOptions parseOptions, ParseCost parseCost, int cost) {
+      this.parseOptions = parseOptions;
+      this.parseCost = parseCost;
+      this.cost = cost;
+    }
+
+    /**
+     * @return the options the file was admitted with, carrying its estimated cost so that the parse doesn't estimate
+     * it again
+     */
+    ParseOptions parseOptions() {
+      return parseCost == null ? parseOptions : parseOptions.withEstimatedCost(parseCost);
+    }
+
+    @Override
+    public void close() {
+      permits.release(cost);
+    }
+  }
+}
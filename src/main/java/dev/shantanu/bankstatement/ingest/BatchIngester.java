@@ -0,0 +1,77 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.output.StatementWriter;
+import dev.shantanu.bankstatement.parser.BankStatementParserFactory;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses statement files on a fixed pool of {@code threads} workers and streams every account statement found to a
+ * {@link StatementWriter} as soon as its file is parsed. A file that fails to parse is logged and counted, the
+ * remaining files are still ingested. A worker starts on a file once its estimated heap fits, see
+ * {@link AdmissionControl}.
+ */
+public final class BatchIngester {
+  private static final Logger logger = LoggerFactory.getLogger(BatchIngester.class);
+
+  private final StatementType statementType;
+  private final int threads;
+  private final ParseOptions parseOptions;
+  private final AdmissionControl admissionControl = AdmissionControl.ofHeap();
+
+  public BatchIngester(StatementType statementType, int threads, ParseOptions parseOptions) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be at least 1, was " + threads);
+    }
+    this.statementType = Objects.requireNonNull(statementType, "Statement type cannot be null");
+    this.threads = threads;
+    this.parseOptions = Objects.requireNonNull(parseOptions, "Parse options cannot be null");
+  }
+
+  public IngestStats ingest(List<Path> files, StatementWriter writer) {
+    IngestStats.resetPeakHeap();
+    AtomicInteger failedFiles = new AtomicInteger();
+    LongAdder rows = new LongAdder();
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(files.size(), 1)))) {
+      for (Path file : files) {
+        executor.execute(() -> {
+          try {
+            rows.add(ingest(file, writer));
+          } catch (Exception e) {
+            failedFiles.incrementAndGet();
+            logger.error("Failed to ingest {}", file, e);
+          }
+        });
+      }
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    return new IngestStats(files.size(), failedFiles.get(), rows.sum(), elapsed, IngestStats.peakHeap());
+  }
+
+  private long ingest(Path file, StatementWriter writer) throws Exception {
+    List<AccountStatement> accountStatements;
+    try (var permit = admissionControl.admit(file, parseOptions)) {
+      accountStatements = new BankStatementParserFactory(statementType, file.toFile(), permit.parseOptions())
+        .getParser()
+        .getAccountStatements();
+    }
+    long written = 0;
+    for (AccountStatement accountStatement : accountStatements) {
+      written += writer.write(file.toString(), accountStatement);
+    }
+    logger.debug("Ingested {} rows of {} accounts from {}", written, accountStatements.size(), file);
+    return written;
+  }
+}
@@ -0,0 +1,197 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.output.OutputFormat;
+import dev.shantanu.bankstatement.output.StatementWriter;
+import dev.shantanu.bankstatement.parser.BankStatementParserFactory;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-running ingester watching an inbox directory. The JVM, the parser classes and the statement configuration
+ * stay loaded between files, so only the first file pays for start-up and class loading.
+ * <p>
+ * Every statement file created in the inbox is parsed on a bounded worker pool; once the queue is full the watching
+ * thread parses the file itself, which holds back further events instead of buffering them. A parse starts once its
+ * estimated heap fits, see {@link AdmissionControl}. The rows are written to
+ * {@code <outbox>/<file name>.<format>}, and the input is then moved to the {@code processed} or {@code failed}
+ * subdirectory of the inbox. Files already in the inbox at start-up are ingested first. Producers should move
+ * finished files into the inbox: files are picked up on creation, and names without a statement extension (for
+ * example {@code statement.xls.part}) are ignored.
+ */
+public final class InboxDaemon implements Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(InboxDaemon.class);
+  private static final String PROCESSED_DIRECTORY = "processed";
+  private static final String FAILED_DIRECTORY = "failed";
+  private static final int QUEUED_FILES_PER_WORKER = 4;
+
+  private final Path inbox;
+  private final Path outbox;
+  private final StatementType statementType;
+  private final ParseOptions parseOptions;
+  private final OutputFormat format;
+  private final TransactionCategorizer categorizer;
+  private final ThreadPoolExecutor workers;
+  private final AdmissionControl admissionControl = AdmissionControl.ofHeap();
+  private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger processedFiles = new AtomicInteger();
+  private final AtomicInteger failedFiles = new AtomicInteger();
+  private final WatchService watchService;
+
+  public InboxDaemon(Path inbox, Path outbox, StatementType statementType, int threads, ParseOptions parseOptions,
+                     OutputFormat format) throws IOException {
+    this(inbox, outbox, statementType, threads, parseOptions, format, null);
+  }
+
+  /**
+   * @param categorizer categorises the written transactions, {@code null} to write no category
+   */
+  public InboxDaemon(Path inbox, Path outbox, StatementType statementType, int threads, ParseOptions parseOptions,
+                     OutputFormat format, TransactionCategorizer categorizer) throws IOException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be at least 1, was " + threads);
+    }
+    this.inbox = inbox.toAbsolutePath().normalize();
+    this.outbox = outbox.toAbsolutePath().normalize();
+    this.statementType = Objects.requireNonNull(statementType, "Statement type cannot be null");
+    this.parseOptions = Objects.requireNonNull(parseOptions, "Parse options cannot be null");
+    this.format = Objects.requireNonNull(format, "Output format cannot be null");
+    this.categorizer = categorizer;
+    Files.createDirectories(this.inbox.resolve(PROCESSED_DIRECTORY));
+    Files.createDirectories(this.inbox.resolve(FAILED_DIRECTORY));
+    Files.createDirectories(this.outbox);
+    this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(threads * QUEUED_FILES_PER_WORKER), new ThreadPoolExecutor.CallerRunsPolicy());
+    this.watchService = this.inbox.getFileSystem().newWatchService();
+    this.inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+  }
+
+  /**
+   * Ingests the files already in the inbox, then every file created in it, until {@link #close()} is called.
+   */
+  public void run() throws IOException {
+    logger.info("Watching {} with {} workers, writing {} to {}", inbox, workers.getCorePoolSize(), format, outbox);
+    scanInbox();
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            logger.warn("Watch events of {} were lost, rescanning", inbox);
+            scanInbox();
+          } else if (event.context() instanceof Path fileName) {
+            submit(inbox.resolve(fileName));
+          }
+        }
+        if (!key.reset()) {
+          logger.error("Inbox {} is no longer accessible", inbox);
+          return;
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      logger.info("Stopped watching {}", inbox);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int processedFiles() {
+    return processedFiles.get();
+  }
+
+  public int failedFiles() {
+    return failedFiles.get();
+  }
+
+  /**
+   * Stops watching and waits for the files being parsed to be written.
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+    workers.close();
+  }
+
+  private void scanInbox() throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+      for (Path file : files) {
+        submit(file);
+      }
+    }
+  }
+
+  private void submit(Path file) {
+    if (!Files.isRegularFile(file) || file.getFileName().toString().startsWith(".")
+      || !StatementFiles.isStatementFile(file) || !inFlight.add(file)) {
+      return;
+    }
+    workers.execute(() -> {
+      try {
+        ingest(file);
+      } finally {
+        inFlight.remove(file);
+      }
+    });
+  }
+
+  private void ingest(Path file) {
+    long start = System.nanoTime();
+    String fileName = file.getFileName().toString();
+    Path output = outbox.resolve(fileName + "." + format.fileExtension());
+    Path partialOutput = outbox.resolve("." + fileName + "." + format.fileExtension() + ".part");
+    try {
+      List<AccountStatement> accountStatements;
+      try (var permit = admissionControl.admit(file, parseOptions)) {
+        accountStatements = new BankStatementParserFactory(statementType, file.toFile(), permit.parseOptions())
+          .getParser()
+          .getAccountStatements();
+      }
+      long rows = 0;
+      try (StatementWriter writer = format.open(Files.newBufferedWriter(partialOutput, StandardCharsets.UTF_8), categorizer)) {
+        for (AccountStatement accountStatement : accountStatements) {
+          rows += writer.write(fileName, accountStatement);
+        }
+      }
+      Files.move(partialOutput, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      moveInput(file, PROCESSED_DIRECTORY);
+      processedFiles.incrementAndGet();
+      logger.info("Ingested {} rows from {} in {} ms", rows, fileName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (Exception e) {
+      failedFiles.incrementAndGet();
+      logger.error("Failed to ingest {}", file, e);
+      try {
+        Files.deleteIfExists(partialOutput);
+        moveInput(file, FAILED_DIRECTORY);
+      } catch (IOException moveFailure) {
+        logger.error("Could not move {} out of the inbox", file, moveFailure);
+      }
+    }
+  }
+
+  private void moveInput(Path file, String directory) throws IOException {
+    Files.move(file, inbox.resolve(directory).resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+  }
+}
@@ -0,0 +1,123 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.output.OutputFormat;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line of the batch ingester.
+ *
+ * @param inputs     files, directories or globs to ingest
+ * @param output     file to write to, {@code null} for standard output
+ * @param inbox      directory to watch in daemon mode, {@code null} to ingest the inputs and exit
+ * @param outbox     directory the daemon writes one output file per statement to
+ * @param port       port of the HTTP parse service, {@code -1} when not serving
+ * @param categories rule file categorising the written transactions, {@code null} to write no category
+ */
+public record IngestOptions(List<String> inputs, int threads, OutputFormat format, Path output, Path inbox,
+                            Path outbox, int port, Path categories, boolean help) {
+  public static final String USAGE = """
+    Usage: java -jar bank-statement-parser.jar [options] <file|directory|glob>...
+           java -jar bank-statement-parser.jar [options] --watch <inbox> --outbox <directory>
+           java -jar bank-statement-parser.jar [options] --serve <port>
+      --threads <n>          number of files parsed concurrently (default: available processors)
+      --format <ndjson|csv>  output format (default: ndjson)
+      --output <file>        write rows to the file instead of standard output
+      --watch <directory>    stay running and ingest every statement moved into the directory
+      --outbox <directory>   where --watch writes the rows of each statement
+      --serve <port>         answer POST /statements uploads with NDJSON, --threads bounds concurrent parses
+      --categories <file>    add the category of each transaction, from the JSON rules in the file
+      --help                 print this message
+    """;
+
+  public IngestOptions {
+    inputs = List.copyOf(inputs);
+    if (threads < 1) {
+      throw new IllegalArgumentException("--threads must be at least 1, was " + threads);
+    }
+    if ((inbox == null) != (outbox == null)) {
+      throw new IllegalArgumentException("--watch and --outbox must be given together");
+    }
+    if (port < -1 || port > 65535) {
+      throw new IllegalArgumentException("--serve port must be between 0 and 65535, was " + port);
+    }
+    if (port >= 0 && inbox != null) {
+      throw new IllegalArgumentException("--serve can't be combined with --watch");
+    }
+    if (output != null && (inbox != null || port >= 0)) {
+      throw new IllegalArgumentException("--output can't be combined with --watch or --serve, use --outbox with --watch");
+    }
+    if (port >= 0 && categories != null) {
+      throw new IllegalArgumentException("--categories can't be combined with --serve");
+    }
+  }
+
+  public boolean isServer() {
+    return port >= 0;
+  }
+
+  public boolean isDaemon() {
+    return inbox != null;
+  }
+
+  /**
+   * @throws IllegalArgumentException on an unknown option, a missing or invalid option value, or no inputs
+   */
+  public static IngestOptions parse(String... arguments) {
+    List<String> inputs = new ArrayList<>();
+    int threads = Runtime.getRuntime().availableProcessors();
+    OutputFormat format = OutputFormat.NDJSON;
+    Path output = null;
+    Path inbox = null;
+    Path outbox = null;
+    int port = -1;
+    Path categories = null;
+    for (int i = 0; i < arguments.length; i++) {
+      String argument = arguments[i];
+      if (!argument.startsWith("--")) {
+        inputs.add(argument);
+        continue;
+      }
+      int separator = argument.indexOf('=');
+      String option = separator < 0 ? argument : argument.substring(0, separator);
+      if (option.equals("--help")) {
+        return new IngestOptions(inputs, threads, format, output, inbox, outbox, port, categories, true);
+      }
+      String value;
+      if (separator >= 0) {
+        value = argument.substring(separator + 1);
+      } else if (i + 1 < arguments.length) {
+        value = arguments[++i];
+      } else {
+        throw new IllegalArgumentException("Missing value for " + option);
+      }
+      switch (option) {
+        case "--threads" -> threads = parseNumber(option, value);
+        case "--serve" -> port = parseNumber(option, value);
+        case "--format" -> format = OutputFormat.fromName(value);
+        case "--output" -> output = Path.of(value);
+        case "--watch" -> inbox = Path.of(value);
+        case "--outbox" -> outbox = Path.of(value);
+        case "--categories" -> categories = Path.of(value);
+        default -> throw new IllegalArgumentException("Unknown option " + option);
+      }
+    }
+    boolean batch = inbox == null && port < 0;
+    if (inputs.isEmpty() && batch) {
+      throw new IllegalArgumentException("No input files given");
+    }
+    if (!inputs.isEmpty() && !batch) {
+      throw new IllegalArgumentException("Input files can't be combined with --watch or --serve");
+    }
+    return new IngestOptions(inputs, threads, format, output, inbox, outbox, port, categories, false);
+  }
+
+  private static int parseNumber(String option, String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(option + " must be a number, was " + value, e);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package dev.shantanu.bankstatement.ingest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throughput of one ingestion run.
+ *
+ * @param peakHeapBytes sum of the peak usage of every heap memory pool since the run started
+ */
+public record IngestStats(int files, int failedFiles, long rows, Duration elapsed, long peakHeapBytes) {
+
+  public double filesPerSecond() {
+    return perSecond(files);
+  }
+
+  public double rowsPerSecond() {
+    return perSecond(rows);
+  }
+
+  public String summary() {
+    return String.format(Locale.ROOT,
+      "Parsed %d files (%d failed), %d rows in %.3f s: %.1f files/s, %.0f rows/s, peak heap %.1f MiB",
+      files, failedFiles, rows, elapsed.toNanos() / 1e9, filesPerSecond(), rowsPerSecond(),
+      peakHeapBytes / (1024.0 * 1024.0));
+  }
+
+  /**
+   * Resets the peak usage of the heap pools, so that {@link #peakHeapBytes()} covers the run started afterwards.
+   */
+  static void resetPeakHeap() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  static long peakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  private double perSecond(long count) {
+    long nanos = elapsed.toNanos();
+    return nanos == 0 ? 0 : count * 1e9 / nanos;
+  }
+}
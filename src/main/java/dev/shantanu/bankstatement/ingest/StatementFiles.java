@@ -0,0 +1,87 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.common.FileType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Expands command line arguments into statement files. An argument is a file, a directory searched recursively for
+ * files of a supported {@link FileType}, or a glob such as {@code inbox/**}{@code /*.xls} matched below its longest
+ * directory prefix without glob characters.
+ */
+public final class StatementFiles {
+  private static final String GLOB_CHARACTERS = "*?[{";
+
+  private StatementFiles() {
+  }
+
+  /**
+   * @return the distinct files in argument order, sorted by path within a directory or glob
+   */
+  public static List<Path> resolve(List<String> arguments) throws IOException {
+    Set<Path> files = new LinkedHashSet<>();
+    for (String argument : arguments) {
+      Path path = isGlob(argument) ? null : Path.of(argument);
+      if (path != null && Files.isRegularFile(path)) {
+        files.add(path.toAbsolutePath().normalize());
+      } else if (path != null && Files.isDirectory(path)) {
+        files.addAll(walk(path, StatementFiles::isStatementFile));
+      } else if (path == null) {
+        files.addAll(expandGlob(argument));
+      } else {
+        throw new IOException("No such file or directory " + argument);
+      }
+    }
+    return List.copyOf(files);
+  }
+
+  static boolean isStatementFile(Path path) {
+    return FileType.fromFileName(path.getFileName().toString()).isPresent();
+  }
+
+  private static boolean isGlob(String argument) {
+    for (int i = 0; i < argument.length(); i++) {
+      if (GLOB_CHARACTERS.indexOf(argument.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Path> expandGlob(String glob) throws IOException {
+    String normalizedGlob = glob.replace('\\', '/');
+    int firstGlobCharacter = 0;
+    while (GLOB_CHARACTERS.indexOf(normalizedGlob.charAt(firstGlobCharacter)) < 0) {
+      firstGlobCharacter++;
+    }
+    int baseEnd = normalizedGlob.lastIndexOf('/', firstGlobCharacter);
+    Path base = baseEnd < 0 ? Path.of("") : Path.of(baseEnd == 0 ? "/" : normalizedGlob.substring(0, baseEnd));
+    if (!Files.isDirectory(base)) {
+      return List.of();
+    }
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalizedGlob.substring(baseEnd + 1));
+    Path absoluteBase = base.toAbsolutePath().normalize();
+    return walk(base, file -> matcher.matches(absoluteBase.relativize(file)));
+  }
+
+  private static List<Path> walk(Path directory, Predicate<Path> filter) throws IOException {
+    Path absoluteDirectory = directory.toAbsolutePath().normalize();
+    try (Stream<Path> paths = Files.walk(absoluteDirectory)) {
+      List<Path> files = new ArrayList<>();
+      paths.filter(Files::isRegularFile).filter(filter).sorted().forEach(files::add);
+      return files;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package dev.shantanu.bankstatement.output;
+
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+final class CsvStatementWriter implements StatementWriter {
+  private static final String HEADER = "source,accountNumber,serialNumber,valueDate,transactionDate,checkNumber,"
+    + "transactionRemarks,withdrawalAmount,depositAmount,balance,error";
+  private static final String CATEGORY_HEADER = ",category";
+
+  private final Writer out;
+  private final TransactionCategorizer categorizer;
+  private boolean headerWritten;
+
+  /**
+   * @param categorizer adds a {@code category} column when not {@code null}
+   */
+  CsvStatementWriter(Writer out, TransactionCategorizer categorizer) {
+    this.out = out;
+    this.categorizer = categorizer;
+  }
+
+  @Override
+  public int write(String source, AccountStatement accountStatement) throws IOException {
+    String accountNumber = accountStatement.transactionInfo() == null ? null : accountStatement.transactionInfo().accountNumber();
+    List<TransactionRecord> transactionRecords = accountStatement.transactionRecords().stream().sorted(ROW_ORDER).toList();
+    // Categorised before taking the lock, so that other statements keep writing meanwhile
+    String[] categories = categorizer == null ? null : categorizer.categorizeAll(transactionRecords);
+    synchronized (this) {
+      writeHeader();
+      for (int i = 0; i < transactionRecords.size(); i++) {
+        writeRow(source, accountNumber, transactionRecords.get(i), categories == null ? null : categories[i]);
+      }
+    }
+    return transactionRecords.size();
+  }
+
+  private void writeRow(String source, String accountNumber, TransactionRecord transactionRecord, String category)
+    throws IOException {
+    writeField(source);
+    writeField(accountNumber);
+    writeField(transactionRecord.serialNumber());
+    writeField(transactionRecord.valueDate());
+    writeField(transactionRecord.transactionDate());
+    writeField(transactionRecord.checkNumber());
+    writeField(transactionRecord.transactionRemarks());
+    writeField(transactionRecord.withdrawalAmount() == null ? null : transactionRecord.withdrawalAmount().toPlainString());
+    writeField(transactionRecord.depositAmount() == null ? null : transactionRecord.depositAmount().toPlainString());
+    writeField(transactionRecord.balance() == null ? null : transactionRecord.balance().toPlainString());
+    out.write(escape(transactionRecord.error()));
+    if (categorizer != null) {
+      out.write(',');
+      out.write(escape(category));
+    }
+    out.write("\r\n");
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    writeHeader();
+    out.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    writeHeader();
+    out.close();
+  }
+
+  private void writeHeader() throws IOException {
+    if (!headerWritten) {
+      out.write(HEADER);
+      if (categorizer != null) {
+        out.write(CATEGORY_HEADER);
+      }
+      out.write("\r\n");
+      headerWritten = true;
+    }
+  }
+
+  private void writeField(Object value) throws IOException {
+    out.write(escape(value == null ? null : value.toString()));
+    out.write(',');
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return '"' + value.replace("\"", "\"\"") + '"';
+      }
+    }
+    return value;
+  }
+}
@@ -0,0 +1,57 @@
+package dev.shantanu.bankstatement.output;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.GsonSingleton;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+final class NdjsonStatementWriter implements StatementWriter {
+  private final Gson gson = GsonSingleton.GSON.instance();
+  private final Writer out;
+  private final TransactionCategorizer categorizer;
+
+  /**
+   * @param categorizer adds a {@code category} property when not {@code null}
+   */
+  NdjsonStatementWriter(Writer out, TransactionCategorizer categorizer) {
+    this.out = out;
+    this.categorizer = categorizer;
+  }
+
+  @Override
+  public int write(String source, AccountStatement accountStatement) throws IOException {
+    String accountNumber = accountStatement.transactionInfo() == null ? null : accountStatement.transactionInfo().accountNumber();
+    List<TransactionRecord> transactionRecords = accountStatement.transactionRecords().stream().sorted(ROW_ORDER).toList();
+    // Categorised before taking the lock, so that other statements keep writing meanwhile
+    String[] categories = categorizer == null ? null : categorizer.categorizeAll(transactionRecords);
+    synchronized (this) {
+      for (int i = 0; i < transactionRecords.size(); i++) {
+        JsonObject row = new JsonObject();
+        row.addProperty("source", source);
+        row.addProperty("accountNumber", accountNumber);
+        gson.toJsonTree(transactionRecords.get(i)).getAsJsonObject().asMap().forEach(row::add);
+        if (categories != null) {
+          row.addProperty("category", categories[i]);
+        }
+        gson.toJson(row, out);
+        out.write('\n');
+      }
+    }
+    return transactionRecords.size();
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    out.close();
+  }
+}
@@ -0,0 +1,48 @@
+package dev.shantanu.bankstatement.output;
+
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import java.io.Writer;
+import java.util.Locale;
+
+public enum OutputFormat {
+  /**
+   * One JSON object per transaction and line.
+   */
+  NDJSON,
+  /**
+   * RFC 4180 comma separated values with a header line.
+   */
+  CSV;
+
+  public String fileExtension() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public static OutputFormat fromName(String name) {
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown output format " + name + ", expected ndjson or csv", e);
+    }
+  }
+
+  /**
+   * Writer of this format over {@code out}; closing the returned writer closes {@code out}.
+   */
+  public StatementWriter open(Writer out) {
+    return open(out, null);
+  }
+
+  /**
+   * Writer of this format over {@code out} adding the category of each transaction, see
+   * {@link TransactionCategorizer}; closing the returned writer closes {@code out}.
+   *
+   * @param categorizer {@code null} to write no category
+   */
+  public StatementWriter open(Writer out, TransactionCategorizer categorizer) {
+    return switch (this) {
+      case NDJSON -> new NdjsonStatementWriter(out, categorizer);
+      case CSV -> new CsvStatementWriter(out, categorizer);
+    };
+  }
+}
@@ -0,0 +1,24 @@
+package dev.shantanu.bankstatement.output;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Comparator;
+
+/**
+ * Streams the transactions of parsed statements as flat rows, each tagged with the source it was read from and the
+ * account number. Implementations are thread-safe and never interleave the rows of two statements.
+ */
+public interface StatementWriter extends Closeable {
+  Comparator<TransactionRecord> ROW_ORDER = Comparator.comparingInt(TransactionRecord::serialNumber);
+
+  /**
+   * Writes every transaction of the statement in serial number order.
+   *
+   * @return number of rows written
+   */
+  int write(String source, AccountStatement accountStatement) throws IOException;
+
+  void flush() throws IOException;
+}
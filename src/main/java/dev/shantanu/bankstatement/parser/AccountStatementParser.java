@@ -1,8 +1,54 @@
 package dev.shantanu.bankstatement.parser;
 
 import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public interface AccountStatementParser {
   AccountStatement getTransactionInformation() throws IOException;
+
+  /**
+   * Only the transactions matching the query. Parsers that can evaluate the query while reading rows override this;
+   * the default filters a full parse.
+   */
+  default AccountStatement getTransactionInformation(TransactionQuery query) throws IOException {
+    AccountStatement accountStatement = getTransactionInformation();
+    if (query.isUnrestricted()) {
+      return accountStatement;
+    }
+    Set<TransactionRecord> transactionRecords = accountStatement.transactionRecords()
+      .stream()
+      .filter(query::matches)
+      .collect(Collectors.toCollection(LinkedHashSet::new));
+    return new AccountStatement(accountStatement.transactionInfo(), transactionRecords,
+      accountStatement.summary() == null ? null : StatementSummaryAggregator.summarize(transactionRecords),
+      accountStatement.errors());
+  }
+
+  /**
+   * One statement per account in the input. Parsers of single-account formats return the statement of
+   * {@link #getTransactionInformation(TransactionQuery)}.
+   */
+  default List<AccountStatement> getAccountStatements(TransactionQuery query) throws IOException {
+    return List.of(getTransactionInformation(query));
+  }
+
+  default List<AccountStatement> getAccountStatements() throws IOException {
+    return getAccountStatements(TransactionQuery.ALL);
+  }
+
+  /**
+   * Transaction rows as views whose fields are converted on first access. Parsers that can't defer conversion return
+   * views over fully parsed records.
+   */
+  default List<LazyTransactionRecord> getLazyTransactionRecords() throws IOException {
+    return getTransactionInformation().transactionRecords()
+      .stream()
+      .map(LazyTransactionRecord::of)
+      .toList();
+  }
 }
@@ -1,18 +1,110 @@
 package dev.shantanu.bankstatement.parser;
 
+import dev.shantanu.bankstatement.common.FileType;
 import dev.shantanu.bankstatement.config.IciciSearchStatementConfig;
 import dev.shantanu.bankstatement.config.StatementConfiguration;
 import dev.shantanu.bankstatement.config.StatementType;
 import dev.shantanu.bankstatement.error.AccountStatementException;
 import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.parser.cache.StatementCache;
 import java.io.File;
+import java.io.IOException;
 import java.util.Objects;
+import org.apache.poi.poifs.filesystem.FileMagic;
 
-public record BankStatementParserFactory(StatementType statementType, File statementFile) {
+/**
+ * @param passwordProvider passwords tried when the statement file is encrypted
+ */
+public record BankStatementParserFactory(StatementType statementType, File statementFile, ParseOptions parseOptions,
+                                         StatementPasswordProvider passwordProvider) {
+   public BankStatementParserFactory(StatementType statementType, File statementFile) {
+      this(statementType, statementFile, ParseOptions.defaults());
+   }
+
+   public BankStatementParserFactory(StatementType statementType, File statementFile, ParseOptions parseOptions) {
+      this(statementType, statementFile, parseOptions, StatementPasswordProvider.NONE);
+   }
+
+   public BankStatementParserFactory {
+      Objects.requireNonNull(passwordProvider, "Password provider cannot be null");
+   }
+
+   /**
+    * Factory for the statement type matching the file content. Workbooks, recognised by their leading bytes as OLE2
+    * (.xls or encrypted .xlsx) or OOXML (.xlsx) whatever the file name, are read with the default statement type, as
+    * are PDF files and other files named {@code .csv}.
+    */
+   public static BankStatementParserFactory detect(File statementFile, ParseOptions parseOptions) throws IOException {
+      FileMagic fileMagic = FileMagic.valueOf(statementFile);
+      if (fileMagic == FileMagic.OLE2 || fileMagic == FileMagic.OOXML || fileMagic == FileMagic.PDF || isCsv(statementFile)) {
+         return new BankStatementParserFactory(StatementType.getDefault(), statementFile, parseOptions);
+      }
+      throw new AccountStatementException(ErrorCode.NOT_SUPPORTED_FILE_FORMAT,
+         "Can't detect the statement type of " + statementFile.getName() + ", content looks like " + fileMagic, (Throwable) null);
+   }
+
+   /**
+    * Same factory, trying the given passwords on encrypted statements.
+    */
+   public BankStatementParserFactory withPasswordProvider(StatementPasswordProvider passwordProvider) {
+      return new BankStatementParserFactory(this.statementType, this.statementFile, this.parseOptions, passwordProvider);
+   }
+
+   /**
+    * Parser for the statement file, chosen by its leading bytes: a PDF parser for PDF files and a workbook parser for
+    * OLE2 and OOXML files, whatever their name. Only other files, such as plain text, are routed by name: a CSV parser
+    * for {@code .csv} and a PDF parser for {@code .pdf}. A workbook or PDF saved as {@code .csv} is still read as what
+    * it is.
+    */
    public AccountStatementParser getParser() {
+      return createParser(getStatementConfiguration());
+   }
+
+   /**
+    * Same as {@link #getParser()}, but repeat parses of identical file content are served from the given cache.
+    */
+   public AccountStatementParser getParser(StatementCache cache) {
+      StatementConfiguration statementConfiguration = getStatementConfiguration();
+      AccountStatementParser parser = createParser(statementConfiguration);
+      return new CachingAccountStatementParser(parser, Objects.requireNonNull(cache, "Cache cannot be null"),
+         this.statementFile, this.statementType, statementConfiguration.version(), this.parseOptions);
+   }
+
+   private AccountStatementParser createParser(StatementConfiguration statementConfiguration) {
+      FileMagic fileMagic = fileMagicOf(this.statementFile);
+      if (fileMagic == FileMagic.OLE2 || fileMagic == FileMagic.OOXML) {
+         return new ExcelSearchStatementParser(this.statementFile, statementConfiguration, this.parseOptions, this.passwordProvider);
+      }
+      if (fileMagic == FileMagic.PDF) {
+         return new PdfStatementParser(this.statementFile, statementConfiguration, this.parseOptions, this.passwordProvider);
+      }
+      if (isCsv(this.statementFile)) {
+         return new CsvStatementParser(this.statementFile, statementConfiguration, this.parseOptions);
+      }
+      if (FileType.fromFileName(this.statementFile.getName()).orElse(null) == FileType.PDF) {
+         return new PdfStatementParser(this.statementFile, statementConfiguration, this.parseOptions, this.passwordProvider);
+      }
+      return new ExcelSearchStatementParser(this.statementFile, statementConfiguration, this.parseOptions, this.passwordProvider);
+   }
+
+   private static boolean isCsv(File statementFile) {
+      return FileType.fromFileName(statementFile.getName()).orElse(null) == FileType.CSV;
+   }
+
+   /**
+    * Signature of the leading bytes, {@link FileMagic#UNKNOWN} for files that can't be read.
+    */
+   private static FileMagic fileMagicOf(File statementFile) {
+      try {
+         return statementFile.isFile() ? FileMagic.valueOf(statementFile) : FileMagic.UNKNOWN;
+      } catch (IOException e) {
+         return FileMagic.UNKNOWN;
+      }
+   }
+
+   private StatementConfiguration getStatementConfiguration() {
       if (Objects.requireNonNull(this.statementType) == StatementType.ICICI_BANK_SEARCH_STATEMENT) {
-         StatementConfiguration statementConfiguration = new IciciSearchStatementConfig();
-         return new ExcelSearchStatementParser(this.statementFile, statementConfiguration);
+         return new IciciSearchStatementConfig();
       } else {
          throw new AccountStatementException(ErrorCode.NOT_SUPPORTED_STATEMENT_TYPE, "Not supported statement-type", (Throwable) null);
       }
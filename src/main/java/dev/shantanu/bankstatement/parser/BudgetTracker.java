@@ -0,0 +1,87 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spending of one file parse against its {@link ParseBudget}. Shared by the worksheets or page ranges of the file
+ * parsed concurrently.
+ */
+final class BudgetTracker {
+  private static final Logger logger = LoggerFactory.getLogger(BudgetTracker.class);
+  // The deadline is checked once every so many rows, reading the clock costs about as much as a phantom row
+  private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+  private final ParseBudget budget;
+  private final String fileName;
+  private final long startNanos = System.nanoTime();
+  private final AtomicLong rowsScanned = new AtomicLong();
+  private final AtomicLong nextDeadlineCheck = new AtomicLong(DEADLINE_CHECK_INTERVAL);
+
+  private BudgetTracker(ParseBudget budget, String fileName) {
+    this.budget = budget;
+    this.fileName = fileName;
+  }
+
+  /**
+   * Checks the estimated cost of the file before it is opened and starts its clock. The cost is estimated here unless
+   * the options carry it, see {@link ParseOptions#withEstimatedCost}.
+   */
+  static BudgetTracker start(File file, ParseOptions parseOptions) {
+    ParseBudget budget = parseOptions.budget();
+    if (budget.limitsCost()) {
+      ParseCost cost = parseOptions.estimatedCost();
+      if (cost == null) {
+        try {
+          cost = ParseCost.estimate(file, parseOptions);
+        } catch (IOException e) {
+          throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read the file " + file.getName(), e);
+        }
+      }
+      logger.debug("Estimated cost of {} = {}", file.getName(), cost);
+      if (budget.maxDecompressedBytes() > 0 && cost.decompressedBytes() > budget.maxDecompressedBytes()) {
+        throw exceeded(file.getName(), "decompresses to " + cost.decompressedBytes() + " bytes, more than " + budget.maxDecompressedBytes());
+      }
+      if (budget.maxHeapBytes() > 0 && cost.heapBytes() > budget.maxHeapBytes()) {
+        throw exceeded(file.getName(), "needs an estimated " + cost.heapBytes() + " bytes of heap, more than " + budget.maxHeapBytes());
+      }
+    }
+    return new BudgetTracker(budget, file.getName());
+  }
+
+  void countRow() {
+    countRows(1);
+  }
+
+  /**
+   * Counts rows about to be scanned, checking the deadline once at least {@value #DEADLINE_CHECK_INTERVAL} rows were
+   * counted since the last check, however the rows are counted.
+   */
+  void countRows(long rows) {
+    long scanned = rowsScanned.addAndGet(rows);
+    if (budget.maxRows() > 0 && scanned > budget.maxRows()) {
+      throw exceeded(fileName, "scanned more than " + budget.maxRows() + " rows");
+    }
+    long deadlineCheck = nextDeadlineCheck.get();
+    // Of the threads passing the same check, only the one moving it on reads the clock
+    if (scanned >= deadlineCheck && nextDeadlineCheck.compareAndSet(deadlineCheck, scanned + DEADLINE_CHECK_INTERVAL)) {
+      checkDeadline();
+    }
+  }
+
+  void checkDeadline() {
+    if (!budget.timeLimit().isZero() && System.nanoTime() - startNanos > budget.timeLimit().toNanos()) {
+      throw exceeded(fileName, "took longer than " + budget.timeLimit());
+    }
+  }
+
+  private static AccountStatementException exceeded(String fileName, String reason) {
+    logger.warn("Gave up parsing {}: it {}", fileName, reason);
+    return new AccountStatementException(ErrorCode.BUDGET_EXCEEDED, "The file " + fileName + " " + reason, new IllegalStateException());
+  }
+}
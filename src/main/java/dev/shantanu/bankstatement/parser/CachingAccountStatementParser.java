@@ -0,0 +1,77 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.parser.cache.StatementCache;
+import dev.shantanu.bankstatement.parser.cache.StatementCacheKey;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves repeat parses of the same statement content from a {@link StatementCache} and falls back to the delegate
+ * parser on a miss. Only full parses are cached; a query is answered from a cached statement when there is one and
+ * otherwise pushed down to the delegate.
+ */
+class CachingAccountStatementParser implements AccountStatementParser {
+  private final AccountStatementParser delegate;
+  private final StatementCache cache;
+  private final File statementFile;
+  private final StatementType statementType;
+  private final String configVersion;
+  private final ParseOptions parseOptions;
+
+  CachingAccountStatementParser(AccountStatementParser delegate, StatementCache cache, File statementFile,
+                                StatementType statementType, String configVersion, ParseOptions parseOptions) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.statementFile = statementFile;
+    this.statementType = statementType;
+    this.configVersion = configVersion;
+    this.parseOptions = parseOptions;
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation() throws IOException {
+    StatementCacheKey key = cache.keyFor(statementFile, statementType, configVersion, parseOptions);
+    Optional<AccountStatement> cached = cache.get(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    AccountStatement accountStatement = delegate.getTransactionInformation();
+    cache.put(key, accountStatement);
+    return accountStatement;
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation(TransactionQuery query) throws IOException {
+    if (query.isUnrestricted()) {
+      return getTransactionInformation();
+    }
+    Optional<AccountStatement> cached = cache.get(cache.keyFor(statementFile, statementType, configVersion, parseOptions));
+    if (cached.isPresent()) {
+      AccountStatement accountStatement = cached.get();
+      Set<TransactionRecord> transactionRecords = accountStatement.transactionRecords()
+        .stream()
+        .filter(query::matches)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+      return new AccountStatement(accountStatement.transactionInfo(), transactionRecords,
+        parseOptions.computeSummary() ? StatementSummaryAggregator.summarize(transactionRecords) : null,
+        accountStatement.errors());
+    }
+    return delegate.getTransactionInformation(query);
+  }
+
+  /**
+   * Not cached, the cache holds one statement per file.
+   */
+  @Override
+  public List<AccountStatement> getAccountStatements(TransactionQuery query) throws IOException {
+    return delegate.getAccountStatements(query);
+  }
+}
@@ -0,0 +1,85 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.ColumnField;
+import dev.shantanu.bankstatement.config.StatementConfiguration;
+import dev.shantanu.bankstatement.config.TransactionTableConfig;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parser for statements exported as CSV, driven by the same configuration sections as
+ * {@link ExcelSearchStatementParser}: a line stands for a row and a field for a cell. The lines down to the
+ * transactions header are kept to find the sections before the table, see {@link TextSections}; the table below is
+ * read one line at a time through a {@link MappedCsvReader}, decoding only the fields of mapped columns.
+ */
+final class CsvStatementParser implements AccountStatementParser {
+  private static final Logger logger = LoggerFactory.getLogger(CsvStatementParser.class);
+  private static final int MAX_HEADER_SEARCH_LINES = 1000;
+  private final File statementFile;
+  private final StatementConfiguration statementConfiguration;
+  private final ParseOptions parseOptions;
+  private final TransformTransactionRecord transformTransactionRecord = new TransformTransactionRecord();
+
+  CsvStatementParser(File statementFile, StatementConfiguration statementConfiguration, ParseOptions parseOptions) {
+    this.statementFile = statementFile;
+    this.statementConfiguration = statementConfiguration;
+    this.parseOptions = parseOptions;
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation() {
+    return getTransactionInformation(TransactionQuery.ALL);
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation(TransactionQuery query) {
+    BudgetTracker budget = BudgetTracker.start(statementFile, parseOptions);
+    try (MappedCsvReader reader = new MappedCsvReader(statementFile.toPath())) {
+      return parse(reader, query, budget);
+    } catch (IOException e) {
+      logger.error("Could not read file = {}. Error message = {}", statementFile.getName(), e.getMessage());
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read the CSV file " + statementFile.getName(), e);
+    }
+  }
+
+  private AccountStatement parse(MappedCsvReader reader, TransactionQuery query, BudgetTracker budget) throws IOException {
+    TextSections sections = new TextSections(statementConfiguration);
+    TransactionTableConfig transactionTableConfig = sections.transactionTableConfig(transformTransactionRecord);
+
+    List<List<String>> preamble = new ArrayList<>();
+    List<String> headerLine;
+    do {
+      budget.countRow();
+      if (!reader.nextLine()) {
+        throw reader.lineIndex() < 0
+          ? new AccountStatementException(ErrorCode.EMPTY_FILE, "Empty file", new IllegalStateException())
+          : new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not find transactions in the input file", new IllegalStateException());
+      }
+      if (reader.lineIndex() >= MAX_HEADER_SEARCH_LINES) {
+        throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not find transactions in the input file", new IllegalStateException());
+      }
+      headerLine = reader.fields();
+      preamble.add(headerLine);
+    } while (!transformTransactionRecord.isTransactionHeader(headerLine, transactionTableConfig));
+
+    Map<ColumnField, Integer> columns = transformTransactionRecord.mapTransactionColumns(headerLine, transactionTableConfig);
+    ParseContext context = new ParseContext(parseOptions, budget);
+    TextTableMapper tableMapper = new TextTableMapper(transactionTableConfig, columns, context, query);
+    boolean inTable = true;
+    while (inTable && reader.nextLine()) {
+      inTable = tableMapper.accept(reader::field, reader.lineIndex());
+    }
+    logger.debug("Parsed {} transactions from {} lines", tableMapper.transactionRecords().size(), reader.lineIndex() + 1);
+
+    return new AccountStatement(sections.readTransactionInfo(preamble), tableMapper.transactionRecords(),
+      context.summary(), context.errorReport());
+  }
+}
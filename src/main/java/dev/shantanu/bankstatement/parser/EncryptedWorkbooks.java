@@ -0,0 +1,103 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.temp.AesZipFileZipEntrySource;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+/**
+ * Opens statements whether they are encrypted or not. An encrypted .xlsx is an OLE2 container holding the
+ * Agile/Standard encrypted package. When it is loaded as a workbook, POI decrypts the whole package into the heap.
+ * When it is streamed, see {@link #openPackage}, the package is copied to a temp file encrypted with a throwaway key,
+ * so that neither its plaintext reaches the disk nor its entries are held in the heap. Encrypted .xls files are
+ * decrypted record by record while the workbook is read.
+ */
+final class EncryptedWorkbooks {
+  private EncryptedWorkbooks() {
+  }
+
+  /**
+   * Opens the workbook, trying the provider's passwords once it turns out to be encrypted.
+   */
+  static Workbook open(File file, StatementPasswordProvider passwordProvider) throws IOException {
+    try {
+      return WorkbookFactory.create(file);
+    } catch (EncryptedDocumentException e) {
+      for (String password : passwordProvider.passwords(file)) {
+        try {
+          return WorkbookFactory.create(file, password, true);
+        } catch (EncryptedDocumentException _) {
+          // try the next password
+        }
+      }
+      throw passwordRequired(file, e);
+    }
+  }
+
+  /**
+   * @return whether the file is an OLE2 container of an encrypted OOXML package, an encrypted .xlsx
+   */
+  static boolean isEncryptedPackage(File file) throws IOException {
+    if (FileMagic.valueOf(file) != FileMagic.OLE2) {
+      return false;
+    }
+    try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+      return fileSystem.getRoot().hasEntry(Decryptor.DEFAULT_POIFS_ENTRY)
+        && fileSystem.getRoot().hasEntry("EncryptionInfo");
+    }
+  }
+
+  /**
+   * Decrypts an encrypted .xlsx into a package, with Excel's default password first and then the provider's. The
+   * package reads its entries from an encrypted temp file deleted when the package is closed.
+   */
+  static OPCPackage openPackage(File file, StatementPasswordProvider passwordProvider) throws IOException {
+    try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+      Decryptor decryptor = new EncryptionInfo(fileSystem).getDecryptor();
+      if (!decryptor.verifyPassword(Decryptor.DEFAULT_PASSWORD)) {
+        boolean verified = passwordProvider.passwords(file).stream().anyMatch(password -> verifyPassword(decryptor, password));
+        if (!verified) {
+          throw passwordRequired(file, null);
+        }
+      }
+      // POI's own temp file settings are JVM-wide, the copy keeps them untouched for every other package
+      AesZipFileZipEntrySource zipEntrySource;
+      try (InputStream in = decryptor.getDataStream(fileSystem)) {
+        zipEntrySource = AesZipFileZipEntrySource.createZipEntrySource(in);
+      }
+      try {
+        // Closing the package closes the source, which deletes the temp file
+        return OPCPackage.open(zipEntrySource);
+      } catch (InvalidFormatException | RuntimeException e) {
+        zipEntrySource.close();
+        throw e;
+      }
+    } catch (GeneralSecurityException | InvalidFormatException e) {
+      throw new IOException("Could not decrypt " + file.getName(), e);
+    }
+  }
+
+  private static boolean verifyPassword(Decryptor decryptor, String password) {
+    try {
+      return decryptor.verifyPassword(password);
+    } catch (GeneralSecurityException _) {
+      return false;
+    }
+  }
+
+  static AccountStatementException passwordRequired(File file, Throwable cause) {
+    return new AccountStatementException(ErrorCode.PASSWORD_REQUIRED, "None of the passwords opens " + file.getName(), cause);
+  }
+}
@@ -11,31 +11,44 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import dev.shantanu.bankstatement.common.AccountStatement;
 import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.ColumnField;
 import dev.shantanu.bankstatement.config.FieldConfiguration;
 import dev.shantanu.bankstatement.config.SearchRangeConfig;
 import dev.shantanu.bankstatement.config.StatementConfiguration;
 import dev.shantanu.bankstatement.config.TransactionTableConfig;
 import dev.shantanu.bankstatement.error.AccountStatementException;
 import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
 import dev.shantanu.bankstatement.parser.model.TransactionInfo;
 import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.jetbrains.annotations.NotNull;
@@ -59,24 +72,83 @@ class ExcelSearchStatementParser implements AccountStatementParser {
   public static final String CONFIG_SECTION_SEARCH_CRITERIA = "search_criteria";
   public static final String CONFIG_SECTION_ADVANCE_SEARCH = "advance_search";
   public static final String CONFIG_SECTION_TRANSACTIONS_TABLE = "transactions_table";
+  // Rows of a streamed sheet kept in memory while its transactions header is searched for
+  private static final int MAX_ROWS_ABOVE_HEADER = 1000;
   private final StatementConfiguration statementConfiguration;
   private final File statementFile;
+  private final ParseOptions parseOptions;
+  private final StatementPasswordProvider passwordProvider;
   private final TransformTransactionRecord transformTransactionRecord = new TransformTransactionRecord();
 
   public ExcelSearchStatementParser(File statementFile, StatementConfiguration statementConfiguration) {
+    this(statementFile, statementConfiguration, ParseOptions.defaults());
+  }
+
+  public ExcelSearchStatementParser(File statementFile, StatementConfiguration statementConfiguration, ParseOptions parseOptions) {
+    this(statementFile, statementConfiguration, parseOptions, StatementPasswordProvider.NONE);
+  }
+
+  public ExcelSearchStatementParser(File statementFile, StatementConfiguration statementConfiguration, ParseOptions parseOptions,
+                                    StatementPasswordProvider passwordProvider) {
     this.statementFile = statementFile;
     this.statementConfiguration = statementConfiguration;
+    this.parseOptions = parseOptions;
+    this.passwordProvider = passwordProvider;
   }
 
   @Override
   public AccountStatement getTransactionInformation() {
-    try (Workbook workbook = WorkbookFactory.create(statementFile)) {
+    return getTransactionInformation(TransactionQuery.ALL);
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation(TransactionQuery query) {
+    if (isLargeXlsx()) {
+      return streamWorkbook((workbook, budget) -> streamFirstSheet(workbook, query, budget));
+    }
+    return readFirstSheet((sheet, budget) -> parseSheet(sheet, cachedLayout(sheet), query, budget));
+  }
+
+  /**
+   * Parses every worksheet containing a transactions table, concurrently when
+   * {@link ParseOptions#sheetParallelism()} allows. Sheets of the same account are merged; a sheet without an
+   * account number continues the account of the sheet before it, as in exports splitting a long period across sheets.
+   */
+  @Override
+  public List<AccountStatement> getAccountStatements(TransactionQuery query) {
+    if (isLargeXlsx()) {
+      return streamWorkbook((workbook, budget) -> streamMatchingSheets(workbook, query, budget));
+    }
+    return readWorkbook((workbook, budget) -> parseMatchingSheets(workbook, query, budget));
+  }
+
+  /**
+   * Streamed workbooks are parsed in full, their views are over the parsed records.
+   */
+  @Override
+  public List<LazyTransactionRecord> getLazyTransactionRecords() {
+    if (isLargeXlsx()) {
+      return getTransactionInformation().transactionRecords().stream().map(LazyTransactionRecord::of).toList();
+    }
+    return readFirstSheet(this::readLazyTransactions);
+  }
+
+  private <T> T readFirstSheet(BiFunction<Sheet, BudgetTracker, T> sheetReader) {
+    return readWorkbook((workbook, budget) -> sheetReader.apply(workbook.getSheetAt(0), budget));
+  }
+
+  /**
+   * Opens the workbook once its estimated cost fits the {@link ParseOptions#budget()}; the reader spends the rest of
+   * the budget.
+   */
+  private <T> T readWorkbook(BiFunction<Workbook, BudgetTracker, T> workbookReader) {
+    BudgetTracker budget = BudgetTracker.start(statementFile, parseOptions);
+    try (Workbook workbook = EncryptedWorkbooks.open(statementFile, passwordProvider)) {
       int numberOfSheets = workbook.getNumberOfSheets();
       if (numberOfSheets == 0) {
         throw new AccountStatementException(ErrorCode.EMPTY_FILE, "No worksheet found in the input file = " + statementFile, new IllegalStateException());
       }
-      Sheet sheet = workbook.getSheetAt(0);
-      return parseSheet(sheet);
+      return workbookReader.apply(workbook, budget);
     } catch (IOException e) {
       logger.error("Exception while reading file {}. Error message = {}, casued by = {} ", statementFile.getName(), e.getMessage(), e.getCause().getMessage());
       throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not open the workbook", new IllegalStateException());
@@ -84,35 +156,372 @@ class ExcelSearchStatementParser implements AccountStatementParser {
 
   }
 
-  private AccountStatement parseSheet(Sheet sheet) {
+  /**
+   * .xlsx files of at least {@link ParseOptions#largeFileThreshold()} bytes, encrypted or not, are streamed instead of
+   * loaded, see {@link StreamingXlsxWorkbook}.
+   */
+  private boolean isLargeXlsx() {
+    long threshold = parseOptions.largeFileThreshold();
+    if (threshold <= 0 || statementFile.length() < threshold) {
+      return false;
+    }
+    try {
+      return FileMagic.valueOf(statementFile) == FileMagic.OOXML || EncryptedWorkbooks.isEncryptedPackage(statementFile);
+    } catch (IOException _) {
+      return false;
+    }
+  }
+
+  private <T> T streamWorkbook(BiFunction<StreamingXlsxWorkbook, BudgetTracker, T> workbookReader) {
+    BudgetTracker budget = BudgetTracker.start(statementFile, parseOptions);
+    try (StreamingXlsxWorkbook workbook = StreamingXlsxWorkbook.open(statementFile, passwordProvider)) {
+      return workbookReader.apply(workbook, budget);
+    } catch (IOException e) {
+      logger.error("Exception while streaming file {}. Error message = {}", statementFile.getName(), e.getMessage());
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not open the workbook", e);
+    }
+  }
+
+  private AccountStatement streamFirstSheet(StreamingXlsxWorkbook workbook, TransactionQuery query, BudgetTracker budget) {
+    StreamingXlsxWorkbook.SheetStream sheetStream = workbook.nextSheet();
+    if (sheetStream == null) {
+      throw new AccountStatementException(ErrorCode.EMPTY_FILE, "No worksheet found in the input file = " + statementFile, new IllegalStateException());
+    }
+    AccountStatement accountStatement = streamSheet(sheetStream, query, budget);
+    if (accountStatement == null) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not find a transactions header in the first "
+        + MAX_ROWS_ABOVE_HEADER + " rows of worksheet " + sheetStream.sheet().getSheetName(), new IllegalStateException());
+    }
+    return accountStatement;
+  }
+
+  /**
+   * Streamed counterpart of {@link #parseMatchingSheets}. Sheets are read one after the other, as they follow each
+   * other in the file.
+   */
+  private List<AccountStatement> streamMatchingSheets(StreamingXlsxWorkbook workbook, TransactionQuery query,
+                                                     BudgetTracker budget) {
+    List<AccountStatement> accountStatements = new ArrayList<>();
+    for (var sheetStream = workbook.nextSheet(); sheetStream != null; sheetStream = workbook.nextSheet()) {
+      AccountStatement accountStatement = streamSheet(sheetStream, query, budget);
+      if (accountStatement != null) {
+        accountStatements.add(accountStatement);
+      }
+    }
+    if (accountStatements.isEmpty()) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "No worksheet with transactions found in the input file = " + statementFile, new IllegalStateException());
+    }
+    return mergeByAccount(accountStatements);
+  }
+
+  /**
+   * Keeps the rows down to the transactions header row, reads the table below it one row at a time, then locates the
+   * other sections in the kept rows. Only the rows present in the sheet are kept and counted, wherever they are.
+   *
+   * @return {@code null} when none of the first {@value #MAX_ROWS_ABOVE_HEADER} rows present is a transactions header
+   * row, logged as a warning when the sheet has more rows
+   */
+  private AccountStatement streamSheet(StreamingXlsxWorkbook.SheetStream sheetStream, TransactionQuery query,
+                                       BudgetTracker budget) {
+    try (sheetStream) {
+      Sheet sheet = sheetStream.sheet();
+      JsonObject tableSectionConfig = getTransactionsTableSection();
+      TransactionTableConfig transactionTableConfig = transformTransactionRecord.getTransactionTableConfig(tableSectionConfig.get("table").getAsJsonObject());
+      Row headerRow;
+      int keptRows = 0;
+      do {
+        budget.countRow();
+        headerRow = sheetStream.nextRow();
+        if (headerRow == null) {
+          return null;
+        }
+        if (++keptRows > MAX_ROWS_ABOVE_HEADER) {
+          // The rows above the header are kept in memory, so a sheet isn't searched to its end as a loaded one is
+          logger.warn("Skipping worksheet {} of {}, no transactions header in its first {} rows",
+            sheet.getSheetName(), statementFile.getName(), MAX_ROWS_ABOVE_HEADER);
+          return null;
+        }
+      } while (!transformTransactionRecord.isTransactionHeaderRow(headerRow, transactionTableConfig));
+
+      sheet.setActiveCell(firstCellAddress(sheet));
+      Map<ColumnField, Integer> columns = transformTransactionRecord.locateTransactionColumns(sheet, getSearchKeywords(tableSectionConfig), transactionTableConfig, budget);
+      ParseContext context = new ParseContext(sheet, parseOptions, budget);
+      Set<TransactionRecord> transactions = transformTransactionRecord.readAndMapTransactions(sheetStream.tableRows(),
+        headerRow.getRowNum() + 1, transactionTableConfig, columns, context, query);
+
+      sheetStream.finish();
+      sheet.setActiveCell(firstCellAddress(sheet));
+      return parseExcelBySections(getSectionsByOrder(), sheet, locateSections(sheet, budget), context, _ -> transactions);
+    } catch (IOException e) {
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read worksheet " + sheetStream.sheet().getSheetName(), e);
+    }
+  }
+
+  /**
+   * Where {@link #readHeaderSection} starts searching a sheet without an active cell.
+   */
+  private static CellAddress firstCellAddress(Sheet sheet) {
+    Row row = sheet.getRow(sheet.getFirstRowNum());
+    return new CellAddress(row.getRowNum(), Math.max(row.getFirstCellNum(), 0));
+  }
+
+  /**
+   * @param layout layout of the sheet, {@code null} to discover it
+   */
+  private AccountStatement parseSheet(Sheet sheet, SheetLayout layout, TransactionQuery query, BudgetTracker budget) {
     boolean isEmpty = isEmptySheet(sheet);
     if (isEmpty) {
       throw new AccountStatementException(ErrorCode.EMPTY_FILE, "Empty sheet", new IllegalStateException());
     }
+    budget.checkDeadline();
 
-    ToIntFunction<JsonObject> getOrder = jo -> jo.get("order").getAsInt();
-    Comparator<JsonObject> sectionComparatorByOrder = comparingInt(getOrder);
-    List<JsonObject> jsonSectionConfigList = this.statementConfiguration.getSections().stream().sorted(sectionComparatorByOrder).toList();
+    List<JsonObject> jsonSectionConfigList = getSectionsByOrder();
+    SheetLayout sheetLayout = layout == null ? discoverLayout(sheet, budget) : layout;
 
     int firstRowNum = sheet.getFirstRowNum();
     int lastRowNum = sheet.getLastRowNum();
     int physicalNumberOfRows = sheet.getPhysicalNumberOfRows();
-    int physicalNumberOfCells = sheet.getRow(0).getPhysicalNumberOfCells();
-    short firstCellNum = sheet.getRow(15).getFirstCellNum();
-    short lastCellNum = sheet.getRow(15).getLastCellNum();
 
-    logger.debug("firstRowNum={} lastRowNum={} physicalNumberOfRows={} physicalNumberOfCells={} firstCellNum={} lastCellNum={}", firstRowNum, lastRowNum, physicalNumberOfRows, physicalNumberOfCells, firstCellNum, lastCellNum);
+    logger.debug("sheet={} firstRowNum={} lastRowNum={} physicalNumberOfRows={}", sheet.getSheetName(), firstRowNum, lastRowNum, physicalNumberOfRows);
+
+    ParseContext context = new ParseContext(sheet, parseOptions, budget);
+    return parseExcelBySections(jsonSectionConfigList, sheet, sheetLayout, context,
+      transactionTableConfig -> transformTransactionRecord.readAndMapTransactions(sheet, sheetLayout.tableHeaderRow() + 1,
+        transactionTableConfig, sheetLayout.columns(), context, query));
+
+  }
+
+  /**
+   * A sheet whose cached layout matches is known to hold a transactions table; the others are searched for one.
+   */
+  private List<AccountStatement> parseMatchingSheets(Workbook workbook, TransactionQuery query, BudgetTracker budget) {
+    JsonObject tableSectionConfig = getTransactionsTableSection();
+    List<String> searchFor = getSearchKeywords(tableSectionConfig);
+    TransactionTableConfig transactionTableConfig = transformTransactionRecord.getTransactionTableConfig(tableSectionConfig.get("table").getAsJsonObject());
+
+    List<Integer> sheetIndexes = new ArrayList<>();
+    List<SheetLayout> layouts = new ArrayList<>();
+    for (int sheetIndex = 0; sheetIndex < workbook.getNumberOfSheets(); sheetIndex++) {
+      Sheet sheet = workbook.getSheetAt(sheetIndex);
+      if (isEmptySheet(sheet)) {
+        continue;
+      }
+      SheetLayout layout = cachedLayout(sheet);
+      if (layout != null || transformTransactionRecord.containsTransactionsTable(sheet, searchFor, transactionTableConfig, budget)) {
+        sheetIndexes.add(sheetIndex);
+        layouts.add(layout);
+      }
+    }
+    if (sheetIndexes.isEmpty()) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "No worksheet with transactions found in the input file = " + statementFile, new IllegalStateException());
+    }
+    logger.debug("Parsing {} of {} worksheets", sheetIndexes.size(), workbook.getNumberOfSheets());
+    return mergeByAccount(parseSheets(workbook, sheetIndexes, layouts, query, budget));
+  }
+
+  /**
+   * Sheets are split into one range per thread of {@link ParseOptions#sheetParallelism()}. A POI workbook isn't
+   * thread-safe even when only read, its sheets share the shared strings, styles and XML document and parsing moves
+   * their active cell, so each other thread opens its own copy of the workbook, as {@link PdfStatementParser} does
+   * with documents. The calling thread parses the first range in {@code workbook}. Only the budget of the file is
+   * shared. Every copy costs a full load, which {@link ParseCost} charges, so a parallelism above 1 only pays off for
+   * workbooks whose rows take longer to map than the workbook takes to load.
+   *
+   * @param sheetIndexes index of every sheet to parse, in workbook order
+   * @param layouts      cached layout of each sheet, {@code null} entries for sheets to discover
+   * @return statement of each sheet, in the order of {@code sheetIndexes}
+   */
+  private List<AccountStatement> parseSheets(Workbook workbook, List<Integer> sheetIndexes, List<SheetLayout> layouts,
+                                             TransactionQuery query, BudgetTracker budget) {
+    int threads = Math.min(sheetIndexes.size(), parseOptions.sheetParallelism());
+    if (threads <= 1) {
+      return parseSheetRange(workbook, sheetIndexes, layouts, query, budget);
+    }
+    int sheetsPerThread = (sheetIndexes.size() + threads - 1) / threads;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads - 1)) {
+      List<Future<List<AccountStatement>>> futures = new ArrayList<>(threads - 1);
+      for (int first = sheetsPerThread; first < sheetIndexes.size(); first += sheetsPerThread) {
+        List<Integer> rangeIndexes = sheetIndexes.subList(first, Math.min(sheetIndexes.size(), first + sheetsPerThread));
+        List<SheetLayout> rangeLayouts = layouts.subList(first, first + rangeIndexes.size());
+        futures.add(executor.submit(() -> {
+          try (Workbook copy = EncryptedWorkbooks.open(statementFile, passwordProvider)) {
+            return parseSheetRange(copy, rangeIndexes, rangeLayouts, query, budget);
+          }
+        }));
+      }
+      List<AccountStatement> accountStatements = new ArrayList<>(sheetIndexes.size());
+      accountStatements.addAll(parseSheetRange(workbook, sheetIndexes.subList(0, sheetsPerThread),
+        layouts.subList(0, sheetsPerThread), query, budget));
+      for (Future<List<AccountStatement>> future : futures) {
+        accountStatements.addAll(getSheetResult(future));
+      }
+      return accountStatements;
+    }
+  }
+
+  private List<AccountStatement> parseSheetRange(Workbook workbook, List<Integer> sheetIndexes, List<SheetLayout> layouts,
+                                                 TransactionQuery query, BudgetTracker budget) {
+    List<AccountStatement> accountStatements = new ArrayList<>(sheetIndexes.size());
+    for (int i = 0; i < sheetIndexes.size(); i++) {
+      accountStatements.add(parseSheet(workbook.getSheetAt(sheetIndexes.get(i)), layouts.get(i), query, budget));
+    }
+    return accountStatements;
+  }
+
+  private static List<AccountStatement> getSheetResult(Future<List<AccountStatement>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Interrupted while parsing worksheets", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof AccountStatementException accountStatementException) {
+        throw accountStatementException;
+      }
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not parse worksheet", e.getCause());
+    }
+  }
+
+  private List<AccountStatement> mergeByAccount(List<AccountStatement> sheetStatements) {
+    Map<String, List<AccountStatement>> statementsByAccount = new LinkedHashMap<>();
+    String previousAccountNumber = null;
+    for (AccountStatement sheetStatement : sheetStatements) {
+      String accountNumber = sheetStatement.transactionInfo() == null ? null : sheetStatement.transactionInfo().accountNumber();
+      if (StringUtils.isBlank(accountNumber)) {
+        accountNumber = previousAccountNumber;
+      }
+      statementsByAccount.computeIfAbsent(accountNumber, _ -> new ArrayList<>()).add(sheetStatement);
+      previousAccountNumber = accountNumber;
+    }
+    return statementsByAccount.values().stream().map(this::mergeStatements).toList();
+  }
+
+  private AccountStatement mergeStatements(List<AccountStatement> accountStatements) {
+    if (accountStatements.size() == 1) {
+      return accountStatements.getFirst();
+    }
+    TransactionInfo transactionInfo = null;
+    LocalDate transactionFrom = null;
+    LocalDate transactionTo = null;
+    Set<TransactionRecord> transactions = new LinkedHashSet<>();
+    ParseErrorReport errors = ParseErrorReport.EMPTY;
+    for (AccountStatement accountStatement : accountStatements) {
+      TransactionInfo sheetInfo = accountStatement.transactionInfo();
+      if (sheetInfo != null) {
+        if (transactionInfo == null || StringUtils.isBlank(transactionInfo.accountNumber())) {
+          transactionInfo = sheetInfo;
+        }
+        transactionFrom = ObjectUtils.min(transactionFrom, sheetInfo.transactionFrom());
+        transactionTo = ObjectUtils.max(transactionTo, sheetInfo.transactionTo());
+      }
+      transactions.addAll(accountStatement.transactionRecords());
+      errors = errors.merge(accountStatement.errors());
+    }
+    TransactionInfo mergedInfo = transactionInfo == null
+      ? null
+      : new TransactionInfo(transactionInfo.accountNumber(), transactionInfo.fullName(), transactionInfo.currency(), transactionFrom, transactionTo);
+    return new AccountStatement(mergedInfo, transactions,
+      parseOptions.computeSummary() ? StatementSummaryAggregator.summarize(transactions) : null, errors);
+  }
+
+  /**
+   * Reads only what is needed to locate the transactions table and returns its rows as lazily converted views.
+   */
+  private List<LazyTransactionRecord> readLazyTransactions(Sheet sheet, BudgetTracker budget) {
+    if (isEmptySheet(sheet)) {
+      throw new AccountStatementException(ErrorCode.EMPTY_FILE, "Empty sheet", new IllegalStateException());
+    }
+    SheetLayout layout = cachedLayout(sheet);
+    if (layout == null) {
+      layout = discoverLayout(sheet, budget);
+    }
+    TransactionTableConfig transactionTableConfig = transformTransactionRecord.getTransactionTableConfig(getTransactionsTableSection().get("table").getAsJsonObject());
+    return transformTransactionRecord.getLazyTransactions(sheet, layout.tableHeaderRow() + 1, transactionTableConfig,
+      layout.columns(), parseOptions, budget);
+  }
+
+  /**
+   * @return the cached layout of the sheet when there is one and it matches the sheet, otherwise {@code null}
+   */
+  private SheetLayout cachedLayout(Sheet sheet) {
+    LayoutCache layoutCache = parseOptions.layoutCache();
+    return layoutCache == null ? null : layoutCache.get(LayoutSignature.of(sheet, statementConfiguration), sheet);
+  }
+
+  /**
+   * Searches the sheet for every configured section, section by section from the top as the active cell advances, and
+   * caches the resulting layout when it locates a transactions table.
+   */
+  private SheetLayout discoverLayout(Sheet sheet, BudgetTracker budget) {
+    SheetLayout sheetLayout = locateSections(sheet, budget);
+    LayoutCache layoutCache = parseOptions.layoutCache();
+    if (layoutCache != null && sheetLayout.hasTable()) {
+      layoutCache.put(LayoutSignature.of(sheet, statementConfiguration), sheetLayout);
+    }
+    return sheetLayout;
+  }
+
+  private SheetLayout locateSections(Sheet sheet, BudgetTracker budget) {
+    SheetLayout.Builder layout = SheetLayout.builder();
+    for (var sectionConfig : getSectionsByOrder()) {
+      String sectionId = sectionConfig.get(CONFIG_KEY_ID).getAsString();
+      switch (sectionId) {
+        case CONFIG_SECTION_HEADER -> {
+          if (readHeaderSection(sheet, sectionConfig) != null) {
+            CellAddress titleAddress = sheet.getActiveCell();
+            layout.titleCell(sheet.getRow(titleAddress.getRow()).getCell(titleAddress.getColumn()));
+          }
+        }
+        case CONFIG_SECTION_SEARCH_CRITERIA, CONFIG_SECTION_ADVANCE_SEARCH -> {
+          JsonElement skip = sectionConfig.get("skip");
+          if (skip == null || !skip.getAsBoolean()) {
+            getFieldListForSection(sectionConfig.getAsJsonArray(CONFIG_KEY_FIELDS))
+              .forEach(fieldConfig -> locateField(sheet, sectionId, fieldConfig, layout, budget));
+          }
+        }
+        case CONFIG_SECTION_TRANSACTIONS_TABLE -> {
+          TransactionTableConfig transactionTableConfig = transformTransactionRecord.getTransactionTableConfig(sectionConfig.get("table").getAsJsonObject());
+          Map<ColumnField, Integer> columns = transformTransactionRecord.locateTransactionColumns(sheet, getSearchKeywords(sectionConfig), transactionTableConfig, budget);
+          layout.table(sheet.getRow(sheet.getActiveCell().getRow()), columns);
+        }
+        default -> logger.debug("Section with id = {} has no location to discover", sectionId);
+      }
+    }
+    return layout.build();
+  }
+
+  private JsonObject getTransactionsTableSection() {
+    return getSectionsByOrder().stream()
+      .filter(sectionConfig -> CONFIG_SECTION_TRANSACTIONS_TABLE.equals(sectionConfig.get(CONFIG_KEY_ID).getAsString()))
+      .findFirst()
+      .orElseThrow(() -> new AccountStatementException(ErrorCode.CONFIGURATION_ERROR, "No transactions table section configured", new IllegalStateException()));
+  }
 
-    return parseExcelBySections(jsonSectionConfigList, sheet);
+  private List<JsonObject> getSectionsByOrder() {
+    ToIntFunction<JsonObject> getOrder = jo -> jo.get("order").getAsInt();
+    Comparator<JsonObject> sectionComparatorByOrder = comparingInt(getOrder);
+    return this.statementConfiguration.getSections().stream().sorted(sectionComparatorByOrder).toList();
+  }
 
+  static List<String> getSearchKeywords(JsonObject sectionConfig) {
+    return sectionConfig.getAsJsonArray(CONFIG_KEY_SEARCH_KEYWORDS)
+      .asList()
+      .stream()
+      .map(JsonElement::getAsString)
+      .toList();
   }
 
   /**
    * @param jsonSectionConfigList List of all section config from {@link resources/excelStatementConfig.json }
    * @param sheet                 represents input file sheet object
+   * @param layout                where the sections are in the sheet
+   * @param context               context the transactions are read with
+   * @param transactionsReader    reads the transactions of the table with the given configuration
    * @return {@link AccountStatement}
    */
-  private AccountStatement parseExcelBySections(List<JsonObject> jsonSectionConfigList, Sheet sheet) {
+  private AccountStatement parseExcelBySections(List<JsonObject> jsonSectionConfigList, Sheet sheet, SheetLayout layout,
+                                                ParseContext context,
+                                                Function<TransactionTableConfig, Set<TransactionRecord>> transactionsReader) {
     JsonObject parsedSections = new JsonObject();
     Set<TransactionRecord> transactions = Set.of();
 
@@ -130,7 +539,7 @@ class ExcelSearchStatementParser implements AccountStatementParser {
 
       switch (sectionId) {
         case CONFIG_SECTION_HEADER -> {
-          String headerTitle = readHeaderSection(sheet, sectionConfig);
+          String headerTitle = layout.titleCell() == null ? null : getCellText(sheet, layout.titleCell().getRow(), layout.titleCell().getColumn(), context).toLowerCase();
           if (StringUtils.isNotEmpty(headerTitle)) {
             parsedJsonSection.addProperty(CONFIG_KEY_TITLE, headerTitle);
             parsedSections.add(sectionId, parsedJsonSection);
@@ -140,7 +549,7 @@ class ExcelSearchStatementParser implements AccountStatementParser {
         }
         case CONFIG_SECTION_SEARCH_CRITERIA -> {
           List<FieldConfiguration> fieldConfigList = getFieldListForSection(sectionConfig.getAsJsonArray(CONFIG_KEY_FIELDS));
-          var parsedFieldsJson = readAndMapFields(sheet, fieldConfigList);
+          var parsedFieldsJson = readAndMapFields(sheet, sectionId, fieldConfigList, layout, context);
           parsedFieldsJson.asMap().forEach(parsedJsonSection.asMap()::putIfAbsent);
           parsedSections.add(sectionId, parsedJsonSection);
         }
@@ -148,31 +557,26 @@ class ExcelSearchStatementParser implements AccountStatementParser {
           boolean skip = sectionConfig.get("skip").getAsBoolean();
           if (!skip) {
             List<FieldConfiguration> fieldConfigList = getFieldListForSection(sectionConfig.getAsJsonArray(CONFIG_KEY_FIELDS));
-            var parsedFieldsJson = readAndMapFields(sheet, fieldConfigList);
+            var parsedFieldsJson = readAndMapFields(sheet, sectionId, fieldConfigList, layout, context);
             parsedJsonSection.add(sectionId, parsedFieldsJson);
           }
         }
         case CONFIG_SECTION_TRANSACTIONS_TABLE -> {
-          List<String> searchFor = sectionConfig.getAsJsonArray(CONFIG_KEY_SEARCH_KEYWORDS)
-            .asList()
-            .stream()
-            .map(JsonElement::getAsString)
-            .toList();
-
           TransactionTableConfig transactionTableConfig = transformTransactionRecord.getTransactionTableConfig(sectionConfig.get("table").getAsJsonObject());
-          transactions = transformTransactionRecord.getTransactions(sheet, searchFor, transactionTableConfig);
+          transactions = transactionsReader.apply(transactionTableConfig);
         }
         default -> logger.info("Don't have capability to parse section with id = {} ", sectionId);
       }
     }
     TransactionInfo transactionInfo = GSON.instance().fromJson(parsedSections.get(CONFIG_SECTION_SEARCH_CRITERIA).getAsJsonObject(), TransactionInfo.class);
-    return new AccountStatement(transactionInfo, transactions);
+    return new AccountStatement(transactionInfo, transactions, context.summary(), context.errorReport());
 
 
   }
 
-  private @NotNull JsonObject readAndMapFields(Sheet sheet, List<FieldConfiguration> fields) {
-    return fields.stream().map(fieldConfig -> getFieldValue(sheet, fieldConfig))
+  private @NotNull JsonObject readAndMapFields(Sheet sheet, String sectionId, List<FieldConfiguration> fields,
+                                                SheetLayout layout, ParseContext context) {
+    return fields.stream().map(fieldConfig -> getFieldValue(sheet, fieldConfig, layout.fields().get(fieldKey(sectionId, fieldConfig)), context))
       .reduce(new JsonObject(), (accumulator, current) -> {
         Map<String, JsonElement> accumulatorMap = accumulator.asMap();
         current.asMap().forEach(accumulatorMap::putIfAbsent);
@@ -180,44 +584,54 @@ class ExcelSearchStatementParser implements AccountStatementParser {
       });
   }
 
-  private JsonObject getFieldValue(Sheet sheet, FieldConfiguration fieldConfig) {
-
-    CellAddress activeCell = sheet.getActiveCell();
-    String labelToSearch = fieldConfig.label();
-    String pattern = fieldConfig.pattern();
-    List<String> patternMappedFields = fieldConfig.patternMappedFields();
-    int startRow = activeCell.getRow();
-
-    for (int i = startRow; i < startRow + 5; i++) {
-      CellAddress cellAddressOfLabel = findFieldLabelFromRow(sheet, i, labelToSearch);
-      if (isNull(cellAddressOfLabel)) {
-        continue;
-      }
-
-      Row row = sheet.getRow(cellAddressOfLabel.getRow());
-      Cell cell = row.getCell(cellAddressOfLabel.getColumn());
-      String fieldLabel = cell.getStringCellValue();
-      String fieldValue = getAdjacentValue(sheet, row, cell, cellAddressOfLabel.getColumn());
-
-      logger.debug("fieldLabel = {}  fieldValue = {}", fieldLabel, fieldValue);
-
-      JsonObject regexParsedValue = getPatternMappedFields(fieldValue, pattern, patternMappedFields);
+  private JsonObject getFieldValue(Sheet sheet, FieldConfiguration fieldConfig, SheetLayout.FieldLocation location,
+                                   ParseContext context) {
+    if (location == null) {
+      return new JsonObject();
+    }
+    String fieldValue = getCellText(sheet, location.label().getRow(), location.valueColumn(), context);
+    logger.debug("fieldLabel = {}  fieldValue = {}", fieldConfig.label(), fieldValue);
+
+    JsonObject regexParsedValue = getPatternMappedFields(fieldValue, fieldConfig.pattern(), fieldConfig.patternMappedFields());
+    JsonObject field = new JsonObject();
+    if (!regexParsedValue.isEmpty()) {
+      regexParsedValue.asMap().forEach(field::add);
+    } else {
+      field.addProperty(fieldConfig.name(), fieldValue);
+    }
+    return field;
+  }
 
-      JsonObject field = new JsonObject();
+  /**
+   * Finds the field label below the active cell and records it with the column of its value, which follows the label
+   * or the merged region the label spans. Moves the active cell to the label.
+   */
+  private void locateField(Sheet sheet, String sectionId, FieldConfiguration fieldConfig, SheetLayout.Builder layout,
+                           BudgetTracker budget) {
+    CellAddress cellAddressOfLabel = findFieldLabelFromRow(sheet, sheet.getActiveCell().getRow(), fieldConfig.label(), budget);
+    if (isNull(cellAddressOfLabel)) {
+      return;
+    }
+    Cell cell = sheet.getRow(cellAddressOfLabel.getRow()).getCell(cellAddressOfLabel.getColumn());
+    int valueColumn = transformTransactionRecord.mergedCellAddressOptional(sheet, cell, budget)
+      .map(CellRangeAddress::getLastColumn)
+      .map(col -> col + 1)
+      .orElse(cellAddressOfLabel.getColumn() + 1);
+    layout.field(fieldKey(sectionId, fieldConfig), cell, valueColumn);
+    sheet.setActiveCell(cellAddressOfLabel);
+  }
 
-      if (!regexParsedValue.isEmpty()) {
-        regexParsedValue.asMap().forEach(field::add);
-      } else {
-        field.addProperty(fieldConfig.name(), fieldValue);
-      }
+  private static String fieldKey(String sectionId, FieldConfiguration fieldConfig) {
+    return sectionId + "/" + fieldConfig.name();
+  }
 
-      sheet.setActiveCell(cellAddressOfLabel);
-      return field;
-    }
-    return new JsonObject();
+  private static String getCellText(Sheet sheet, int rowIndex, int columnIndex, ParseContext context) {
+    Row row = sheet.getRow(rowIndex);
+    Cell cell = row == null ? null : row.getCell(columnIndex);
+    return cell == null ? "" : context.fieldCellValue(cell);
   }
 
-  private JsonObject getPatternMappedFields(String fieldValue, String pattern, List<String> patternMappedFields) {
+  static JsonObject getPatternMappedFields(String fieldValue, String pattern, List<String> patternMappedFields) {
     JsonObject result = new JsonObject();
     Pattern p = Pattern.compile(pattern);
     Matcher matcher = p.matcher(fieldValue);
@@ -232,20 +646,16 @@ class ExcelSearchStatementParser implements AccountStatementParser {
     return result;
   }
 
-  private String getAdjacentValue(Sheet sheet, Row row, Cell cell, int column) {
-    int adjacentColumn = transformTransactionRecord.mergedCellAddressOptional(sheet, cell).map(CellRangeAddress::getLastColumn).map(col -> col + 1).orElse(column + 1);
-
-    Cell result = sheet.getRow(row.getRowNum()).getCell(adjacentColumn);
-    return ParserUtils.getStringValueOf(result);
-
-  }
-
-  private CellAddress findFieldLabelFromRow(Sheet sheet, int startRowNum, String fieldLabel) {
+  private CellAddress findFieldLabelFromRow(Sheet sheet, int startRowNum, String fieldLabel, BudgetTracker budget) {
     if (StringUtils.isEmpty(fieldLabel)) {
       return null;
     }
     for (int i = startRowNum; i <= sheet.getLastRowNum(); i++) {
+      budget.countRow();
       Row row = sheet.getRow(i);
+      if (row == null) {
+        continue;
+      }
       // Iterate over cells in the current row
       for (int j = row.getFirstCellNum(); j < row.getLastCellNum(); j++) {
         Cell cell = row.getCell(j);
@@ -284,15 +694,13 @@ class ExcelSearchStatementParser implements AccountStatementParser {
 
       String cellValue = ParserUtils.findStringValueInCurrentRow(sheet, row, searchFor, startCol, range);
       if (cellValue != null) {
-        String cellReference = sheet.getActiveCell().formatAsR1C1String();
-        section.addProperty("cellReference", cellReference);
         return cellValue;
       }
     }
     return null;
   }
 
-  private List<FieldConfiguration> getFieldListForSection(JsonArray fields) {
+  static List<FieldConfiguration> getFieldListForSection(JsonArray fields) {
     if (nonNull(fields) && !fields.isEmpty()) {
       return fields.asList().stream().map(JsonElement::getAsJsonObject)
         .map(jsonObject -> GSON.instance()
@@ -302,7 +710,7 @@ class ExcelSearchStatementParser implements AccountStatementParser {
     return Collections.emptyList();
   }
 
-  private SearchRangeConfig getSearchRange(JsonObject relativeSearchRange) {
+  static SearchRangeConfig getSearchRange(JsonObject relativeSearchRange) {
     if (nonNull(relativeSearchRange) && !relativeSearchRange.isEmpty()) {
       Gson gson = GSON.instance();
       return gson.fromJson(relativeSearchRange, SearchRangeConfig.class);
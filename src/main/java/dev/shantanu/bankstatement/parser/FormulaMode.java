@@ -0,0 +1,17 @@
+package dev.shantanu.bankstatement.parser;
+
+/**
+ * How the transaction table and the header and search criteria fields read formula cells. Sections and table columns
+ * are always located by the stored text of their labels.
+ */
+public enum FormulaMode {
+  /**
+   * Reads the result the exporting application stored with the formula. Needs neither the formula engine nor the
+   * cells the formula refers to; a formula without a stored result reads as blank.
+   */
+  CACHED,
+  /**
+   * Evaluates every formula with the workbook's formula evaluator, for files written without stored results.
+   */
+  EVALUATE
+}
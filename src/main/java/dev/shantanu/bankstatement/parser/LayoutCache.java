@@ -0,0 +1,76 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Thread-safe cache of discovered sheet layouts, shared by every parse using the same {@link ParseOptions}. Repeat
+ * files of one bank export then read their title, fields and transactions table at the cached positions instead of
+ * searching the sheet. A cached layout is verified against the sheet before it is used; one that no longer matches is
+ * dropped and the sheet is searched again. Once {@code maxEntries} layouts are held, new layouts are not added.
+ */
+public final class LayoutCache {
+  public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+  private final ConcurrentHashMap<LayoutSignature, SheetLayout> layouts = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public LayoutCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public LayoutCache(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Maximum number of entries must be positive, was " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Lookups without a cached layout, including the ones whose cached layout did not match the sheet.
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Cached layouts dropped because the sheet they were looked up for did not match them.
+   */
+  public long invalidations() {
+    return invalidations.sum();
+  }
+
+  public int size() {
+    return layouts.size();
+  }
+
+  /**
+   * @return the cached layout when it matches the sheet, otherwise {@code null}
+   */
+  SheetLayout get(LayoutSignature signature, Sheet sheet) {
+    SheetLayout layout = layouts.get(signature);
+    if (layout != null && layout.matches(sheet)) {
+      hits.increment();
+      return layout;
+    }
+    if (layout != null && layouts.remove(signature, layout)) {
+      invalidations.increment();
+    }
+    misses.increment();
+    return null;
+  }
+
+  void put(LayoutSignature signature, SheetLayout layout) {
+    if (layouts.size() < maxEntries || layouts.containsKey(signature)) {
+      layouts.put(signature, layout);
+    }
+  }
+}
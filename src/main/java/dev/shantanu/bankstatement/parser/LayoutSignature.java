@@ -0,0 +1,49 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.config.StatementConfiguration;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Cheap fingerprint of a sheet's layout: the configuration it is parsed with, the sheet name, where the sheet starts
+ * and the text and column span of its first non-empty row (the export's title row). The number of rows is left out
+ * on purpose, since it differs between exports of the same layout. Equal signatures only suggest the same layout;
+ * {@link SheetLayout#matches} confirms it.
+ */
+record LayoutSignature(String statementType, String configVersion, String sheetName, int firstRowNum,
+                       int titleRowNum, int firstColumn, int lastColumn, int titleTextHash) {
+  private static final int MAX_ROWS_TO_TITLE = 16;
+
+  static LayoutSignature of(Sheet sheet, StatementConfiguration statementConfiguration) {
+    int firstRowNum = sheet.getFirstRowNum();
+    int lastRowToSearch = Math.min(sheet.getLastRowNum(), firstRowNum + MAX_ROWS_TO_TITLE);
+    for (int i = Math.max(firstRowNum, 0); i <= lastRowToSearch; i++) {
+      Row row = sheet.getRow(i);
+      int titleTextHash = row == null ? 0 : stringCellsHash(row);
+      if (titleTextHash != 0) {
+        return new LayoutSignature(statementConfiguration.statementType().name(), statementConfiguration.version(),
+          sheet.getSheetName(), firstRowNum, i, row.getFirstCellNum(), row.getLastCellNum(), titleTextHash);
+      }
+    }
+    return new LayoutSignature(statementConfiguration.statementType().name(), statementConfiguration.version(),
+      sheet.getSheetName(), firstRowNum, -1, -1, -1, 0);
+  }
+
+  /**
+   * Hash of the normalized text of the row's string cells, {@code 0} when it has none.
+   */
+  private static int stringCellsHash(Row row) {
+    int hash = 0;
+    for (Cell cell : row) {
+      if (cell.getCellType() == CellType.STRING) {
+        String text = SheetLayout.normalize(cell.getStringCellValue());
+        if (!text.isEmpty()) {
+          hash = 31 * hash + text.hashCode() + cell.getColumnIndex();
+        }
+      }
+    }
+    return hash;
+  }
+}
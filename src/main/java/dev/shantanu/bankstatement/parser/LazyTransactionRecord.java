@@ -0,0 +1,201 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * View of a transaction row backed by the raw cell text. Each typed field is converted on first access and memoized,
+ * so callers that only look at a few columns (e.g. filter by date) don't pay for converting the rest.
+ * Instances are not thread-safe.
+ */
+public final class LazyTransactionRecord {
+
+  /**
+   * Columns of a transaction row, identified by the {@code mappedTo} name in the table configuration.
+   */
+  public enum Field {
+    SERIAL_NUMBER("serialNumber"),
+    VALUE_DATE("valueDate"),
+    TRANSACTION_DATE("transactionDate"),
+    CHECK_NUMBER("chequeNumber", "checkNumber"),
+    REMARKS("remarks", "transactionRemarks"),
+    WITHDRAWAL_AMOUNT("withdrawalAmount"),
+    DEPOSIT_AMOUNT("depositAmount"),
+    BALANCE("balance");
+
+    private static final Field[] VALUES = values();
+
+    private final String[] mappedToNames;
+
+    private Field(String... mappedToNames) {
+      this.mappedToNames = mappedToNames;
+    }
+
+    /**
+     * @return the field for a configured {@code mappedTo} name or {@code null} when it is not a transaction field
+     */
+    public static Field forMappedTo(String mappedTo) {
+      for (Field field : VALUES) {
+        for (String name : field.mappedToNames) {
+          if (name.equals(mappedTo)) {
+            return field;
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  static final int FIELD_COUNT = Field.VALUES.length;
+
+  private final String[] rawValues;
+  private int convertedFields;
+  private Integer serialNumber;
+  private LocalDate valueDate;
+  private LocalDate transactionDate;
+  private BigDecimal withdrawalAmount;
+  private BigDecimal depositAmount;
+  private BigDecimal balance;
+
+  LazyTransactionRecord(String[] rawValues) {
+    if (rawValues.length != FIELD_COUNT) {
+      throw new IllegalArgumentException("Expected " + FIELD_COUNT + " raw values, got " + rawValues.length);
+    }
+    this.rawValues = rawValues;
+  }
+
+  /**
+   * Wraps an already materialized record; every field is available without conversion.
+   */
+  public static LazyTransactionRecord of(TransactionRecord transactionRecord) {
+    String[] rawValues = new String[FIELD_COUNT];
+    rawValues[Field.SERIAL_NUMBER.ordinal()] = String.valueOf(transactionRecord.serialNumber());
+    rawValues[Field.VALUE_DATE.ordinal()] = Objects.toString(transactionRecord.valueDate(), null);
+    rawValues[Field.TRANSACTION_DATE.ordinal()] = Objects.toString(transactionRecord.transactionDate(), null);
+    rawValues[Field.CHECK_NUMBER.ordinal()] = transactionRecord.checkNumber();
+    rawValues[Field.REMARKS.ordinal()] = transactionRecord.transactionRemarks();
+    rawValues[Field.WITHDRAWAL_AMOUNT.ordinal()] = Objects.toString(transactionRecord.withdrawalAmount(), null);
+    rawValues[Field.DEPOSIT_AMOUNT.ordinal()] = Objects.toString(transactionRecord.depositAmount(), null);
+    rawValues[Field.BALANCE.ordinal()] = Objects.toString(transactionRecord.balance(), null);
+
+    LazyTransactionRecord lazyRecord = new LazyTransactionRecord(rawValues);
+    lazyRecord.serialNumber = transactionRecord.serialNumber();
+    lazyRecord.valueDate = transactionRecord.valueDate();
+    lazyRecord.transactionDate = transactionRecord.transactionDate();
+    lazyRecord.withdrawalAmount = transactionRecord.withdrawalAmount();
+    lazyRecord.depositAmount = transactionRecord.depositAmount();
+    lazyRecord.balance = transactionRecord.balance();
+    lazyRecord.convertedFields = (1 << FIELD_COUNT) - 1;
+    return lazyRecord;
+  }
+
+  /**
+   * @return unconverted cell text of the field, {@code null} when the column is not configured
+   */
+  public String raw(Field field) {
+    return rawValues[field.ordinal()];
+  }
+
+  /**
+   * @return serial number, {@code 0} when it is missing or not an integer
+   */
+  public int serialNumber() {
+    if (markConverted(Field.SERIAL_NUMBER)) {
+      serialNumber = TransformTransactionRecord.toInteger(raw(Field.SERIAL_NUMBER));
+    }
+    return serialNumber == null ? 0 : serialNumber;
+  }
+
+  public LocalDate valueDate() {
+    if (markConverted(Field.VALUE_DATE)) {
+      valueDate = TransformTransactionRecord.toLocalDate(raw(Field.VALUE_DATE));
+    }
+    return valueDate;
+  }
+
+  public LocalDate transactionDate() {
+    if (markConverted(Field.TRANSACTION_DATE)) {
+      transactionDate = TransformTransactionRecord.toLocalDate(raw(Field.TRANSACTION_DATE));
+    }
+    return transactionDate;
+  }
+
+  public String checkNumber() {
+    return raw(Field.CHECK_NUMBER);
+  }
+
+  public String transactionRemarks() {
+    return raw(Field.REMARKS);
+  }
+
+  public BigDecimal withdrawalAmount() {
+    if (markConverted(Field.WITHDRAWAL_AMOUNT)) {
+      withdrawalAmount = TransformTransactionRecord.toBigDecimal(raw(Field.WITHDRAWAL_AMOUNT));
+    }
+    return withdrawalAmount;
+  }
+
+  public BigDecimal depositAmount() {
+    if (markConverted(Field.DEPOSIT_AMOUNT)) {
+      depositAmount = TransformTransactionRecord.toBigDecimal(raw(Field.DEPOSIT_AMOUNT));
+    }
+    return depositAmount;
+  }
+
+  public BigDecimal balance() {
+    if (markConverted(Field.BALANCE)) {
+      balance = TransformTransactionRecord.toBigDecimal(raw(Field.BALANCE));
+    }
+    return balance;
+  }
+
+  /**
+   * Converts every remaining field. The codes of fields with text that could not be converted are named in
+   * {@link TransactionRecord#error()}, as for eagerly parsed records.
+   */
+  public TransactionRecord toTransactionRecord() {
+    int errorMask = 0;
+    for (Field field : Field.VALUES) {
+      ConversionErrorCode code = conversionError(field);
+      if (code != null) {
+        errorMask |= code.mask();
+      }
+    }
+    return new TransactionRecord(serialNumber(), valueDate(), transactionDate(), checkNumber(), transactionRemarks(),
+      withdrawalAmount(), depositAmount(), balance(), ConversionErrorCode.describe(errorMask));
+  }
+
+  /**
+   * Converts the field if it was not yet.
+   *
+   * @return the code of the error converting the field's text, {@code null} when it converted or is blank
+   */
+  ConversionErrorCode conversionError(Field field) {
+    ConversionErrorCode code = switch (field) {
+      case SERIAL_NUMBER -> serialNumber() == 0 ? ConversionErrorCode.INVALID_INTEGER : null;
+      case VALUE_DATE -> valueDate() == null ? ConversionErrorCode.INVALID_DATE : null;
+      case TRANSACTION_DATE -> transactionDate() == null ? ConversionErrorCode.INVALID_DATE : null;
+      case WITHDRAWAL_AMOUNT -> withdrawalAmount() == null ? ConversionErrorCode.INVALID_AMOUNT : null;
+      case DEPOSIT_AMOUNT -> depositAmount() == null ? ConversionErrorCode.INVALID_AMOUNT : null;
+      case BALANCE -> balance() == null ? ConversionErrorCode.INVALID_AMOUNT : null;
+      case CHECK_NUMBER, REMARKS -> null;
+    };
+    return code != null && StringUtils.isNotBlank(raw(field)) ? code : null;
+  }
+
+  /**
+   * @return {@code true} when the field was not converted yet, marking it as converted
+   */
+  private boolean markConverted(Field field) {
+    int mask = 1 << field.ordinal();
+    if ((convertedFields & mask) != 0) {
+      return false;
+    }
+    convertedFields |= mask;
+    return true;
+  }
+}
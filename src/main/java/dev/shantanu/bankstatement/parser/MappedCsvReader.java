@@ -0,0 +1,227 @@
+package dev.shantanu.bankstatement.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lines of a CSV file read through memory-mapped windows of its {@link FileChannel}. A line is tokenized in place, only
+ * the offsets of its fields are kept; a field becomes a {@code String} when {@link #field(int)} asks for it. Fields
+ * follow RFC 4180: quoted fields may hold separators, line breaks and doubled quotes. Text is UTF-8, a leading byte
+ * order mark is skipped.
+ */
+final class MappedCsvReader implements Closeable {
+  static final long MAX_WINDOW_SIZE = 1L << 30;
+  private static final byte SEPARATOR = ',';
+  private static final byte QUOTE = '"';
+
+  private final FileChannel channel;
+  private final long fileSize;
+  private final long maxWindowSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private int position;
+  private int lineIndex = -1;
+  private int fieldCount;
+  private int[] fieldStarts = new int[16];
+  private int[] fieldEnds = new int[16];
+  private boolean[] quotedFields = new boolean[16];
+
+  MappedCsvReader(Path file) throws IOException {
+    this(file, MAX_WINDOW_SIZE);
+  }
+
+  /**
+   * @param maxWindowSize largest part of the file mapped at once, also the longest line that can be read
+   */
+  MappedCsvReader(Path file, long maxWindowSize) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      this.fileSize = channel.size();
+      this.maxWindowSize = Math.min(maxWindowSize, MAX_WINDOW_SIZE);
+      map(0);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    if (window.limit() >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB && window.get(2) == (byte) 0xBF) {
+      position = 3;
+    }
+  }
+
+  /**
+   * Moves to the next line. Its fields are valid until the next call.
+   *
+   * @return {@code false} at the end of the file
+   */
+  boolean nextLine() throws IOException {
+    while (true) {
+      if (position >= window.limit() && isLastWindow()) {
+        return false;
+      }
+      int lineEnd = tokenize(position);
+      if (lineEnd >= 0) {
+        position = lineEnd;
+        lineIndex++;
+        return true;
+      }
+      if (position == 0) {
+        throw new IOException("Line " + (lineIndex + 2) + " is longer than " + maxWindowSize + " bytes");
+      }
+      // The line runs past the window, map the next window from its start
+      map(windowStart + position);
+    }
+  }
+
+  /**
+   * @return 0-based index of the current line; a quoted line break doesn't start a new line
+   */
+  int lineIndex() {
+    return lineIndex;
+  }
+
+  /**
+   * Decodes one field of the current line.
+   *
+   * @return text of the field without its quotes and surrounding white space, {@code null} when the line has no such
+   * field
+   */
+  String field(int index) {
+    if (index >= fieldCount) {
+      return null;
+    }
+    int start = contentStart(index);
+    int end = contentEnd(index);
+    if (start == end) {
+      return "";
+    }
+    byte[] bytes = new byte[end - start];
+    window.get(start, bytes);
+    String value = new String(bytes, UTF_8);
+    return quotedFields[index] && value.indexOf(QUOTE) >= 0 ? value.replace("\"\"", "\"") : value;
+  }
+
+  /**
+   * Decodes every field of the current line.
+   */
+  List<String> fields() {
+    List<String> fields = new ArrayList<>(fieldCount);
+    for (int i = 0; i < fieldCount; i++) {
+      fields.add(field(i));
+    }
+    return fields;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void map(long start) throws IOException {
+    windowStart = start;
+    window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(maxWindowSize, fileSize - start));
+    position = 0;
+  }
+
+  private boolean isLastWindow() {
+    return windowStart + window.limit() >= fileSize;
+  }
+
+  /**
+   * Records the field offsets of the line starting at {@code from}.
+   *
+   * @return offset of the next line, {@code -1} when the line doesn't end in the window
+   */
+  private int tokenize(int from) {
+    boolean lastWindow = isLastWindow();
+    int limit = window.limit();
+    fieldCount = 0;
+    int fieldStart = from;
+    boolean quoted = false;
+    boolean inQuotes = false;
+    for (int i = from; i < limit; i++) {
+      byte b = window.get(i);
+      if (inQuotes) {
+        if (b == QUOTE) {
+          if (i + 1 < limit && window.get(i + 1) == QUOTE) {
+            i++;
+          } else if (i + 1 == limit && !lastWindow) {
+            return -1;
+          } else {
+            inQuotes = false;
+          }
+        }
+      } else if (b == QUOTE && i == fieldStart) {
+        inQuotes = true;
+        quoted = true;
+      } else if (b == SEPARATOR) {
+        addField(fieldStart, i, quoted);
+        fieldStart = i + 1;
+        quoted = false;
+      } else if (b == '\n') {
+        addField(fieldStart, i > fieldStart && window.get(i - 1) == '\r' ? i - 1 : i, quoted);
+        return i + 1;
+      }
+    }
+    if (!lastWindow) {
+      return -1;
+    }
+    // Last line without a line break
+    addField(fieldStart, limit, quoted);
+    return limit;
+  }
+
+  private void addField(int start, int end, boolean quoted) {
+    if (fieldCount == fieldStarts.length) {
+      fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+      fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+      quotedFields = Arrays.copyOf(quotedFields, fieldCount * 2);
+    }
+    fieldStarts[fieldCount] = start;
+    fieldEnds[fieldCount] = end;
+    quotedFields[fieldCount] = quoted;
+    fieldCount++;
+  }
+
+  private int contentStart(int index) {
+    int start = quotedFields[index] ? fieldStarts[index] + 1 : fieldStarts[index];
+    int end = contentEnd(index);
+    while (start < end && isWhitespace(window.get(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  /**
+   * @return end of the field text, before the closing quote of a quoted field and before trailing white space
+   */
+  private int contentEnd(int index) {
+    int start = quotedFields[index] ? fieldStarts[index] + 1 : fieldStarts[index];
+    int end = fieldEnds[index];
+    if (quotedFields[index]) {
+      int closingQuote = end - 1;
+      while (closingQuote >= start && window.get(closingQuote) != QUOTE) {
+        closingQuote--;
+      }
+      if (closingQuote >= start) {
+        end = closingQuote;
+      }
+    }
+    while (end > start && isWhitespace(window.get(end - 1))) {
+      end--;
+    }
+    return end;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t';
+  }
+}
@@ -0,0 +1,77 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits of a single file parse, past which it fails with
+ * {@link dev.shantanu.bankstatement.error.ErrorCode#BUDGET_EXCEEDED} instead of holding its worker. A limit of zero is
+ * no limit. Use {@link #unlimited()} or {@link #builder()}.
+ *
+ * @param timeLimit            wall-clock time from opening the file to the last row mapped
+ * @param maxRows              maximum number of rows, lines or merged regions scanned over every sheet or page
+ * @param maxDecompressedBytes maximum size of the file once decompressed, see {@link ParseCost#decompressedBytes()}
+ * @param maxHeapBytes         maximum heap the parse is estimated to need, see {@link ParseCost#heapBytes()}
+ */
+public record ParseBudget(Duration timeLimit, long maxRows, long maxDecompressedBytes, long maxHeapBytes) {
+  private static final ParseBudget UNLIMITED = builder().build();
+
+  public ParseBudget {
+    Objects.requireNonNull(timeLimit, "Time limit cannot be null");
+    if (timeLimit.isNegative()) {
+      throw new IllegalArgumentException("Time limit can't be negative, was " + timeLimit);
+    }
+    if (maxRows < 0 || maxDecompressedBytes < 0 || maxHeapBytes < 0) {
+      throw new IllegalArgumentException("Budget limits can't be negative");
+    }
+  }
+
+  public static ParseBudget unlimited() {
+    return UNLIMITED;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return whether {@link ParseCost} has to be estimated before the file is opened
+   */
+  boolean limitsCost() {
+    return maxDecompressedBytes > 0 || maxHeapBytes > 0;
+  }
+
+  public static final class Builder {
+    private Duration timeLimit = Duration.ZERO;
+    private long maxRows;
+    private long maxDecompressedBytes;
+    private long maxHeapBytes;
+
+    private Builder() {
+    }
+
+    public Builder timeLimit(Duration timeLimit) {
+      this.timeLimit = timeLimit;
+      return this;
+    }
+
+    public Builder maxRows(long maxRows) {
+      this.maxRows = maxRows;
+      return this;
+    }
+
+    public Builder maxDecompressedBytes(long maxDecompressedBytes) {
+      this.maxDecompressedBytes = maxDecompressedBytes;
+      return this;
+    }
+
+    public Builder maxHeapBytes(long maxHeapBytes) {
+      this.maxHeapBytes = maxHeapBytes;
+      return this;
+    }
+
+    public ParseBudget build() {
+      return new ParseBudget(timeLimit, maxRows, maxDecompressedBytes, maxHeapBytes);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import dev.shantanu.bankstatement.parser.model.StatementSummary;
+import java.util.Objects;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+/**
+ * Mutable state of a single transaction table parse. Created once per sheet and never shared between threads.
+ */
+final class ParseContext {
+  private final DataFormatter formatter = new DataFormatter();
+  private final Workbook workbook;
+  private final boolean evaluateFormulas;
+  private FormulaEvaluator evaluator;
+  private final StringDictionary dictionary;
+  private final SharedStringsTable sharedStrings;
+  private final String[] sharedStringValues;
+  private final StatementSummaryAggregator summaryAggregator;
+  private final ParseErrorLog errorLog;
+  private final BudgetTracker budget;
+  private int rowErrorMask;
+  private int rowErrorCount;
+
+  ParseContext(Sheet sheet, ParseOptions options, BudgetTracker budget) {
+    this(sheet.getWorkbook(), options, budget);
+  }
+
+  /**
+   * Context of a table read without a workbook, such as a CSV file; only its errors, summary and string dictionary are
+   * used.
+   */
+  ParseContext(ParseOptions options, BudgetTracker budget) {
+    this((Workbook) null, options, budget);
+  }
+
+  private ParseContext(Workbook workbook, ParseOptions options, BudgetTracker budget) {
+    this.workbook = workbook;
+    this.evaluateFormulas = options.formulaMode() == FormulaMode.EVALUATE;
+    // Without an evaluator the formatter reads formula cells from their stored result
+    this.formatter.setUseCachedValuesForFormulaCells(true);
+    this.dictionary = Objects.requireNonNullElseGet(options.stringDictionary(), StringDictionary::new);
+    // The version check keeps the XSSF classes from being loaded for .xls workbooks
+    this.sharedStrings = workbook != null && workbook.getSpreadsheetVersion() == SpreadsheetVersion.EXCEL2007
+      && workbook instanceof XSSFWorkbook xssfWorkbook ? xssfWorkbook.getSharedStringSource() : null;
+    this.sharedStringValues = sharedStrings == null ? null : new String[sharedStrings.getUniqueCount()];
+    this.summaryAggregator = options.computeSummary() ? new StatementSummaryAggregator() : null;
+    this.errorLog = new ParseErrorLog(options.errorSampleLimit());
+    this.budget = budget;
+  }
+
+  /**
+   * @return spending of the file parse this table belongs to
+   */
+  BudgetTracker budget() {
+    return budget;
+  }
+
+  /**
+   * Starts collecting the errors of the next row, see {@link #rowErrorMask()}.
+   */
+  void beginRow() {
+    rowErrorMask = 0;
+    rowErrorCount = 0;
+  }
+
+  /**
+   * @param rowIndex    0-based index of the row
+   * @param columnIndex 0-based index of the column, {@code -1} for errors concerning the whole row
+   */
+  void recordError(ConversionErrorCode code, int rowIndex, int columnIndex, String value) {
+    errorLog.record(code, rowIndex, columnIndex, value);
+    rowErrorMask |= code.mask();
+    rowErrorCount++;
+  }
+
+  /**
+   * @return {@link ConversionErrorCode#mask()} of every error recorded since {@link #beginRow()}
+   */
+  int rowErrorMask() {
+    return rowErrorMask;
+  }
+
+  int rowErrorCount() {
+    return rowErrorCount;
+  }
+
+  ParseErrorReport errorReport() {
+    return errorLog.report();
+  }
+
+  DataFormatter formatter() {
+    return formatter;
+  }
+
+  /**
+   * Created on first use, so that sheets without formulas never load the formula engine.
+   */
+  FormulaEvaluator evaluator() {
+    if (evaluator == null) {
+      evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+    }
+    return evaluator;
+  }
+
+  /**
+   * Feeds a mapped record to the summary, if one was requested.
+   */
+  void aggregate(TransactionRecord transactionRecord) {
+    if (summaryAggregator != null) {
+      summaryAggregator.accept(transactionRecord);
+    }
+  }
+
+  /**
+   * @return summary of the records passed to {@link #aggregate}, {@code null} when no summary was requested
+   */
+  StatementSummary summary() {
+    return summaryAggregator == null ? null : summaryAggregator.summary();
+  }
+
+  String formatCellValue(Cell cell) {
+    if (cell == null) {
+      return "";
+    }
+    return evaluateFormulas && cell.getCellType() == CellType.FORMULA
+      ? formatter.formatCellValue(cell, evaluator())
+      : formatter.formatCellValue(cell);
+  }
+
+  /**
+   * Text of a header or search criteria field, read as {@link ParserUtils#getStringValueOf} reads it with the formula
+   * cells of {@link FormulaMode#EVALUATE} evaluated.
+   */
+  String fieldCellValue(Cell cell) {
+    return ParserUtils.getStringValueOf(cell, evaluateFormulas ? evaluator() : null);
+  }
+
+  /**
+   * Cell text canonicalized through the {@link StringDictionary}. For XLSX string cells the shared-strings table index
+   * stored in the cell is resolved once per parse, so repeating values are neither re-formatted nor re-hashed.
+   */
+  String dictionaryCellValue(Cell cell) {
+    if (sharedStringValues != null && cell instanceof XSSFCell xssfCell && xssfCell.getCellType() == CellType.STRING) {
+      CTCell ctCell = xssfCell.getCTCell();
+      if (ctCell.getT() == STCellType.S && ctCell.isSetV()) {
+        int index = Integer.parseInt(ctCell.getV());
+        if (index >= 0 && index < sharedStringValues.length) {
+          String value = sharedStringValues[index];
+          if (value == null) {
+            value = dictionary.intern(sharedStrings.getItemAt(index).getString());
+            sharedStringValues[index] = value;
+          }
+          return value;
+        }
+      }
+    }
+    return dictionary.intern(formatCellValue(cell));
+  }
+
+  /**
+   * @return the canonical instance of the text from the {@link StringDictionary}
+   */
+  String intern(String value) {
+    return dictionary.intern(value);
+  }
+}
@@ -0,0 +1,76 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+/**
+ * Rough cost of parsing a file, estimated from its size and, for .xlsx packages, the sizes listed in their zip
+ * directory, without inflating anything.
+ *
+ * @param decompressedBytes size of the file once decompressed: the sum of the uncompressed sizes of the entries of an
+ *                          .xlsx package, the file size for other formats
+ * @param heapBytes         heap the parse is expected to need, higher for workbooks loaded whole than for files read
+ *                          one row at a time, and counting every copy of a loaded file its parse threads open, see
+ *                          {@link ParseOptions#sheetParallelism()}
+ */
+public record ParseCost(long decompressedBytes, long heapBytes) {
+  // Heap per decompressed byte of a workbook held in memory as cell objects or a PDF held as parsed pages
+  private static final int LOADED_HEAP_FACTOR = 4;
+  // Heap per decompressed byte of a file whose rows are read one at a time, mostly the records kept
+  private static final int STREAMED_HEAP_FACTOR = 1;
+  // An encrypted package can't be listed before it is decrypted; assume the usual compression of .xlsx files
+  private static final int ENCRYPTED_PACKAGE_RATIO = 10;
+
+  /**
+   * @param parseOptions options the file is parsed with, deciding whether an .xlsx file is loaded or streamed
+   */
+  public static ParseCost estimate(File file, ParseOptions parseOptions) throws IOException {
+    long fileBytes = file.length();
+    FileMagic fileMagic = FileMagic.valueOf(file);
+    boolean encryptedPackage = fileMagic == FileMagic.OLE2 && EncryptedWorkbooks.isEncryptedPackage(file);
+    long decompressedBytes;
+    if (fileMagic == FileMagic.OOXML) {
+      decompressedBytes = zipEntriesSize(file);
+    } else if (encryptedPackage) {
+      decompressedBytes = fileBytes * ENCRYPTED_PACKAGE_RATIO;
+    } else {
+      decompressedBytes = fileBytes;
+    }
+    long threshold = parseOptions.largeFileThreshold();
+    boolean streamed = (fileMagic == FileMagic.OOXML || encryptedPackage) && threshold > 0 && fileBytes >= threshold
+      || fileMagic != FileMagic.OOXML && fileMagic != FileMagic.OLE2 && fileMagic != FileMagic.PDF;
+    if (streamed) {
+      return new ParseCost(decompressedBytes, decompressedBytes * STREAMED_HEAP_FACTOR);
+    }
+    return new ParseCost(decompressedBytes, decompressedBytes * LOADED_HEAP_FACTOR * loadedCopies(fileMagic, parseOptions));
+  }
+
+  /**
+   * A workbook's calling thread parses its first sheets in the workbook it opened, each other thread loads a copy; a
+   * PDF's calling thread only counts its pages while every thread loads a copy.
+   */
+  private static int loadedCopies(FileMagic fileMagic, ParseOptions parseOptions) {
+    int threads = parseOptions.sheetParallelism();
+    return fileMagic == FileMagic.PDF && threads > 1 ? threads + 1 : threads;
+  }
+
+  /**
+   * Entries of unknown size count as the file size, the listed sizes of a zip bomb are caught by POI's minimum inflate
+   * ratio once the entry is read.
+   */
+  private static long zipEntriesSize(File file) throws IOException {
+    long size = 0;
+    try (ZipFile zipFile = new ZipFile(file)) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        long entrySize = entries.nextElement().getSize();
+        size += entrySize < 0 ? file.length() : entrySize;
+      }
+    }
+    return size;
+  }
+}
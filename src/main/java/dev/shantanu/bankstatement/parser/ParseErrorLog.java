@@ -0,0 +1,64 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import dev.shantanu.bankstatement.error.ParseError;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the conversion errors of one parse. Every error is counted; at most {@code sampleLimit} of them are kept as
+ * {@link ParseError} entries, chosen by reservoir sampling so error-heavy files get a sample spread over the whole
+ * sheet. Recording an error that is not sampled allocates nothing.
+ */
+final class ParseErrorLog {
+  private static final ConversionErrorCode[] CODES = ConversionErrorCode.values();
+
+  private final int sampleLimit;
+  private final int[] counts = new int[CODES.length];
+  private final List<ParseError> samples = new ArrayList<>();
+  private long errorsSeen;
+  private long randomState = 0x9E3779B97F4A7C15L;
+
+  ParseErrorLog(int sampleLimit) {
+    this.sampleLimit = sampleLimit;
+  }
+
+  void record(ConversionErrorCode code, int rowIndex, int columnIndex, String value) {
+    counts[code.ordinal()]++;
+    long seen = errorsSeen++;
+    if (seen < sampleLimit) {
+      samples.add(new ParseError(code, rowIndex + 1, columnIndex, value));
+    } else if (sampleLimit > 0) {
+      long slot = Math.floorMod(nextRandom(), seen + 1);
+      if (slot < sampleLimit) {
+        samples.set((int) slot, new ParseError(code, rowIndex + 1, columnIndex, value));
+      }
+    }
+  }
+
+  ParseErrorReport report() {
+    if (errorsSeen == 0) {
+      return ParseErrorReport.EMPTY;
+    }
+    Map<ConversionErrorCode, Integer> countsByCode = new EnumMap<>(ConversionErrorCode.class);
+    for (ConversionErrorCode code : CODES) {
+      if (counts[code.ordinal()] > 0) {
+        countsByCode.put(code, counts[code.ordinal()]);
+      }
+    }
+    return new ParseErrorReport(countsByCode, samples);
+  }
+
+  /**
+   * xorshift64, deterministic so repeated parses of a file report the same sample.
+   */
+  private long nextRandom() {
+    randomState ^= randomState << 13;
+    randomState ^= randomState >>> 7;
+    randomState ^= randomState << 17;
+    return randomState;
+  }
+}
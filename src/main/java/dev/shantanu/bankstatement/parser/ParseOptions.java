@@ -0,0 +1,119 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.util.Objects;
+
+/**
+ * Caller tunable behaviour of a parse. Use {@link #defaults()} or {@link #builder()}.
+ *
+ * @param stringDictionary   dictionary shared by every parse using these options, or {@code null} to use a fresh
+ *                           dictionary per parse
+ * @param computeSummary     whether to compute a {@link dev.shantanu.bankstatement.parser.model.StatementSummary} while
+ *                           the rows are mapped
+ * @param sheetParallelism   maximum number of worksheet ranges of one workbook, or page ranges of one PDF, parsed
+ *                           concurrently, {@code 1} by default. Each thread loads its own copy of the file, so the heap
+ *                           estimated by {@link ParseCost} grows with it
+ * @param errorSampleLimit   maximum number of individual conversion errors kept per worksheet, all errors are counted
+ * @param layoutCache        cache of sheet layouts shared by every parse using these options, or {@code null} to search
+ *                           every sheet for its sections
+ * @param formulaMode        how formula cells of the transaction table and fields are read, {@link FormulaMode#CACHED} by default
+ * @param largeFileThreshold size in bytes from which .xlsx files are streamed with their shared strings in a temp file
+ *                           instead of loaded as a workbook, {@code 0} to always load the workbook
+ * @param budget             limits of each file parse, {@link ParseBudget#unlimited()} by default
+ * @param estimatedCost      cost of the one file parsed with these options, already estimated by the caller, see
+ *                           {@link #withEstimatedCost}; {@code null} to estimate it when the budget limits the cost
+ */
+public record ParseOptions(StringDictionary stringDictionary, boolean computeSummary, int sheetParallelism,
+                           int errorSampleLimit, LayoutCache layoutCache, FormulaMode formulaMode,
+                           long largeFileThreshold, ParseBudget budget, ParseCost estimatedCost) {
+  private static final ParseOptions DEFAULTS = builder().build();
+
+  public ParseOptions {
+    if (sheetParallelism < 1) {
+      throw new IllegalArgumentException("Sheet parallelism must be at least 1, was " + sheetParallelism);
+    }
+    if (errorSampleLimit < 0) {
+      throw new IllegalArgumentException("Error sample limit can't be negative, was " + errorSampleLimit);
+    }
+    Objects.requireNonNull(formulaMode, "Formula mode cannot be null");
+    if (largeFileThreshold < 0) {
+      throw new IllegalArgumentException("Large file threshold can't be negative, was " + largeFileThreshold);
+    }
+    Objects.requireNonNull(budget, "Parse budget cannot be null");
+  }
+
+  public static ParseOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * @param estimatedCost cost of the file about to be parsed, as {@link ParseCost#estimate} gave it with these options
+   * @return these options for that file only, so that its parse doesn't list the file again to check its budget
+   */
+  public ParseOptions withEstimatedCost(ParseCost estimatedCost) {
+    return new ParseOptions(stringDictionary, computeSummary, sheetParallelism, errorSampleLimit, layoutCache,
+      formulaMode, largeFileThreshold, budget, estimatedCost);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static final class Builder {
+    private StringDictionary stringDictionary;
+    private boolean computeSummary;
+    private int sheetParallelism = 1;
+    private int errorSampleLimit = 100;
+    private LayoutCache layoutCache;
+    private FormulaMode formulaMode = FormulaMode.CACHED;
+    private long largeFileThreshold;
+    private ParseBudget budget = ParseBudget.unlimited();
+
+    private Builder() {
+    }
+
+    public Builder sharedStringDictionary(StringDictionary stringDictionary) {
+      this.stringDictionary = stringDictionary;
+      return this;
+    }
+
+    public Builder computeSummary(boolean computeSummary) {
+      this.computeSummary = computeSummary;
+      return this;
+    }
+
+    public Builder sheetParallelism(int sheetParallelism) {
+      this.sheetParallelism = sheetParallelism;
+      return this;
+    }
+
+    public Builder errorSampleLimit(int errorSampleLimit) {
+      this.errorSampleLimit = errorSampleLimit;
+      return this;
+    }
+
+    public Builder layoutCache(LayoutCache layoutCache) {
+      this.layoutCache = layoutCache;
+      return this;
+    }
+
+    public Builder formulaMode(FormulaMode formulaMode) {
+      this.formulaMode = formulaMode;
+      return this;
+    }
+
+    public Builder largeFileThreshold(long largeFileThreshold) {
+      this.largeFileThreshold = largeFileThreshold;
+      return this;
+    }
+
+    public Builder budget(ParseBudget budget) {
+      this.budget = budget;
+      return this;
+    }
+
+    public ParseOptions build() {
+      return new ParseOptions(stringDictionary, computeSummary, sheetParallelism, errorSampleLimit, layoutCache,
+        formulaMode, largeFileThreshold, budget, null);
+    }
+  }
+}
@@ -5,22 +5,44 @@ import java.util.Iterator;
 import java.util.List;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
 public record ParserUtils() {
+  /**
+   * Text of the cell as the sections are searched for it; formula cells give their stored result, see
+   * {@link FormulaMode#CACHED}.
+   */
   static String getStringValueOf(Cell cell) {
-    FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
-    DataFormatter formatter = new DataFormatter();
-    final CellType cellType = cell.getCellType();
+    final CellType cellType = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
     return switch (cellType) {
-      case BLANK, _NONE, ERROR -> "";
+      case BLANK, _NONE, ERROR, FORMULA -> "";
       case STRING -> cell.getStringCellValue();
       case BOOLEAN -> cell.getBooleanCellValue() ? "true" : "false";
-      case NUMERIC -> formatter.formatCellValue(cell);
-      case FORMULA -> evaluator.evaluate(cell).formatAsString();
+      case NUMERIC -> {
+        DataFormatter formatter = new DataFormatter();
+        formatter.setUseCachedValuesForFormulaCells(true);
+        yield formatter.formatCellValue(cell);
+      }
+    };
+  }
+
+  /**
+   * @param evaluator evaluates formula cells, {@code null} to read their stored result as {@link #getStringValueOf(Cell)}
+   */
+  static String getStringValueOf(Cell cell, FormulaEvaluator evaluator) {
+    if (evaluator == null || cell.getCellType() != CellType.FORMULA) {
+      return getStringValueOf(cell);
+    }
+    CellValue cellValue = evaluator.evaluate(cell);
+    return switch (cellValue.getCellType()) {
+      case STRING -> cellValue.getStringValue();
+      case BOOLEAN -> cellValue.getBooleanValue() ? "true" : "false";
+      case NUMERIC -> new DataFormatter().formatCellValue(cell, evaluator);
+      default -> "";
     };
   }
 
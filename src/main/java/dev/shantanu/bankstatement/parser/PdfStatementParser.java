@@ -0,0 +1,253 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.ColumnField;
+import dev.shantanu.bankstatement.config.StatementConfiguration;
+import dev.shantanu.bankstatement.config.TransactionTableConfig;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parser for statements sent as PDF, driven by the same configuration sections as {@link ExcelSearchStatementParser}.
+ * The pages are split into one range per thread of {@link ParseOptions#sheetParallelism()}; each thread opens its own
+ * document and rebuilds its pages into rows of positioned text, see {@link PdfTextRows}. The rows are then mapped in
+ * page order: the first transactions header row gives the columns, each later row's cells are placed under the header
+ * cell they overlap, header rows repeated on later pages are skipped, and a row holding only text columns right below
+ * a transaction continues its wrapped remarks.
+ */
+final class PdfStatementParser implements AccountStatementParser {
+  private static final Logger logger = LoggerFactory.getLogger(PdfStatementParser.class);
+  private final File statementFile;
+  private final StatementConfiguration statementConfiguration;
+  private final ParseOptions parseOptions;
+  private final StatementPasswordProvider passwordProvider;
+  private final TransformTransactionRecord transformTransactionRecord = new TransformTransactionRecord();
+  private String password;
+
+  PdfStatementParser(File statementFile, StatementConfiguration statementConfiguration, ParseOptions parseOptions,
+                     StatementPasswordProvider passwordProvider) {
+    this.statementFile = statementFile;
+    this.statementConfiguration = statementConfiguration;
+    this.parseOptions = parseOptions;
+    this.passwordProvider = passwordProvider;
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation() {
+    return getTransactionInformation(TransactionQuery.ALL);
+  }
+
+  @Override
+  public AccountStatement getTransactionInformation(TransactionQuery query) {
+    BudgetTracker budget = BudgetTracker.start(statementFile, parseOptions);
+    try {
+      return parse(readRows(budget), query, budget);
+    } catch (IOException e) {
+      logger.error("Could not read file = {}. Error message = {}", statementFile.getName(), e.getMessage());
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read the PDF file " + statementFile.getName(), e);
+    }
+  }
+
+  private AccountStatement parse(List<PdfTextRows.TextRow> rows, TransactionQuery query, BudgetTracker budget) {
+    TextSections sections = new TextSections(statementConfiguration);
+    TransactionTableConfig transactionTableConfig = sections.transactionTableConfig(transformTransactionRecord);
+
+    int headerRowIndex = 0;
+    while (headerRowIndex < rows.size() && !transformTransactionRecord.isTransactionHeader(rows.get(headerRowIndex).texts(), transactionTableConfig)) {
+      headerRowIndex++;
+    }
+    if (headerRowIndex == rows.size()) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not find transactions in the input file", new IllegalStateException());
+    }
+    List<PdfTextRows.TextCell> headerCells = rows.get(headerRowIndex).cells();
+    Map<ColumnField, Integer> columns = transformTransactionRecord.mapTransactionColumns(rows.get(headerRowIndex).texts(), transactionTableConfig);
+
+    ParseContext context = new ParseContext(parseOptions, budget);
+    TextTableMapper tableMapper = new TextTableMapper(transactionTableConfig, columns, context, query);
+    String[] pending = null;
+    PdfTextRows.TextRow pendingRow = null;
+    int pendingIndex = -1;
+    boolean inTable = true;
+    for (int i = headerRowIndex + 1; i < rows.size() && inTable; i++) {
+      PdfTextRows.TextRow row = rows.get(i);
+      if (transformTransactionRecord.isTransactionHeader(row.texts(), transactionTableConfig)) {
+        continue;
+      }
+      String[] cells = alignToHeader(row, headerCells);
+      if (pending != null && isContinuation(row, cells, pendingRow, tableMapper)) {
+        for (int c = 0; c < cells.length; c++) {
+          if (StringUtils.isNotBlank(cells[c])) {
+            pending[c] = StringUtils.isBlank(pending[c]) ? cells[c] : pending[c] + " " + cells[c];
+          }
+        }
+        continue;
+      }
+      if (pending != null) {
+        inTable = acceptRow(tableMapper, pending, pendingIndex);
+      }
+      pending = cells;
+      pendingRow = row;
+      pendingIndex = i;
+    }
+    if (inTable && pending != null) {
+      acceptRow(tableMapper, pending, pendingIndex);
+    }
+    logger.debug("Parsed {} transactions from {} text rows", tableMapper.transactionRecords().size(), rows.size());
+
+    return new AccountStatement(sections.readTransactionInfo(rows.subList(0, headerRowIndex + 1).stream().map(PdfTextRows.TextRow::texts).toList()),
+      tableMapper.transactionRecords(), context.summary(), context.errorReport());
+  }
+
+  private static boolean acceptRow(TextTableMapper tableMapper, String[] cells, int rowIndex) {
+    return tableMapper.accept(columnIndex -> columnIndex < cells.length ? cells[columnIndex] : null, rowIndex);
+  }
+
+  /**
+   * A wrapped line of a transaction: right below it on the same page and with text only in {@code String} columns.
+   */
+  private static boolean isContinuation(PdfTextRows.TextRow row, String[] cells, PdfTextRows.TextRow previousRow,
+                                        TextTableMapper tableMapper) {
+    float distance = row.y() - previousRow.y();
+    if (row.page() != previousRow.page() || distance <= 0 || distance > 2 * Math.max(row.height(), previousRow.height())) {
+      return false;
+    }
+    boolean hasText = false;
+    for (int c = 0; c < cells.length; c++) {
+      if (StringUtils.isNotBlank(cells[c])) {
+        if (!tableMapper.isTextColumn(c)) {
+          return false;
+        }
+        hasText = true;
+      }
+    }
+    return hasText;
+  }
+
+  /**
+   * Places each cell under the header cell it overlaps most, or under the nearest one.
+   *
+   * @return text per header column, {@code ""} for columns without a cell
+   */
+  private static String[] alignToHeader(PdfTextRows.TextRow row, List<PdfTextRows.TextCell> headerCells) {
+    String[] cells = new String[headerCells.size()];
+    Arrays.fill(cells, "");
+    for (PdfTextRows.TextCell cell : row.cells()) {
+      int column = 0;
+      float bestOverlap = Float.NEGATIVE_INFINITY;
+      for (int c = 0; c < headerCells.size(); c++) {
+        PdfTextRows.TextCell header = headerCells.get(c);
+        // Negative when apart: minus the gap between the cell and the header
+        float overlap = Math.min(cell.endX(), header.endX()) - Math.max(cell.startX(), header.startX());
+        if (overlap > bestOverlap) {
+          bestOverlap = overlap;
+          column = c;
+        }
+      }
+      cells[column] = cells[column].isEmpty() ? cell.text() : cells[column] + " " + cell.text();
+    }
+    return cells;
+  }
+
+  /**
+   * Reads the text rows of every page, each range of pages on its own thread and document, in page order.
+   */
+  private List<PdfTextRows.TextRow> readRows(BudgetTracker budget) throws IOException {
+    int pageCount;
+    List<List<PdfTextRows.TextRow>> pages;
+    try (PDDocument document = load()) {
+      pageCount = document.getNumberOfPages();
+      if (pageCount == 0) {
+        throw new AccountStatementException(ErrorCode.EMPTY_FILE, "No page found in the input file = " + statementFile, new IllegalStateException());
+      }
+      int threads = Math.min(pageCount, parseOptions.sheetParallelism());
+      if (threads <= 1) {
+        pages = PdfTextRows.read(document, 1, pageCount, budget);
+      } else {
+        pages = readPagesConcurrently(pageCount, threads, budget);
+      }
+    }
+    logger.debug("Read {} pages of {}", pageCount, statementFile.getName());
+    return pages.stream().flatMap(List::stream).toList();
+  }
+
+  private List<List<PdfTextRows.TextRow>> readPagesConcurrently(int pageCount, int threads, BudgetTracker budget)
+    throws IOException {
+    int pagesPerThread = (pageCount + threads - 1) / threads;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<List<List<PdfTextRows.TextRow>>>> futures = new ArrayList<>(threads);
+      for (int firstPage = 1; firstPage <= pageCount; firstPage += pagesPerThread) {
+        int first = firstPage;
+        int last = Math.min(pageCount, firstPage + pagesPerThread - 1);
+        futures.add(executor.submit(() -> {
+          try (PDDocument document = load()) {
+            return PdfTextRows.read(document, first, last, budget);
+          }
+        }));
+      }
+      List<List<PdfTextRows.TextRow>> pages = new ArrayList<>(pageCount);
+      for (Future<List<List<PdfTextRows.TextRow>>> future : futures) {
+        pages.addAll(getPagesResult(future));
+      }
+      return pages;
+    }
+  }
+
+  private static List<List<PdfTextRows.TextRow>> getPagesResult(Future<List<List<PdfTextRows.TextRow>>> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Interrupted while reading pages", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof AccountStatementException accountStatementException) {
+        throw accountStatementException;
+      }
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not read pages", e.getCause());
+    }
+  }
+
+  /**
+   * Opens the document, trying the provider's passwords once it turns out to be encrypted. The password that opened
+   * it is kept for the documents opened by the page threads.
+   */
+  private PDDocument load() throws IOException {
+    if (password != null) {
+      return Loader.loadPDF(statementFile, password);
+    }
+    try {
+      PDDocument document = Loader.loadPDF(statementFile);
+      password = "";
+      return document;
+    } catch (InvalidPasswordException e) {
+      for (String candidate : passwordProvider.passwords(statementFile)) {
+        try {
+          PDDocument document = Loader.loadPDF(statementFile, candidate);
+          password = candidate;
+          return document;
+        } catch (InvalidPasswordException _) {
+          // try the next password
+        }
+      }
+      throw EncryptedWorkbooks.passwordRequired(statementFile, e);
+    }
+  }
+}
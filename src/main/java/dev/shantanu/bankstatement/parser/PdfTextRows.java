@@ -0,0 +1,125 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+/**
+ * Text of a range of PDF pages rebuilt into rows of cells from the position of each word: words on the same line form
+ * a row, and words closer than a few space widths form one cell. The page text itself is discarded.
+ */
+final class PdfTextRows extends PDFTextStripper {
+  private static final float CELL_GAP_SPACES = 2.5f;
+
+  /**
+   * A run of words with its horizontal extent on the page.
+   */
+  record TextCell(String text, float startX, float endX) {
+  }
+
+  /**
+   * The cells of one line of a page, left to right.
+   *
+   * @param page   1-based number of the page
+   * @param y      distance of the line from the top of the page
+   * @param height height of the line's text
+   */
+  record TextRow(List<TextCell> cells, int page, float y, float height) {
+    List<String> texts() {
+      return cells.stream().map(TextCell::text).toList();
+    }
+  }
+
+  private final BudgetTracker budget;
+  private final List<List<TextRow>> pages = new ArrayList<>();
+  private List<TextRow> pageRows = new ArrayList<>();
+  private List<TextCell> rowCells;
+  private float rowY;
+  private float rowHeight;
+  private StringBuilder cellText;
+  private float cellStartX;
+  private float cellEndX;
+
+  private PdfTextRows(BudgetTracker budget) throws IOException {
+    this.budget = budget;
+    setSortByPosition(true);
+  }
+
+  /**
+   * @param firstPage 1-based number of the first page to read
+   * @param lastPage  1-based number of the last page to read
+   * @param budget    budget whose deadline is checked before each page, rows are counted once mapped
+   * @return rows of each page, in page order
+   */
+  static List<List<TextRow>> read(PDDocument document, int firstPage, int lastPage, BudgetTracker budget) throws IOException {
+    PdfTextRows textRows = new PdfTextRows(budget);
+    textRows.setStartPage(firstPage);
+    textRows.setEndPage(lastPage);
+    textRows.writeText(document, Writer.nullWriter());
+    return textRows.pages;
+  }
+
+  @Override
+  protected void startPage(PDPage page) {
+    budget.checkDeadline();
+    pageRows = new ArrayList<>();
+    rowCells = null;
+  }
+
+  @Override
+  protected void writeString(String text, List<TextPosition> textPositions) {
+    if (textPositions.isEmpty() || text.isBlank()) {
+      return;
+    }
+    TextPosition first = textPositions.getFirst();
+    TextPosition last = textPositions.getLast();
+    float y = first.getYDirAdj();
+    float height = Math.max(first.getHeightDir(), 1f);
+    float startX = first.getXDirAdj();
+    float endX = last.getXDirAdj() + last.getWidthDirAdj();
+    if (rowCells == null || Math.abs(y - rowY) > height / 2) {
+      endRow();
+      rowCells = new ArrayList<>();
+      rowY = y;
+      rowHeight = height;
+    }
+    float spaceWidth = first.getWidthOfSpace() > 0 ? first.getWidthOfSpace() : first.getWidthDirAdj();
+    if (cellText != null && startX - cellEndX <= spaceWidth * CELL_GAP_SPACES) {
+      cellText.append(' ').append(text.strip());
+      cellEndX = endX;
+    } else {
+      endCell();
+      cellText = new StringBuilder(text.strip());
+      cellStartX = startX;
+      cellEndX = endX;
+    }
+  }
+
+  @Override
+  protected void endPage(PDPage page) {
+    endRow();
+    pages.add(pageRows);
+  }
+
+  private void endRow() {
+    endCell();
+    if (rowCells != null && !rowCells.isEmpty()) {
+      rowCells.sort(Comparator.comparingDouble(TextCell::startX));
+      pageRows.add(new TextRow(List.copyOf(rowCells), getCurrentPageNo(), rowY, rowHeight));
+    }
+    rowCells = null;
+  }
+
+  private void endCell() {
+    if (cellText != null) {
+      rowCells.add(new TextCell(cellText.toString(), cellStartX, cellEndX));
+      cellText = null;
+    }
+  }
+}
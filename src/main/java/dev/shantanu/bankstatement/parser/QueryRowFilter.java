@@ -0,0 +1,91 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.ColumnField;
+import java.time.LocalDate;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Evaluates a {@link TransactionQuery} on the raw cells of a transaction row, so rows outside the query are dropped
+ * before they are converted into a {@link TransactionRecord}. Predicates on columns missing from the sheet can't be
+ * evaluated on the row and are checked on the built record instead.
+ */
+final class QueryRowFilter {
+  private static final int NOT_MAPPED = -1;
+
+  private final TransactionQuery query;
+  private final int transactionDateColumn;
+  private final int withdrawalColumn;
+  private final int depositColumn;
+  private final int remarksColumn;
+  private final boolean needsRecordCheck;
+  private Row lastRow;
+  private LocalDate lastTransactionDate;
+
+  QueryRowFilter(TransactionQuery query, Map<ColumnField, Integer> columnMap) {
+    this.query = query;
+    this.transactionDateColumn = columnIndex(columnMap, LazyTransactionRecord.Field.TRANSACTION_DATE);
+    this.withdrawalColumn = columnIndex(columnMap, LazyTransactionRecord.Field.WITHDRAWAL_AMOUNT);
+    this.depositColumn = columnIndex(columnMap, LazyTransactionRecord.Field.DEPOSIT_AMOUNT);
+    this.remarksColumn = columnIndex(columnMap, LazyTransactionRecord.Field.REMARKS);
+    this.needsRecordCheck = (query.hasDateRange() && transactionDateColumn == NOT_MAPPED)
+      || (query.hasAmountRange() && (withdrawalColumn == NOT_MAPPED || depositColumn == NOT_MAPPED))
+      || (query.hasRemarksFilter() && remarksColumn == NOT_MAPPED);
+  }
+
+  /**
+   * @return {@code true} once a row is dated after the query's upper bound; later rows can't match either
+   */
+  boolean isPastDateRange(Row row, ParseContext context) {
+    if (row == null || query.transactionDateTo() == null || transactionDateColumn == NOT_MAPPED) {
+      return false;
+    }
+    return query.isAfterDateRange(transactionDate(row, context));
+  }
+
+  boolean matches(Row row, ParseContext context) {
+    if (row == null) {
+      return false;
+    }
+    if (query.isUnrestricted()) {
+      return true;
+    }
+    if (query.hasDateRange() && transactionDateColumn != NOT_MAPPED
+      && !query.matchesDate(transactionDate(row, context))) {
+      return false;
+    }
+    if (query.hasAmountRange() && withdrawalColumn != NOT_MAPPED && depositColumn != NOT_MAPPED
+      && !query.matchesAmount(
+      TransformTransactionRecord.toBigDecimal(context.formatCellValue(row.getCell(withdrawalColumn))),
+      TransformTransactionRecord.toBigDecimal(context.formatCellValue(row.getCell(depositColumn))))) {
+      return false;
+    }
+    return !query.hasRemarksFilter() || remarksColumn == NOT_MAPPED
+      || query.matchesRemarks(context.dictionaryCellValue(row.getCell(remarksColumn)));
+  }
+
+  boolean matches(TransactionRecord transactionRecord) {
+    return !needsRecordCheck || query.matches(transactionRecord);
+  }
+
+  /**
+   * The upper bound check and the date predicate look at the same row one after the other, parse its date once.
+   */
+  private LocalDate transactionDate(Row row, ParseContext context) {
+    if (row != lastRow) {
+      lastRow = row;
+      lastTransactionDate = TransformTransactionRecord.toLocalDate(context.formatCellValue(row.getCell(transactionDateColumn)));
+    }
+    return lastTransactionDate;
+  }
+
+  private static int columnIndex(Map<ColumnField, Integer> columnMap, LazyTransactionRecord.Field field) {
+    for (Map.Entry<ColumnField, Integer> entry : columnMap.entrySet()) {
+      if (LazyTransactionRecord.Field.forMappedTo(entry.getKey().mappedTo()) == field && entry.getValue() != null) {
+        return entry.getValue() < 0 ? NOT_MAPPED : entry.getValue();
+      }
+    }
+    return NOT_MAPPED;
+  }
+}
@@ -0,0 +1,34 @@
+package dev.shantanu.bankstatement.parser;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Rows of a worksheet asked for by ascending index. A loaded {@link Sheet} is one; a streamed sheet reads its rows from
+ * the file as they are asked for, see {@link StreamingXlsxWorkbook.SheetStream#tableRows()}.
+ */
+interface RowSource {
+  /**
+   * @return the row, {@code null} when the sheet has no row at this index
+   */
+  Row getRow(int rowIndex);
+
+  /**
+   * @return index of the last row; for a streamed sheet only known once its end is read
+   */
+  int getLastRowNum();
+
+  static RowSource of(Sheet sheet) {
+    return new RowSource() {
+      @Override
+      public Row getRow(int rowIndex) {
+        return sheet.getRow(rowIndex);
+      }
+
+      @Override
+      public int getLastRowNum() {
+        return sheet.getLastRowNum();
+      }
+    };
+  }
+}
@@ -0,0 +1,109 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.config.ColumnField;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+
+/**
+ * Where the sections of a statement sheet were found: the header title cell, the label and value column of every
+ * field, the transactions header row and the column of every {@link ColumnField}. Discovering a layout searches the
+ * sheet; once known it is reused through the {@link LayoutCache} for sheets with the same {@link LayoutSignature}.
+ *
+ * @param titleCell      cell of the header title, {@code null} when not found
+ * @param fields         field locations keyed by {@code <section id>/<field name>}
+ * @param tableHeaderRow 0-based index of the transactions header row
+ * @param columns        column index of every configured column field, {@code -1} when not found
+ * @param anchors        normalized text of every cell the layout was derived from, see {@link #matches(Sheet)}
+ */
+record SheetLayout(CellAddress titleCell, Map<String, FieldLocation> fields, int tableHeaderRow,
+                   Map<ColumnField, Integer> columns, Map<CellAddress, String> anchors) {
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /**
+   * @param label       cell holding the field label
+   * @param valueColumn column of the field value in the label's row
+   */
+  record FieldLocation(CellAddress label, int valueColumn) {
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Verifies that every anchor cell still holds the text it had when the layout was discovered. This is a handful of
+   * cell reads, much cheaper than searching the sheet again.
+   */
+  boolean matches(Sheet sheet) {
+    for (Map.Entry<CellAddress, String> anchor : anchors.entrySet()) {
+      Row row = sheet.getRow(anchor.getKey().getRow());
+      Cell cell = row == null ? null : row.getCell(anchor.getKey().getColumn());
+      if (!anchor.getValue().equals(anchorText(cell))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  boolean hasTable() {
+    return tableHeaderRow >= 0 && columns.values().stream().anyMatch(columnIndex -> columnIndex >= 0);
+  }
+
+  /**
+   * Lower case text with whitespace runs collapsed, as compared when matching header names.
+   */
+  static String normalize(String value) {
+    return value == null ? "" : WHITESPACE.matcher(value.trim().toLowerCase()).replaceAll(" ");
+  }
+
+  private static String anchorText(Cell cell) {
+    return cell == null || cell.getCellType() != CellType.STRING ? "" : normalize(cell.getStringCellValue());
+  }
+
+  static final class Builder {
+    private final Map<String, FieldLocation> fields = new LinkedHashMap<>();
+    private final Map<CellAddress, String> anchors = new LinkedHashMap<>();
+    private CellAddress titleCell;
+    private int tableHeaderRow = -1;
+    private Map<ColumnField, Integer> columns = Map.of();
+
+    private Builder() {
+    }
+
+    Builder titleCell(Cell cell) {
+      this.titleCell = cell.getAddress();
+      anchors.put(titleCell, anchorText(cell));
+      return this;
+    }
+
+    Builder field(String key, Cell label, int valueColumn) {
+      fields.put(key, new FieldLocation(label.getAddress(), valueColumn));
+      anchors.put(label.getAddress(), anchorText(label));
+      return this;
+    }
+
+    Builder table(Row headerRow, Map<ColumnField, Integer> columns) {
+      this.tableHeaderRow = headerRow.getRowNum();
+      this.columns = columns;
+      for (int columnIndex : columns.values()) {
+        if (columnIndex >= 0) {
+          Cell cell = headerRow.getCell(columnIndex);
+          anchors.put(new CellAddress(tableHeaderRow, columnIndex), anchorText(cell));
+        }
+      }
+      return this;
+    }
+
+    SheetLayout build() {
+      return new SheetLayout(titleCell, Collections.unmodifiableMap(new LinkedHashMap<>(fields)), tableHeaderRow,
+        Collections.unmodifiableMap(new LinkedHashMap<>(columns)), Collections.unmodifiableMap(new LinkedHashMap<>(anchors)));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Passwords to try on an encrypted statement, such as the date of birth or PAN based passwords banks protect their
+ * exports with. Asked only once a statement turns out to be encrypted.
+ */
+@FunctionalInterface
+public interface StatementPasswordProvider {
+  StatementPasswordProvider NONE = _ -> List.of();
+
+  /**
+   * @return candidate passwords of the statement, tried in order
+   */
+  List<String> passwords(File statementFile);
+
+  static StatementPasswordProvider of(String... passwords) {
+    List<String> candidates = List.of(passwords);
+    return _ -> candidates;
+  }
+}
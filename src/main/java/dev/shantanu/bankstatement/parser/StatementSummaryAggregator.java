@@ -0,0 +1,118 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.PaymentChannel;
+import dev.shantanu.bankstatement.common.ScaledAmounts;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.common.TransactionTotals;
+import dev.shantanu.bankstatement.parser.model.StatementSummary;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Builds a {@link StatementSummary} from records as they are mapped. Amounts are accumulated in minor units (see
+ * {@link ScaledAmounts}) into {@code long} counters, one {@code long[]} per transaction date, and converted back to
+ * {@link java.math.BigDecimal} once in {@link #summary()}. Monthly totals are rolled up from the daily ones.
+ */
+final class StatementSummaryAggregator {
+  private static final int COUNT = 0;
+  private static final int WITHDRAWALS = 1;
+  private static final int DEPOSITS = 2;
+  private static final PaymentChannel[] CHANNELS = PaymentChannel.values();
+
+  private final NavigableMap<LocalDate, long[]> dailyAccumulators = new TreeMap<>();
+  private final int[] channelCounts = new int[CHANNELS.length];
+  private final long[] totalAccumulator = new long[3];
+  private boolean hasBalance;
+  private int firstSerialNumber = Integer.MAX_VALUE;
+  private long openingBalance;
+  private int lastSerialNumber = Integer.MIN_VALUE;
+  private long closingBalance;
+
+  static StatementSummary summarize(Collection<TransactionRecord> transactionRecords) {
+    StatementSummaryAggregator aggregator = new StatementSummaryAggregator();
+    transactionRecords.forEach(aggregator::accept);
+    return aggregator.summary();
+  }
+
+  void accept(TransactionRecord transactionRecord) {
+    long withdrawal = ScaledAmounts.toScaled(transactionRecord.withdrawalAmount());
+    long deposit = ScaledAmounts.toScaled(transactionRecord.depositAmount());
+    add(totalAccumulator, withdrawal, deposit);
+    if (transactionRecord.transactionDate() != null) {
+      add(dailyAccumulators.computeIfAbsent(transactionRecord.transactionDate(), _ -> new long[3]), withdrawal, deposit);
+    }
+    channelCounts[transactionRecord.remarkTokens().channel().ordinal()]++;
+
+    if (transactionRecord.balance() != null) {
+      // Rows may arrive in any order, the serial number tells the first and the last transaction
+      long balance = ScaledAmounts.toScaled(transactionRecord.balance());
+      int serialNumber = transactionRecord.serialNumber();
+      if (serialNumber < firstSerialNumber) {
+        firstSerialNumber = serialNumber;
+        openingBalance = balance + withdrawal - deposit;
+      }
+      if (serialNumber >= lastSerialNumber) {
+        lastSerialNumber = serialNumber;
+        closingBalance = balance;
+      }
+      hasBalance = true;
+    }
+  }
+
+  StatementSummary summary() {
+    Map<LocalDate, TransactionTotals> dailyTotals = new LinkedHashMap<>();
+    Map<YearMonth, TransactionTotals> monthlyTotals = new LinkedHashMap<>();
+    YearMonth month = null;
+    long[] monthAccumulator = new long[3];
+    for (Map.Entry<LocalDate, long[]> entry : dailyAccumulators.entrySet()) {
+      YearMonth entryMonth = YearMonth.from(entry.getKey());
+      if (!entryMonth.equals(month)) {
+        if (month != null) {
+          monthlyTotals.put(month, toTotals(monthAccumulator));
+        }
+        month = entryMonth;
+        monthAccumulator = new long[3];
+      }
+      long[] day = entry.getValue();
+      monthAccumulator[COUNT] += day[COUNT];
+      monthAccumulator[WITHDRAWALS] += day[WITHDRAWALS];
+      monthAccumulator[DEPOSITS] += day[DEPOSITS];
+      dailyTotals.put(entry.getKey(), toTotals(day));
+    }
+    if (month != null) {
+      monthlyTotals.put(month, toTotals(monthAccumulator));
+    }
+
+    Map<PaymentChannel, Integer> channels = new EnumMap<>(PaymentChannel.class);
+    for (PaymentChannel channel : CHANNELS) {
+      if (channelCounts[channel.ordinal()] > 0) {
+        channels.put(channel, channelCounts[channel.ordinal()]);
+      }
+    }
+    return new StatementSummary(
+      hasBalance ? ScaledAmounts.fromScaled(openingBalance) : null,
+      hasBalance ? ScaledAmounts.fromScaled(closingBalance) : null,
+      toTotals(totalAccumulator),
+      Collections.unmodifiableMap(monthlyTotals),
+      Collections.unmodifiableMap(dailyTotals),
+      Collections.unmodifiableMap(channels));
+  }
+
+  private static void add(long[] accumulator, long withdrawal, long deposit) {
+    accumulator[COUNT]++;
+    accumulator[WITHDRAWALS] += withdrawal;
+    accumulator[DEPOSITS] += deposit;
+  }
+
+  private static TransactionTotals toTotals(long[] accumulator) {
+    return new TransactionTotals(Math.toIntExact(accumulator[COUNT]), ScaledAmounts.fromScaled(accumulator[WITHDRAWALS]),
+      ScaledAmounts.fromScaled(accumulator[DEPOSITS]));
+  }
+}
@@ -0,0 +1,349 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+
+/**
+ * Reads the worksheets of an .xlsx file row by row, for files too large to load as a workbook. Shared strings go to a
+ * {@link TempFileSharedStrings} and styles are reduced to {@link XlsxNumberFormats}. Every row read is copied into a
+ * sheet of an in-memory {@link SXSSFWorkbook}, so the parser reads it through the usual {@link Row} and {@link Cell}
+ * interfaces; formula cells hold their cached result, as with {@link FormulaMode#CACHED}.
+ */
+final class StreamingXlsxWorkbook implements Closeable {
+  private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+  private final OPCPackage opcPackage;
+  private final XSSFReader.SheetIterator sheetData;
+  private final TempFileSharedStrings sharedStrings;
+  private final XlsxNumberFormats numberFormats;
+  private final SXSSFWorkbook rowsWorkbook = new SXSSFWorkbook(null, -1, false, false);
+  private final Map<Integer, CellStyle> styles = new HashMap<>();
+
+  private StreamingXlsxWorkbook(OPCPackage opcPackage, XSSFReader.SheetIterator sheetData,
+                                TempFileSharedStrings sharedStrings, XlsxNumberFormats numberFormats) {
+    this.opcPackage = opcPackage;
+    this.sheetData = sheetData;
+    this.sharedStrings = sharedStrings;
+    this.numberFormats = numberFormats;
+  }
+
+  /**
+   * @param passwordProvider passwords of the file if it is encrypted, see {@link EncryptedWorkbooks#openPackage}
+   */
+  static StreamingXlsxWorkbook open(File file, StatementPasswordProvider passwordProvider) throws IOException {
+    OPCPackage opcPackage;
+    try {
+      opcPackage = EncryptedWorkbooks.isEncryptedPackage(file)
+        ? EncryptedWorkbooks.openPackage(file, passwordProvider)
+        : OPCPackage.open(file, PackageAccess.READ);
+    } catch (OpenXML4JException e) {
+      throw new IOException("Not an .xlsx file: " + file.getName(), e);
+    }
+    try {
+      XSSFReader.SheetIterator sheetData = (XSSFReader.SheetIterator) new XSSFReader(opcPackage).getSheetsData();
+      XlsxNumberFormats numberFormats = XlsxNumberFormats.NONE;
+      PackagePart stylesPart = firstPart(opcPackage, XSSFRelation.STYLES);
+      if (stylesPart != null) {
+        try (InputStream in = stylesPart.getInputStream()) {
+          numberFormats = XlsxNumberFormats.read(in);
+        }
+      }
+      TempFileSharedStrings sharedStrings = null;
+      PackagePart sharedStringsPart = firstPart(opcPackage, XSSFRelation.SHARED_STRINGS);
+      if (sharedStringsPart != null) {
+        try (InputStream in = sharedStringsPart.getInputStream()) {
+          sharedStrings = TempFileSharedStrings.read(in, TempFileSharedStrings.DEFAULT_CACHE_SIZE);
+        }
+      }
+      return new StreamingXlsxWorkbook(opcPackage, sheetData, sharedStrings, numberFormats);
+    } catch (IOException | OpenXML4JException | RuntimeException e) {
+      opcPackage.revert();
+      throw e instanceof IOException ioException ? ioException : new IOException("Could not read " + file.getName(), e);
+    }
+  }
+
+  private static PackagePart firstPart(OPCPackage opcPackage, XSSFRelation relation) throws OpenXML4JException {
+    List<PackagePart> parts = opcPackage.getPartsByContentType(relation.getContentType());
+    return parts.isEmpty() ? null : parts.getFirst();
+  }
+
+  /**
+   * @return the next worksheet in workbook order, {@code null} after the last one
+   */
+  SheetStream nextSheet() {
+    if (!sheetData.hasNext()) {
+      return null;
+    }
+    InputStream in = sheetData.next();
+    String sheetName = sheetData.getSheetName();
+    try {
+      return new SheetStream(rowsWorkbook.createSheet(sheetName), XML_INPUT_FACTORY.createXMLStreamReader(in), in);
+    } catch (XMLStreamException e) {
+      throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Could not read worksheet " + sheetName, e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (rowsWorkbook) {
+      if (sharedStrings != null) {
+        sharedStrings.close();
+      }
+    } finally {
+      rowsWorkbook.dispose();
+      opcPackage.revert();
+    }
+  }
+
+  /**
+   * Cell style of the rows workbook carrying the number format of a style of the file, one per number format.
+   */
+  private CellStyle cellStyle(int styleIndex) {
+    int formatIndex = numberFormats.formatIndex(styleIndex);
+    return styles.computeIfAbsent(formatIndex, _ -> {
+      CellStyle cellStyle = rowsWorkbook.createCellStyle();
+      cellStyle.setDataFormat(numberFormats.isCustom(formatIndex)
+        ? rowsWorkbook.createDataFormat().getFormat(numberFormats.formatString(formatIndex))
+        : (short) formatIndex);
+      return cellStyle;
+    });
+  }
+
+  /**
+   * One worksheet of the file. Rows read with {@link #nextRow()} stay in {@link #sheet()}; rows read through
+   * {@link #tableRows()} are dropped again when the next one is asked for.
+   */
+  final class SheetStream implements Closeable {
+    private final Sheet sheet;
+    private final XMLStreamReader reader;
+    private final InputStream in;
+    private final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+    private int lastRowIndex = -1;
+    private boolean ended;
+    private Row tableRow;
+
+    private SheetStream(Sheet sheet, XMLStreamReader reader, InputStream in) {
+      this.sheet = sheet;
+      this.reader = reader;
+      this.in = in;
+    }
+
+    /**
+     * Rows read so far; once {@link #finish()} is called, with the merged regions among them.
+     */
+    Sheet sheet() {
+      return sheet;
+    }
+
+    /**
+     * Reads the next row of the sheet into {@link #sheet()}.
+     *
+     * @return the row, {@code null} after the last one
+     */
+    Row nextRow() {
+      try {
+        while (!ended && reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+              case "row" -> {
+                return readRow();
+              }
+              case "mergeCell" -> mergedRegions.add(CellRangeAddress.valueOf(reader.getAttributeValue(null, "ref")));
+              default -> {
+              }
+            }
+          }
+        }
+        ended = true;
+        return null;
+      } catch (XMLStreamException | IllegalArgumentException e) {
+        throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Malformed worksheet " + sheet.getSheetName(), e);
+      }
+    }
+
+    /**
+     * Rows below those read so far, holding only the last row asked for in {@link #sheet()}.
+     */
+    RowSource tableRows() {
+      return new RowSource() {
+        @Override
+        public Row getRow(int rowIndex) {
+          if (tableRow != null && tableRow.getRowNum() < rowIndex) {
+            sheet.removeRow(tableRow);
+            tableRow = null;
+          }
+          while (tableRow == null) {
+            tableRow = nextRow();
+            if (tableRow == null) {
+              return null;
+            }
+            if (tableRow.getRowNum() < rowIndex) {
+              sheet.removeRow(tableRow);
+              tableRow = null;
+            }
+          }
+          return tableRow.getRowNum() == rowIndex ? tableRow : null;
+        }
+
+        @Override
+        public int getLastRowNum() {
+          return ended ? lastRowIndex : Integer.MAX_VALUE;
+        }
+      };
+    }
+
+    /**
+     * Skips the rows not read yet, up to the merged regions stored after the sheet data, and adds the regions starting
+     * in the rows kept in {@link #sheet()}.
+     */
+    void finish() {
+      if (tableRow != null) {
+        sheet.removeRow(tableRow);
+        tableRow = null;
+      }
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("mergeCell")) {
+            mergedRegions.add(CellRangeAddress.valueOf(reader.getAttributeValue(null, "ref")));
+          }
+        }
+      } catch (XMLStreamException | IllegalArgumentException e) {
+        throw new AccountStatementException(ErrorCode.INVALID_FILE_FORMAT, "Malformed worksheet " + sheet.getSheetName(), e);
+      }
+      ended = true;
+      int lastKeptRow = sheet.getLastRowNum();
+      mergedRegions.stream()
+        .filter(region -> region.getFirstRow() <= lastKeptRow)
+        .forEach(sheet::addMergedRegionUnsafe);
+    }
+
+    private Row readRow() throws XMLStreamException {
+      String rowReference = reader.getAttributeValue(null, "r");
+      lastRowIndex = rowReference == null ? lastRowIndex + 1 : Integer.parseInt(rowReference) - 1;
+      Row row = sheet.createRow(lastRowIndex);
+      int columnIndex = -1;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("c")) {
+          String cellReference = reader.getAttributeValue(null, "r");
+          columnIndex = cellReference == null ? columnIndex + 1 : new CellAddress(cellReference).getColumn();
+          readCell(row.createCell(columnIndex), reader.getAttributeValue(null, "t"), reader.getAttributeValue(null, "s"));
+        } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("row")) {
+          break;
+        }
+      }
+      return row;
+    }
+
+    /**
+     * Reads the cell's value, {@code <v>} or inline {@code <is>} text, up to its end tag. Formulas are skipped.
+     */
+    private void readCell(Cell cell, String type, String style) throws XMLStreamException {
+      String value = null;
+      StringBuilder inlineText = null;
+      int phoneticDepth = 0;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "v" -> value = reader.getElementText();
+            case "rPh" -> phoneticDepth++;
+            case "t" -> {
+              String text = reader.getElementText();
+              if (phoneticDepth == 0) {
+                inlineText = inlineText == null ? new StringBuilder(text) : inlineText.append(text);
+              }
+            }
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (reader.getLocalName().equals("rPh")) {
+            phoneticDepth--;
+          } else if (reader.getLocalName().equals("c")) {
+            break;
+          }
+        }
+      }
+      setValue(cell, type == null ? "n" : type, value, inlineText, style);
+    }
+
+    private void setValue(Cell cell, String type, String value, StringBuilder inlineText, String style) {
+      switch (type) {
+        case "s" -> {
+          if (value != null && sharedStrings != null) {
+            cell.setCellValue(sharedStrings.get(Integer.parseInt(value.trim())));
+          }
+        }
+        case "inlineStr" -> {
+          if (inlineText != null) {
+            cell.setCellValue(inlineText.toString());
+          }
+        }
+        case "str", "d" -> {
+          if (value != null) {
+            cell.setCellValue(value);
+          }
+        }
+        case "b" -> {
+          if (value != null) {
+            cell.setCellValue("1".equals(value.trim()) || "true".equalsIgnoreCase(value.trim()));
+          }
+        }
+        case "e" -> {
+          if (value != null) {
+            try {
+              cell.setCellErrorValue(FormulaError.forString(value.trim()).getCode());
+            } catch (IllegalArgumentException _) {
+              // unknown error text, leave the cell blank
+            }
+          }
+        }
+        default -> {
+          if (value != null && !value.isBlank()) {
+            cell.setCellValue(Double.parseDouble(value));
+            if (style != null) {
+              cell.setCellStyle(cellStyle(Integer.parseInt(style)));
+            }
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try (in) {
+        reader.close();
+      } catch (XMLStreamException e) {
+        throw new IOException("Could not close worksheet " + sheet.getSheetName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes repeating cell text (UPI handles, NEFT prefixes, recurring merchants) so that equal values read from
+ * different rows share one {@link String} instance. A dictionary is created for every parse unless one is supplied
+ * through {@link ParseOptions}, in which case it is shared by all parses using those options; it is thread-safe.
+ * Once {@code maxEntries} distinct values are held, new values are returned as-is instead of being added.
+ */
+public final class StringDictionary {
+  public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+
+  private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+  private final int maxEntries;
+
+  public StringDictionary() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public StringDictionary(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Maximum number of entries must be positive, was " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * @return the canonical instance equal to {@code value}; {@code null} and empty strings are returned unchanged
+   */
+  public String intern(String value) {
+    if (value == null || value.isEmpty()) {
+      return value;
+    }
+    String canonical = values.get(value);
+    if (canonical != null) {
+      return canonical;
+    }
+    if (values.size() >= maxEntries) {
+      return value;
+    }
+    canonical = values.putIfAbsent(value, value);
+    return canonical == null ? value : canonical;
+  }
+
+  public int size() {
+    return values.size();
+  }
+}
@@ -0,0 +1,145 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.config.ColumnField;
+import dev.shantanu.bankstatement.config.TableTerminatorConfig;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.apache.commons.lang3.Strings;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Decides row by row where a transactions table ends, following the table's {@link TableTerminatorConfig}. The mapped
+ * column indexes and footer keywords are resolved once per table; classifying a row visits each mapped cell once and
+ * only reads string cells through the {@link ParseContext} string cache. Footer keywords are therefore only matched
+ * in mapped columns: a footer or disclaimer written in a column the table doesn't map never ends the table.
+ */
+final class TableTerminator {
+
+  enum RowKind {
+    /**
+     * Row to convert into a transaction.
+     */
+    TRANSACTION,
+    /**
+     * Blank or invalid row inside the table.
+     */
+    SKIP,
+    /**
+     * The table ended before this row.
+     */
+    END
+  }
+
+  private final TableTerminatorConfig config;
+  private final int[] columnIndexes;
+  private final String[] footerKeywords;
+  private int consecutiveBlankRows;
+  private int consecutiveInvalidRows;
+
+  TableTerminator(TableTerminatorConfig config, Map<ColumnField, Integer> columnNameToIndexMap) {
+    this.config = config;
+    this.columnIndexes = columnNameToIndexMap.values().stream()
+      .filter(columnIndex -> columnIndex != null && columnIndex >= 0)
+      .mapToInt(Integer::intValue)
+      .distinct()
+      .toArray();
+    this.footerKeywords = config.footerKeywords().stream()
+      .filter(keyword -> !keyword.isBlank())
+      .map(String::trim)
+      .toArray(String[]::new);
+  }
+
+  RowKind classify(Row row, ParseContext context) {
+    int nonBlankCells = 0;
+    if (row != null) {
+      for (int columnIndex : columnIndexes) {
+        Cell cell = row.getCell(columnIndex);
+        if (cell == null) {
+          continue;
+        }
+        CellType cellType = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        if (cellType == CellType.STRING) {
+          String value = cellType == cell.getCellType() ? context.dictionaryCellValue(cell) : cell.getStringCellValue();
+          if (isFooter(value)) {
+            return RowKind.END;
+          }
+          if (!value.isBlank()) {
+            nonBlankCells++;
+          }
+        } else if (cellType != CellType.BLANK) {
+          nonBlankCells++;
+        }
+      }
+    }
+    return classify(nonBlankCells);
+  }
+
+  /**
+   * Same as {@link #classify(Row, ParseContext)} for a row of text cells, as read from a CSV line.
+   *
+   * @param cellText text of the cell at a column index, {@code null} for a missing cell
+   */
+  RowKind classify(IntFunction<String> cellText) {
+    int nonBlankCells = 0;
+    for (int columnIndex : columnIndexes) {
+      String value = cellText.apply(columnIndex);
+      if (value == null) {
+        continue;
+      }
+      if (isFooter(value)) {
+        return RowKind.END;
+      }
+      if (!value.isBlank()) {
+        nonBlankCells++;
+      }
+    }
+    return classify(nonBlankCells);
+  }
+
+  private RowKind classify(int nonBlankCells) {
+    if (nonBlankCells == 0) {
+      consecutiveInvalidRows = 0;
+      return ++consecutiveBlankRows > config.blankRows() ? RowKind.END : RowKind.SKIP;
+    }
+    consecutiveBlankRows = 0;
+    if (nonBlankCells < config.minimumColumns()) {
+      return invalidRow();
+    }
+    consecutiveInvalidRows = 0;
+    return RowKind.TRANSACTION;
+  }
+
+  /**
+   * Second validity check once the row is converted.
+   */
+  boolean hasTooManyErrors(int errorCount) {
+    if (errorCount > config.maximumErrors()) {
+      invalidRow();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return {@code true} once the configured number of consecutive invalid rows was read
+   */
+  boolean isEnded() {
+    return config.invalidRows() > 0 && consecutiveInvalidRows >= config.invalidRows();
+  }
+
+  private RowKind invalidRow() {
+    consecutiveInvalidRows++;
+    return isEnded() ? RowKind.END : RowKind.SKIP;
+  }
+
+  private boolean isFooter(String value) {
+    for (String footerKeyword : footerKeywords) {
+      if (Strings.CI.contains(value, footerKeyword)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
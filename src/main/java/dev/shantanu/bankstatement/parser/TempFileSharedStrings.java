@@ -0,0 +1,159 @@
+package dev.shantanu.bankstatement.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.util.XMLHelper;
+
+/**
+ * Shared-strings table of an .xlsx file kept in temp files instead of on the heap. {@code sharedStrings.xml} is copied
+ * once, each string as UTF-8 into one file and its offset into another; a lookup reads both with positional reads.
+ * The most recently used strings are kept in a small LRU cache.
+ */
+final class TempFileSharedStrings implements Closeable {
+  static final int DEFAULT_CACHE_SIZE = 4096;
+  private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+  private final Path stringsFile;
+  private final Path offsetsFile;
+  private final FileChannel strings;
+  private final FileChannel offsets;
+  private final int count;
+  private final Map<Integer, String> cache;
+
+  private TempFileSharedStrings(Path stringsFile, Path offsetsFile, int count, int cacheSize) throws IOException {
+    this.stringsFile = stringsFile;
+    this.offsetsFile = offsetsFile;
+    this.strings = FileChannel.open(stringsFile, StandardOpenOption.READ);
+    this.offsets = FileChannel.open(offsetsFile, StandardOpenOption.READ);
+    this.count = count;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Copies the strings of a {@code sharedStrings.xml} part. Rich text runs are joined, phonetic hints left out.
+   */
+  static TempFileSharedStrings read(InputStream sharedStringsXml, int cacheSize) throws IOException {
+    Path stringsFile = Files.createTempFile("shared-strings", ".bin");
+    Path offsetsFile = Files.createTempFile("shared-strings", ".idx");
+    int count = 0;
+    try (DataOutputStream stringsOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(stringsFile)));
+         DataOutputStream offsetsOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetsFile)))) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(sharedStringsXml);
+      long position = 0;
+      StringBuilder item = null;
+      int phoneticDepth = 0;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "si" -> item = new StringBuilder();
+            case "rPh" -> phoneticDepth++;
+            case "t" -> {
+              String text = reader.getElementText();
+              if (item != null && phoneticDepth == 0) {
+                item.append(text);
+              }
+            }
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (reader.getLocalName().equals("rPh")) {
+            phoneticDepth--;
+          } else if (reader.getLocalName().equals("si") && item != null) {
+            byte[] bytes = item.toString().getBytes(UTF_8);
+            offsetsOut.writeLong(position);
+            stringsOut.writeInt(bytes.length);
+            stringsOut.write(bytes);
+            position += Integer.BYTES + bytes.length;
+            count++;
+            item = null;
+          }
+        }
+      }
+    } catch (IOException | XMLStreamException | RuntimeException e) {
+      Files.deleteIfExists(stringsFile);
+      Files.deleteIfExists(offsetsFile);
+      if (e instanceof XMLStreamException) {
+        throw new IOException("Malformed shared strings part", e);
+      }
+      throw e;
+    }
+    return new TempFileSharedStrings(stringsFile, offsetsFile, count, cacheSize);
+  }
+
+  int size() {
+    return count;
+  }
+
+  /**
+   * @return the string at the index, {@code ""} for an index outside the table
+   */
+  synchronized String get(int index) {
+    if (index < 0 || index >= count) {
+      return "";
+    }
+    String value = cache.get(index);
+    if (value == null) {
+      try {
+        value = readString(index);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read shared string " + index, e);
+      }
+      cache.put(index, value);
+    }
+    return value;
+  }
+
+  private String readString(int index) throws IOException {
+    ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+    readFully(offsets, offset, (long) index * Long.BYTES);
+    long position = offset.getLong(0);
+    ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+    readFully(strings, length, position);
+    ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+    readFully(strings, bytes, position + Integer.BYTES);
+    return new String(bytes.array(), UTF_8);
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Shared strings file ends at " + (position + buffer.position()));
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (strings; offsets) {
+      cache.clear();
+    } finally {
+      Files.deleteIfExists(stringsFile);
+      Files.deleteIfExists(offsetsFile);
+    }
+  }
+}
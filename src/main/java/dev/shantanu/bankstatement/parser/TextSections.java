@@ -0,0 +1,165 @@
+package dev.shantanu.bankstatement.parser;
+
+import static dev.shantanu.bankstatement.common.GsonSingleton.GSON;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_KEY_FIELDS;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_KEY_ID;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_KEY_MAPPED_TO;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_KEY_TITLE;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_SECTION_ADVANCE_SEARCH;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_SECTION_HEADER;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_SECTION_SEARCH_CRITERIA;
+import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFIG_SECTION_TRANSACTIONS_TABLE;
+import static java.util.Comparator.comparingInt;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import dev.shantanu.bankstatement.config.FieldConfiguration;
+import dev.shantanu.bankstatement.config.SearchRangeConfig;
+import dev.shantanu.bankstatement.config.StatementConfiguration;
+import dev.shantanu.bankstatement.config.TransactionTableConfig;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.parser.model.TransactionInfo;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configured sections of a statement given as rows of text cells, such as CSV lines or PDF text rows. The rows above
+ * the transactions table are searched for the title and the search criteria fields as {@link ExcelSearchStatementParser}
+ * searches a sheet from its active cell. Text has no merged cells, so the value of a field label is the first non-blank
+ * cell after it.
+ */
+final class TextSections {
+  private static final Logger logger = LoggerFactory.getLogger(TextSections.class);
+
+  private final List<JsonObject> sections;
+
+  TextSections(StatementConfiguration statementConfiguration) {
+    this.sections = statementConfiguration.getSections().stream()
+      .sorted(comparingInt((JsonObject sectionConfig) -> sectionConfig.get("order").getAsInt()))
+      .toList();
+  }
+
+  TransactionTableConfig transactionTableConfig(TransformTransactionRecord transformTransactionRecord) {
+    JsonObject tableSectionConfig = sections.stream()
+      .filter(sectionConfig -> CONFIG_SECTION_TRANSACTIONS_TABLE.equals(sectionConfig.get(CONFIG_KEY_ID).getAsString()))
+      .findFirst()
+      .orElseThrow(() -> new AccountStatementException(ErrorCode.CONFIGURATION_ERROR, "No transactions table section configured", new IllegalStateException()));
+    return transformTransactionRecord.getTransactionTableConfig(tableSectionConfig.get("table").getAsJsonObject());
+  }
+
+  /**
+   * @param rows rows above the transactions table, the header row included
+   * @return the search criteria, {@code null} when no search criteria section is configured
+   */
+  TransactionInfo readTransactionInfo(List<List<String>> rows) {
+    JsonElement searchCriteria = new Search(rows).parseSections().get(CONFIG_SECTION_SEARCH_CRITERIA);
+    return searchCriteria == null ? null : GSON.instance().fromJson(searchCriteria.getAsJsonObject(), TransactionInfo.class);
+  }
+
+  private final class Search {
+    private final List<List<String>> rows;
+    private int activeRow;
+
+    private Search(List<List<String>> rows) {
+      this.rows = rows;
+    }
+
+    JsonObject parseSections() {
+      JsonObject parsedSections = new JsonObject();
+      for (JsonObject sectionConfig : sections) {
+        String sectionId = sectionConfig.get(CONFIG_KEY_ID).getAsString();
+        JsonObject parsedJsonSection = new JsonObject();
+        parsedJsonSection.addProperty(CONFIG_KEY_TITLE, sectionConfig.get(CONFIG_KEY_TITLE).getAsString());
+        JsonElement mappedToConfigValue = sectionConfig.get(CONFIG_KEY_MAPPED_TO);
+        if (mappedToConfigValue != null) {
+          parsedJsonSection.addProperty(CONFIG_KEY_MAPPED_TO, mappedToConfigValue.getAsString());
+        }
+
+        switch (sectionId) {
+          case CONFIG_SECTION_HEADER -> {
+            String headerTitle = readHeaderTitle(sectionConfig);
+            if (StringUtils.isNotEmpty(headerTitle)) {
+              parsedJsonSection.addProperty(CONFIG_KEY_TITLE, headerTitle);
+              parsedSections.add(sectionId, parsedJsonSection);
+            }
+          }
+          case CONFIG_SECTION_SEARCH_CRITERIA -> {
+            readFields(sectionConfig).asMap().forEach(parsedJsonSection.asMap()::putIfAbsent);
+            parsedSections.add(sectionId, parsedJsonSection);
+          }
+          case CONFIG_SECTION_ADVANCE_SEARCH -> {
+            JsonElement skip = sectionConfig.get("skip");
+            if (skip == null || !skip.getAsBoolean()) {
+              readFields(sectionConfig);
+            }
+          }
+          case CONFIG_SECTION_TRANSACTIONS_TABLE -> logger.debug("Transactions table starts after row {}", rows.size() - 1);
+          default -> logger.info("Don't have capability to parse section with id = {} ", sectionId);
+        }
+      }
+      return parsedSections;
+    }
+
+    /**
+     * @return the first cell within the search range containing a title keyword, lower-cased
+     */
+    private String readHeaderTitle(JsonObject sectionConfig) {
+      SearchRangeConfig range = ExcelSearchStatementParser.getSearchRange(sectionConfig.get("relativeSearchRange").getAsJsonObject());
+      List<String> searchFor = ExcelSearchStatementParser.getSearchKeywords(sectionConfig).stream()
+        .map(keyword -> keyword.trim().toLowerCase())
+        .toList();
+      for (int i = activeRow; i < Math.min(activeRow + range.rows(), rows.size()); i++) {
+        List<String> row = rows.get(i);
+        for (int j = 0; j < row.size() && j <= range.columns(); j++) {
+          String value = row.get(j).toLowerCase();
+          if (searchFor.stream().anyMatch(value::contains)) {
+            activeRow = i;
+            return value;
+          }
+        }
+      }
+      return null;
+    }
+
+    private JsonObject readFields(JsonObject sectionConfig) {
+      JsonObject parsedFields = new JsonObject();
+      for (FieldConfiguration fieldConfig : ExcelSearchStatementParser.getFieldListForSection(sectionConfig.getAsJsonArray(CONFIG_KEY_FIELDS))) {
+        readField(fieldConfig).asMap().forEach(parsedFields.asMap()::putIfAbsent);
+      }
+      return parsedFields;
+    }
+
+    /**
+     * Finds the field label from the active row on and reads the value following it. Moves the active row to the
+     * label.
+     */
+    private JsonObject readField(FieldConfiguration fieldConfig) {
+      JsonObject field = new JsonObject();
+      if (StringUtils.isEmpty(fieldConfig.label())) {
+        return field;
+      }
+      for (int i = activeRow; i < rows.size(); i++) {
+        List<String> row = rows.get(i);
+        for (int j = 0; j < row.size(); j++) {
+          if (Strings.CI.contains(row.get(j), fieldConfig.label())) {
+            activeRow = i;
+            String fieldValue = row.subList(j + 1, row.size()).stream().filter(StringUtils::isNotBlank).findFirst().orElse("");
+            logger.debug("fieldLabel = {}  fieldValue = {}", fieldConfig.label(), fieldValue);
+            JsonObject regexParsedValue = ExcelSearchStatementParser.getPatternMappedFields(fieldValue, fieldConfig.pattern(), fieldConfig.patternMappedFields());
+            if (!regexParsedValue.isEmpty()) {
+              regexParsedValue.asMap().forEach(field::add);
+            } else {
+              field.addProperty(fieldConfig.name(), fieldValue);
+            }
+            return field;
+          }
+        }
+      }
+      return field;
+    }
+  }
+}
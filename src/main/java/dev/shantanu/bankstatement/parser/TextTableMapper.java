@@ -0,0 +1,141 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.ColumnField;
+import dev.shantanu.bankstatement.config.TransactionTableConfig;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Counterpart of {@link TransformTransactionRecord#readAndMapTransactions} for rows of text cells, as read from CSV
+ * lines or PDF text. Rows are fed one at a time; the table ends where the {@link TableTerminator} ends it or at the
+ * first row dated after the query, and rows outside the query are skipped before their remaining fields are converted.
+ * Only the cells of mapped columns are asked for, once per row.
+ */
+final class TextTableMapper {
+  private static final String DATA_TYPE_STRING = "String";
+
+  private final List<MappedColumn> mappedColumns = new ArrayList<>();
+  private final ParseContext context;
+  private final TransactionQuery query;
+  private final TableTerminator terminator;
+  private final String[] rowValues;
+  private final Set<TransactionRecord> transactionRecords = new LinkedHashSet<>();
+  private boolean ended;
+
+  TextTableMapper(TransactionTableConfig transactionTableConfig, Map<ColumnField, Integer> columnNameToIndexMap,
+                  ParseContext context, TransactionQuery query) {
+    int width = 0;
+    for (Map.Entry<ColumnField, Integer> entry : columnNameToIndexMap.entrySet()) {
+      int columnIndex = entry.getValue();
+      if (columnIndex >= 0) {
+        mappedColumns.add(new MappedColumn(columnIndex, LazyTransactionRecord.Field.forMappedTo(entry.getKey().mappedTo()),
+          DATA_TYPE_STRING.equals(entry.getKey().dataType())));
+        width = Math.max(width, columnIndex + 1);
+      }
+    }
+    this.context = context;
+    this.query = query;
+    this.terminator = new TableTerminator(transactionTableConfig.terminator(), columnNameToIndexMap);
+    this.rowValues = new String[width];
+  }
+
+  /**
+   * Maps one row.
+   *
+   * @param cellText text of the cell at a column index, {@code null} for a missing cell
+   * @param rowIndex 0-based index of the row, as reported in the error log
+   * @return {@code false} once the table has ended, later rows are ignored
+   */
+  boolean accept(IntFunction<String> cellText, int rowIndex) {
+    if (ended || terminator.isEnded()) {
+      ended = true;
+      return false;
+    }
+    context.budget().countRow();
+    for (MappedColumn column : mappedColumns) {
+      rowValues[column.index()] = cellText.apply(column.index());
+    }
+    TableTerminator.RowKind rowKind = terminator.classify(columnIndex -> rowValues[columnIndex]);
+    if (rowKind == TableTerminator.RowKind.END) {
+      ended = true;
+      return false;
+    }
+    if (rowKind == TableTerminator.RowKind.SKIP) {
+      return true;
+    }
+
+    LazyTransactionRecord row = toLazyRecord();
+    if (query.hasDateRange() && query.isAfterDateRange(row.transactionDate())) {
+      ended = true;
+      return false;
+    }
+    if (!query.isUnrestricted() && !(query.matchesDate(row.transactionDate())
+      && query.matchesAmount(row.withdrawalAmount(), row.depositAmount())
+      && query.matchesRemarks(row.transactionRemarks()))) {
+      return true;
+    }
+    TransactionRecord transactionRecord = createTransactionRecord(row, rowIndex);
+    if (transactionRecord != null && transactionRecords.add(transactionRecord)) {
+      context.aggregate(transactionRecord);
+    }
+    return true;
+  }
+
+  /**
+   * @return the records mapped so far, in row order
+   */
+  Set<TransactionRecord> transactionRecords() {
+    return transactionRecords;
+  }
+
+  /**
+   * @return whether the column's data type is {@code String}, {@code false} for unmapped columns
+   */
+  boolean isTextColumn(int columnIndex) {
+    return mappedColumns.stream().anyMatch(column -> column.index() == columnIndex && column.isText());
+  }
+
+  private LazyTransactionRecord toLazyRecord() {
+    String[] rawValues = new String[LazyTransactionRecord.FIELD_COUNT];
+    for (MappedColumn column : mappedColumns) {
+      if (column.field() != null) {
+        String value = StringUtils.defaultString(rowValues[column.index()]);
+        // Free text columns repeat heavily across rows, keep one instance per distinct value
+        rawValues[column.field().ordinal()] = column.isText() ? context.intern(value) : value;
+      }
+    }
+    return new LazyTransactionRecord(rawValues);
+  }
+
+  /**
+   * Converts the row unless its conversion errors exceed the terminator's limit, recording each error in the context.
+   */
+  private TransactionRecord createTransactionRecord(LazyTransactionRecord row, int rowIndex) {
+    context.beginRow();
+    for (MappedColumn column : mappedColumns) {
+      ConversionErrorCode code = column.field() == null ? null : row.conversionError(column.field());
+      if (code != null) {
+        context.recordError(code, rowIndex, column.index(), row.raw(column.field()));
+      }
+    }
+    if (terminator.hasTooManyErrors(context.rowErrorCount())) {
+      context.recordError(ConversionErrorCode.ROW_REJECTED, rowIndex, -1, null);
+      return null;
+    }
+    return row.toTransactionRecord();
+  }
+
+  /**
+   * @param field  transaction field of the column, {@code null} when its {@code mappedTo} is not one
+   * @param isText whether the column's data type is {@code String}
+   */
+  private record MappedColumn(int index, LazyTransactionRecord.Field field, boolean isText) {
+  }
+}
@@ -0,0 +1,134 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * Restricts which transactions a parse returns. Every bound is optional ({@code null}) and inclusive. The amount of a
+ * transaction is its withdrawal or, when there is none, its deposit.
+ * <p>
+ * Parsers evaluate the query on the raw cell values before a {@link TransactionRecord} is built. Statements list
+ * transactions in date order, so parsing stops at the first row dated after {@code transactionDateTo}.
+ *
+ * @param transactionDateFrom earliest transaction date
+ * @param transactionDateTo   latest transaction date
+ * @param minimumAmount       smallest transaction amount
+ * @param maximumAmount       largest transaction amount
+ * @param remarksContaining   case-insensitive text the transaction remarks must contain
+ */
+public record TransactionQuery(LocalDate transactionDateFrom, LocalDate transactionDateTo,
+                               BigDecimal minimumAmount, BigDecimal maximumAmount, String remarksContaining) {
+  public static final TransactionQuery ALL = new TransactionQuery(null, null, null, null, null);
+
+  public TransactionQuery {
+    if (transactionDateFrom != null && transactionDateTo != null && transactionDateFrom.isAfter(transactionDateTo)) {
+      throw new IllegalArgumentException("Transaction date from " + transactionDateFrom + " is after " + transactionDateTo);
+    }
+    if (minimumAmount != null && maximumAmount != null && minimumAmount.compareTo(maximumAmount) > 0) {
+      throw new IllegalArgumentException("Minimum amount " + minimumAmount + " is more than maximum amount " + maximumAmount);
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isUnrestricted() {
+    return !hasDateRange() && !hasAmountRange() && !hasRemarksFilter();
+  }
+
+  boolean hasDateRange() {
+    return transactionDateFrom != null || transactionDateTo != null;
+  }
+
+  boolean hasAmountRange() {
+    return minimumAmount != null || maximumAmount != null;
+  }
+
+  boolean hasRemarksFilter() {
+    return remarksContaining != null && !remarksContaining.isEmpty();
+  }
+
+  boolean matchesDate(LocalDate transactionDate) {
+    if (!hasDateRange()) {
+      return true;
+    }
+    if (transactionDate == null) {
+      return false;
+    }
+    return (transactionDateFrom == null || !transactionDate.isBefore(transactionDateFrom))
+      && !isAfterDateRange(transactionDate);
+  }
+
+  boolean isAfterDateRange(LocalDate transactionDate) {
+    return transactionDateTo != null && transactionDate != null && transactionDate.isAfter(transactionDateTo);
+  }
+
+  boolean matchesAmount(BigDecimal withdrawalAmount, BigDecimal depositAmount) {
+    if (!hasAmountRange()) {
+      return true;
+    }
+    BigDecimal amount = withdrawalAmount != null && withdrawalAmount.signum() != 0 ? withdrawalAmount : depositAmount;
+    if (amount == null) {
+      return false;
+    }
+    amount = amount.abs();
+    return (minimumAmount == null || amount.compareTo(minimumAmount) >= 0)
+      && (maximumAmount == null || amount.compareTo(maximumAmount) <= 0);
+  }
+
+  boolean matchesRemarks(String transactionRemarks) {
+    return !hasRemarksFilter() || Strings.CI.contains(transactionRemarks, remarksContaining);
+  }
+
+  /**
+   * In-memory evaluation for already parsed records.
+   */
+  public boolean matches(TransactionRecord transactionRecord) {
+    return matchesDate(transactionRecord.transactionDate())
+      && matchesAmount(transactionRecord.withdrawalAmount(), transactionRecord.depositAmount())
+      && matchesRemarks(transactionRecord.transactionRemarks());
+  }
+
+  public static final class Builder {
+    private LocalDate transactionDateFrom;
+    private LocalDate transactionDateTo;
+    private BigDecimal minimumAmount;
+    private BigDecimal maximumAmount;
+    private String remarksContaining;
+
+    private Builder() {
+    }
+
+    public Builder transactionDateFrom(LocalDate transactionDateFrom) {
+      this.transactionDateFrom = transactionDateFrom;
+      return this;
+    }
+
+    public Builder transactionDateTo(LocalDate transactionDateTo) {
+      this.transactionDateTo = transactionDateTo;
+      return this;
+    }
+
+    public Builder minimumAmount(BigDecimal minimumAmount) {
+      this.minimumAmount = minimumAmount;
+      return this;
+    }
+
+    public Builder maximumAmount(BigDecimal maximumAmount) {
+      this.maximumAmount = maximumAmount;
+      return this;
+    }
+
+    public Builder remarksContaining(String remarksContaining) {
+      this.remarksContaining = remarksContaining;
+      return this;
+    }
+
+    public TransactionQuery build() {
+      return new TransactionQuery(transactionDateFrom, transactionDateTo, minimumAmount, maximumAmount, remarksContaining);
+    }
+  }
+}
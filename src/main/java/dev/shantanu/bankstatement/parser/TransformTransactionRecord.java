@@ -5,17 +5,18 @@ import static dev.shantanu.bankstatement.parser.ExcelSearchStatementParser.CONFI
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
 import dev.shantanu.bankstatement.common.TransactionRecord;
 import dev.shantanu.bankstatement.config.ColumnField;
+import dev.shantanu.bankstatement.config.TableTerminatorConfig;
 import dev.shantanu.bankstatement.config.TransactionTableConfig;
 import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
 import dev.shantanu.bankstatement.error.ErrorCode;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -24,15 +25,14 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.Strings;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellRangeAddress;
@@ -46,11 +46,20 @@ public record TransformTransactionRecord() {
   public static final String CONFIG_KEY_DATA_TYPE = "dataType";
   public static final String CONFIG_KEY_VALUE = "value";
   public static final String ERROR = "error";
+  public static final String CONFIG_KEY_TERMINATOR = "terminator";
+  private static final String DATA_TYPE_STRING = "String";
   private static final Logger logger = LoggerFactory.getLogger(TransformTransactionRecord.class);
-  private static final int MAX_CONSECUTIVE_BLANK_ROWS = 3;
-  private static final AtomicInteger consecutiveBlankRows = new AtomicInteger(0);
+  private static final Pattern CURRENCY_MARKERS = Pattern.compile("(?i)INR|RS|CR|DR");
+  private static final DateTimeFormatter[] DATE_FORMATTERS = Stream.of("dd/MM/yyyy", "dd-MM-yyyy", "yyyy-MM-dd", "d/M/yyyy")
+    .map(DateTimeFormatter::ofPattern)
+    .toArray(DateTimeFormatter[]::new);
 
-  private static @NotNull JsonObject parseDataInTransactionRow(JsonObject jsonObject) {
+  /**
+   * Converts one cell. A value that can't be converted is left out of the output and recorded in the context's error
+   * log; blank values are missing rather than invalid.
+   */
+  private static @NotNull JsonObject parseDataInTransactionRow(JsonObject jsonObject, ParseContext context,
+                                                               int rowIndex, int columnIndex) {
     JsonObject outputJson = new JsonObject();
     String dataType = jsonObject.get(CONFIG_KEY_DATA_TYPE).getAsString();
 
@@ -58,74 +67,95 @@ public record TransformTransactionRecord() {
     String recordValue = jsonObject.get(CONFIG_KEY_VALUE).getAsString();
 
     switch (dataType) {
-      case "int" -> parseNumericValues(recordValue, outputJson, recordKey);
-      case "LocalDate" -> parseDateValues(recordValue, outputJson, recordKey);
-      case "BigDecimal" -> parseDecimalValues(recordValue, outputJson, recordKey);
-      case "String" -> outputJson.addProperty(recordKey, recordValue);
+      case "int" -> {
+        Integer value = toInteger(recordValue);
+        if (value != null) {
+          outputJson.addProperty(recordKey, value);
+        } else if (StringUtils.isNotBlank(recordValue)) {
+          context.recordError(ConversionErrorCode.INVALID_INTEGER, rowIndex, columnIndex, recordValue);
+        }
+      }
+      case "LocalDate" -> {
+        LocalDate value = toLocalDate(recordValue);
+        if (value != null) {
+          outputJson.addProperty(recordKey, String.valueOf(value));
+        } else if (StringUtils.isNotBlank(recordValue)) {
+          context.recordError(ConversionErrorCode.INVALID_DATE, rowIndex, columnIndex, recordValue);
+        }
+      }
+      case "BigDecimal" -> {
+        BigDecimal value = toBigDecimal(recordValue);
+        if (value != null) {
+          outputJson.addProperty(recordKey, value);
+        } else {
+          context.recordError(ConversionErrorCode.INVALID_AMOUNT, rowIndex, columnIndex, recordValue);
+        }
+      }
+      case DATA_TYPE_STRING -> outputJson.addProperty(recordKey, recordValue);
       default -> throw new IllegalStateException("Not supported data-type for conversion: " + dataType);
     }
     return outputJson;
   }
 
-  private static void parseNumericValues(String recordValue, JsonObject outputJson, String recordKey) {
+  /**
+   * @return the value as {@code int} column or {@code null} when it is not an integer
+   */
+  static Integer toInteger(String recordValue) {
     try {
-      int value = Integer.parseInt(recordValue);
-      outputJson.addProperty(recordKey, value);
+      return Integer.parseInt(recordValue);
     } catch (NumberFormatException _) {
-      outputJson.addProperty(TransformTransactionRecord.ERROR, String.format("Error parsing  %s as integer value.", recordValue));
-      outputJson.addProperty(recordKey, recordValue);
+      return null;
     }
   }
 
-  private static void parseDecimalValues(String recordValue, JsonObject outputJson, String recordKey) {
+  /**
+   * Parses amounts such as {@code 1,234.50}, {@code ₹ 60.00 CR} or {@code (80.00)}; blank values are zero.
+   *
+   * @return the value as {@code BigDecimal} column or {@code null} when it is not an amount
+   */
+  static BigDecimal toBigDecimal(String recordValue) {
     try {
       String s = recordValue == null ? "" : recordValue.trim();
       s = s.replace("₹", "");
-      s = s.replaceAll("(?i)INR|RS|CR|DR", "");
+      s = CURRENCY_MARKERS.matcher(s).replaceAll("");
       boolean negative = false;
       if (s.startsWith("(") && s.endsWith(")")) {
         negative = true;
         s = s.substring(1, s.length() - 1);
       }
-      s = s.replace(",", "").replace("\\s+", "");
+      s = StringUtils.deleteWhitespace(s.replace(",", ""));
       BigDecimal value = StringUtils.isBlank(s) ? BigDecimal.valueOf(0.0) : new BigDecimal(s);
-      if (negative) value = value.negate();
-      outputJson.addProperty(recordKey, value);
-    } catch (Exception _) {
-      outputJson.addProperty(TransformTransactionRecord.ERROR, String.format("Error parsing  %s as BigDecimal value", recordValue));
-      outputJson.addProperty(recordKey, recordValue);
+      return negative ? value.negate() : value;
+    } catch (NumberFormatException _) {
+      return null;
     }
   }
 
-  private static void parseDateValues(String recordValue, JsonObject outputJson, String recordKey) {
-    final String[] patterns = {"dd/MM/yyyy", "dd-MM-yyyy", "yyyy-MM-dd", "d/M/yyyy"};
-    Optional<LocalDate> parsedDate = Arrays.stream(patterns)
-      .map(pattern -> {
-        try {
-          return Optional.of(LocalDate.parse(recordValue, DateTimeFormatter.ofPattern(pattern)));
-        } catch (DateTimeParseException _) {
-          return Optional.<LocalDate>empty();
-        }
-      })
-      .filter(Optional::isPresent)
-      .map(Optional::get)
-      .findFirst();
-
-    if (parsedDate.isPresent()) {
-      outputJson.addProperty(recordKey, String.valueOf(parsedDate.get()));
-    } else {
-      outputJson.addProperty(TransformTransactionRecord.ERROR, String.format("Error parsing %s as LocalDate value.", recordValue));
-      outputJson.addProperty(recordKey, recordValue);
+  /**
+   * @return the value as {@code LocalDate} column, trying every supported date pattern, or {@code null}
+   */
+  static LocalDate toLocalDate(String recordValue) {
+    if (recordValue == null) {
+      return null;
+    }
+    for (DateTimeFormatter dateFormatter : DATE_FORMATTERS) {
+      try {
+        return LocalDate.parse(recordValue, dateFormatter);
+      } catch (DateTimeParseException _) {
+        // try the next pattern
+      }
     }
+    return null;
   }
 
-  private static @NotNull JsonObject applyColumnFieldConfig(Row rowToRead, Entry<ColumnField, Integer> entry, DataFormatter formatter, FormulaEvaluator evaluator) {
+  private static @NotNull JsonObject applyColumnFieldConfig(Row rowToRead, Entry<ColumnField, Integer> entry, ParseContext context) {
     String columnName = entry.getKey().displayName();
     String mappedTo = entry.getKey().mappedTo();
     String dataType = entry.getKey().dataType();
     Cell cell = rowToRead.getCell(entry.getValue());
 
-    String recordValue = (cell == null) ? "" : formatter.formatCellValue(cell, evaluator);
+    // Free text columns repeat heavily across rows, keep one instance per distinct value
+    String recordValue = DATA_TYPE_STRING.equals(dataType) ? context.dictionaryCellValue(cell) : context.formatCellValue(cell);
 
     JsonObject jsonObject = new JsonObject();
     jsonObject.addProperty(CONFIG_KEY_MAPPED_TO, mappedTo);
@@ -135,14 +165,133 @@ public record TransformTransactionRecord() {
     return jsonObject;
   }
 
-  Set<TransactionRecord> getTransactions(Sheet sheet, List<String> searchFor,
-                                         TransactionTableConfig transactionTableConfig) {
+  /**
+   * Reads the transaction rows as {@link LazyTransactionRecord} views. Only the cell text is read here; typed fields
+   * are converted when first accessed.
+   */
+  List<LazyTransactionRecord> getLazyTransactions(Sheet sheet, int transactionStartRow,
+                                                  TransactionTableConfig transactionTableConfig,
+                                                  Map<ColumnField, Integer> columnNameToIndexMap, ParseOptions parseOptions,
+                                                  BudgetTracker budget) {
+    ParseContext context = new ParseContext(sheet, parseOptions, budget);
+    TableTerminator terminator = new TableTerminator(transactionTableConfig.terminator(), columnNameToIndexMap);
+
+    List<LazyTransactionRecord> transactionRecords = new ArrayList<>();
+    for (int i = transactionStartRow; i <= sheet.getLastRowNum(); i++) {
+      budget.countRow();
+      Row row = sheet.getRow(i);
+      TableTerminator.RowKind rowKind = terminator.classify(row, context);
+      if (rowKind == TableTerminator.RowKind.END) {
+        break;
+      }
+      if (rowKind == TableTerminator.RowKind.TRANSACTION) {
+        transactionRecords.add(readRawValues(row, columnNameToIndexMap, context));
+      }
+    }
+
+    logger.debug("Read {} lazy transactions", transactionRecords.size());
+    return transactionRecords;
+  }
+
+  private static LazyTransactionRecord readRawValues(Row row, Map<ColumnField, Integer> columnMap, ParseContext context) {
+    String[] rawValues = new String[LazyTransactionRecord.FIELD_COUNT];
+    columnMap.forEach((columnField, columnIndex) -> {
+      LazyTransactionRecord.Field field = LazyTransactionRecord.Field.forMappedTo(columnField.mappedTo());
+      if (field != null && columnIndex >= 0) {
+        Cell cell = row.getCell(columnIndex);
+        rawValues[field.ordinal()] = DATA_TYPE_STRING.equals(columnField.dataType())
+          ? context.dictionaryCellValue(cell)
+          : context.formatCellValue(cell);
+      }
+    });
+    return new LazyTransactionRecord(rawValues);
+  }
+
+  /**
+   * Tells worksheets holding a transactions table from cover and legend sheets: the sheet must contain the table title
+   * or a row with at least {@link TableTerminatorConfig#minimumColumns()} of the configured column headers. Only string
+   * cells are inspected.
+   */
+  boolean containsTransactionsTable(Sheet sheet, List<String> searchFor, TransactionTableConfig transactionTableConfig,
+                                    BudgetTracker budget) {
+    List<String> keywords = searchFor.stream().map(keyword -> keyword.trim().toLowerCase()).toList();
+    List<String> headers = normalizedHeaders(transactionTableConfig);
+    for (Row row : sheet) {
+      budget.countRow();
+      int headerCells = 0;
+      for (Cell cell : row) {
+        String value = normalizedStringValue(cell);
+        if (value.isEmpty()) {
+          continue;
+        }
+        if (keywords.stream().anyMatch(value::contains)) {
+          return true;
+        }
+        if (isHeader(headers, value)) {
+          headerCells++;
+        }
+      }
+      if (headerCells >= transactionTableConfig.terminator().minimumColumns()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same header test as {@link #containsTransactionsTable}, on a single row: at least
+   * {@link TableTerminatorConfig#minimumColumns()} of its string cells are configured column headers.
+   */
+  boolean isTransactionHeaderRow(Row row, TransactionTableConfig transactionTableConfig) {
+    List<String> headers = normalizedHeaders(transactionTableConfig);
+    int headerCells = 0;
+    for (Cell cell : row) {
+      String value = normalizedStringValue(cell);
+      if (!value.isEmpty() && isHeader(headers, value)) {
+        headerCells++;
+      }
+    }
+    return headerCells >= transactionTableConfig.terminator().minimumColumns();
+  }
+
+  /**
+   * Same as {@link #isTransactionHeaderRow(Row, TransactionTableConfig)} for a row of text cells.
+   */
+  boolean isTransactionHeader(List<String> cellTexts, TransactionTableConfig transactionTableConfig) {
+    List<String> headers = normalizedHeaders(transactionTableConfig);
+    long headerCells = cellTexts.stream()
+      .map(SheetLayout::normalize)
+      .filter(value -> !value.isEmpty() && isHeader(headers, value))
+      .count();
+    return headerCells >= transactionTableConfig.terminator().minimumColumns();
+  }
+
+  private static List<String> normalizedHeaders(TransactionTableConfig transactionTableConfig) {
+    return transactionTableConfig.columnFields().stream()
+      .map(columnField -> SheetLayout.normalize(columnField.displayName()))
+      .toList();
+  }
+
+  private static String normalizedStringValue(Cell cell) {
+    return cell.getCellType() == CellType.STRING ? SheetLayout.normalize(cell.getStringCellValue()) : "";
+  }
+
+  private static boolean isHeader(List<String> headers, String value) {
+    return headers.stream().anyMatch(header -> header.contains(value) || value.contains(header));
+  }
 
+  /**
+   * Finds the transactions title and header row starting at the active cell and maps every configured column to its
+   * index in the header row, {@code -1} when not found. Leaves the active cell on the header row.
+   */
+  Map<ColumnField, Integer> locateTransactionColumns(Sheet sheet, List<String> searchFor,
+                                                    TransactionTableConfig transactionTableConfig, BudgetTracker budget) {
     int startRowNumber = sheet.getActiveCell().getRow();
     int physicalNumberOfRows = sheet.getPhysicalNumberOfRows();
 
     //Look for Title (can be skipped) = Transactions List
     for (int i = startRowNumber; i < physicalNumberOfRows; i++) {
+      budget.countRow();
       Row row = sheet.getRow(i);
       String stringValueInCurrentRow = ParserUtils.findStringValueInCurrentRow(sheet, row, searchFor);
       if (StringUtils.isNotEmpty(stringValueInCurrentRow)) {
@@ -154,18 +303,34 @@ public record TransformTransactionRecord() {
     List<ColumnField> columnFields = transactionTableConfig.columnFields();
 
     for (int i = startRowNumber; i < physicalNumberOfRows; i++) {
+      budget.countRow();
       Row row = sheet.getRow(i);
       List<String> displayNames = columnFields.stream().map(ColumnField::displayName).toList();
       if (Objects.nonNull(ParserUtils.findStringValueInCurrentRow(sheet, row, displayNames)))
         break;
     }
     Row headerRow = sheet.getRow(sheet.getActiveCell().getRow());
-    Map<String, Integer> headerIndexMap = buildTransactionHeaderRowToIndexMap(headerRow);
+    return mapTransactionColumns(buildTransactionHeaderRowToIndexMap(headerRow), columnFields);
+  }
+
+  /**
+   * Maps every configured column to its index in a header row of text cells, {@code -1} when not found.
+   */
+  Map<ColumnField, Integer> mapTransactionColumns(List<String> headerTexts, TransactionTableConfig transactionTableConfig) {
+    Map<String, Integer> headerIndexMap = new HashMap<>();
+    for (int c = 0; c < headerTexts.size(); c++) {
+      String norm = SheetLayout.normalize(headerTexts.get(c));
+      if (!norm.isEmpty()) headerIndexMap.put(norm, c);
+    }
+    return mapTransactionColumns(headerIndexMap, transactionTableConfig.columnFields());
+  }
 
+  private static Map<ColumnField, Integer> mapTransactionColumns(Map<String, Integer> headerIndexMap,
+                                                                 List<ColumnField> columnFields) {
     Map<ColumnField, Integer> columnNameToIndexMap = columnFields.stream().collect(
       Collectors.toMap(
         Function.identity(), cf -> {
-          String target = cf.displayName().trim().toLowerCase().replaceAll("\\s+", " ");
+          String target = SheetLayout.normalize(cf.displayName());
           Integer idx = headerIndexMap.get(target);
           if (idx != null) return idx;
           // fallback: contains
@@ -181,8 +346,7 @@ public record TransformTransactionRecord() {
         "Could not find transactions in the input file",
         new IllegalStateException());
     }
-    int transactionStartRow = sheet.getActiveCell().getRow() + 1;
-    return readAndMapTransactions(sheet, transactionStartRow, transactionTableConfig, columnNameToIndexMap);
+    return columnNameToIndexMap;
   }
 
   private static @NotNull Map<String, Integer> buildTransactionHeaderRowToIndexMap(Row headerRow) {
@@ -192,7 +356,7 @@ public record TransformTransactionRecord() {
     for (int c = headerRow.getFirstCellNum(); c < headerRow.getLastCellNum(); c++) {
       Cell hc = headerRow.getCell(c);
       String hv = (hc == null) ? "" : headerFormatter.formatCellValue(hc);
-      String norm = hv == null ? "" : hv.trim().toLowerCase().replaceAll("\\s+", " ");
+      String norm = SheetLayout.normalize(hv);
       if (!norm.isEmpty()) headerIndexMap.put(norm, c);
     }
 
@@ -201,60 +365,81 @@ public record TransformTransactionRecord() {
 
   /**
    * Reads and maps rows from the sheet into TransactionRecord objects.
-   * Stops processing after encountering 3 or more consecutive blank rows.
+   * Stops processing where the table's {@link TableTerminator} ends the table, or at the first row dated after the query.
+   * Rows outside the query are skipped before they are converted. Every kept record is fed to the context's summary.
+   * Every row read counts against the context's budget.
    *
    * @param sheet                  The sheet containing transaction data
    * @param startingRow            The row number to start processing from (0-based)
    * @param transactionTableConfig Configuration for the transaction table
    * @param columnNameToIndexMap   Mapping of column fields to their indices
+   * @param context                Per-parse formatter, evaluator, string dictionary and summary
+   * @param query                  Transactions to keep, {@link TransactionQuery#ALL} for every row
    * @return Set of parsed TransactionRecord objects
    */
   @NotNull
   Set<TransactionRecord> readAndMapTransactions(Sheet sheet, int startingRow,
                                                 TransactionTableConfig transactionTableConfig,
-                                                Map<ColumnField, Integer> columnNameToIndexMap) {
-
-    DataFormatter formatter = new DataFormatter();
-    FormulaEvaluator evaluator = sheet.getWorkbook().getCreationHelper().createFormulaEvaluator();
-
-    Set<TransactionRecord> transactionRecords = IntStream.range(startingRow, sheet.getPhysicalNumberOfRows())
-      .mapToObj(sheet::getRow)
-      .takeWhile(row -> shouldContinueProcessing(row, columnNameToIndexMap, formatter, evaluator))
-      .map(row -> createTransactionRecord(row, columnNameToIndexMap, formatter, evaluator, transactionTableConfig))
-      .filter(Objects::nonNull)
-      .collect(Collectors.toCollection(LinkedHashSet::new));
-
-    logProcessingResults(transactionRecords);
-    return transactionRecords;
+                                                Map<ColumnField, Integer> columnNameToIndexMap,
+                                                ParseContext context, TransactionQuery query) {
+    return readAndMapTransactions(RowSource.of(sheet), startingRow, transactionTableConfig, columnNameToIndexMap, context, query);
   }
 
   /**
-   * Determines if processing should continue based on blank row detection.
+   * Same as {@link #readAndMapTransactions(Sheet, int, TransactionTableConfig, Map, ParseContext, TransactionQuery)}
+   * on rows asked for one after the other, as a streamed sheet reads them.
    */
-  private boolean shouldContinueProcessing(Row currentRow,
-                                           Map<ColumnField, Integer> columnMap,
-                                           DataFormatter formatter,
-                                           FormulaEvaluator evaluator) {
-    if (currentRow == null || isRowBlank(columnMap, currentRow, formatter, evaluator)) {
-      return consecutiveBlankRows.incrementAndGet() <= MAX_CONSECUTIVE_BLANK_ROWS;
-    } else {
-      consecutiveBlankRows.set(0);
+  @NotNull
+  Set<TransactionRecord> readAndMapTransactions(RowSource sheet, int startingRow,
+                                                TransactionTableConfig transactionTableConfig,
+                                                Map<ColumnField, Integer> columnNameToIndexMap,
+                                                ParseContext context, TransactionQuery query) {
+
+    QueryRowFilter rowFilter = new QueryRowFilter(query, columnNameToIndexMap);
+    TableTerminator terminator = new TableTerminator(transactionTableConfig.terminator(), columnNameToIndexMap);
+    Set<TransactionRecord> transactionRecords = new LinkedHashSet<>();
+    for (int i = startingRow; i <= sheet.getLastRowNum() && !terminator.isEnded(); i++) {
+      context.budget().countRow();
+      Row row = sheet.getRow(i);
+      TableTerminator.RowKind rowKind = terminator.classify(row, context);
+      if (rowKind == TableTerminator.RowKind.END || rowFilter.isPastDateRange(row, context)) {
+        break;
+      }
+      if (rowKind == TableTerminator.RowKind.SKIP || !rowFilter.matches(row, context)) {
+        continue;
+      }
+      TransactionRecord transactionRecord = createTransactionRecord(row, columnNameToIndexMap, context, terminator);
+      if (transactionRecord != null && rowFilter.matches(transactionRecord) && transactionRecords.add(transactionRecord)) {
+        context.aggregate(transactionRecord);
+      }
     }
-    return true;
+
+    logProcessingResults(transactionRecords);
+    return transactionRecords;
   }
 
   /**
-   * Creates a TransactionRecord from a row if it's valid.
+   * Creates a TransactionRecord from a row unless its conversion errors exceed the terminator's limit. The record's
+   * {@link TransactionRecord#error()} names the error codes of the row.
    */
   private TransactionRecord createTransactionRecord(Row row,
                                                     Map<ColumnField, Integer> columnMap,
-                                                    DataFormatter formatter,
-                                                    FormulaEvaluator evaluator,
-                                                    TransactionTableConfig config) {
-    return Optional.ofNullable(processRowToJson(row, columnMap, formatter, evaluator))
-      .filter(json -> isValidTransactionRecord(json, config.columnFields()))
-      .map(json -> GSON.instance().fromJson(json, TransactionRecord.class))
-      .orElse(null);
+                                                    ParseContext context,
+                                                    TableTerminator terminator) {
+    context.beginRow();
+    JsonObject json = processRowToJson(row, columnMap, context);
+    if (json == null) {
+      return null;
+    }
+    if (terminator.hasTooManyErrors(context.rowErrorCount())) {
+      context.recordError(ConversionErrorCode.ROW_REJECTED, row.getRowNum(), -1, null);
+      return null;
+    }
+    String error = ConversionErrorCode.describe(context.rowErrorMask());
+    if (error != null) {
+      json.addProperty(ERROR, error);
+    }
+    return GSON.instance().fromJson(json, TransactionRecord.class);
   }
 
   /**
@@ -262,28 +447,19 @@ public record TransformTransactionRecord() {
    */
   private JsonObject processRowToJson(Row row,
                                       Map<ColumnField, Integer> columnMap,
-                                      DataFormatter formatter,
-                                      FormulaEvaluator evaluator) {
+                                      ParseContext context) {
     return columnMap.entrySet().stream()
-      .map(entry -> applyColumnFieldConfig(row, entry, formatter, evaluator))
-      .map(TransformTransactionRecord::parseDataInTransactionRow)
+      .filter(entry -> entry.getValue() >= 0)
+      .map(entry -> parseDataInTransactionRow(applyColumnFieldConfig(row, entry, context), context, row.getRowNum(), entry.getValue()))
       .reduce(this::mergeJsonObjects)
       .orElse(null);
   }
 
   /**
-   * Merges two JsonObjects, combining error messages when necessary.
+   * Merges two JsonObjects, keeping the first value of a key.
    */
   private JsonObject mergeJsonObjects(JsonObject first, JsonObject second) {
-    second.keySet().forEach(key -> {
-      if (Strings.CI.equals(ERROR, key)) {
-        first.asMap().computeIfPresent(key, (_, v) ->
-          new JsonPrimitive(v.getAsString() + "|" + second.get(key).getAsString())
-        );
-      } else {
-        first.asMap().putIfAbsent(key, second.get(key));
-      }
-    });
+    second.asMap().forEach(first.asMap()::putIfAbsent);
     return first;
   }
 
@@ -304,48 +480,17 @@ public record TransformTransactionRecord() {
     }
   }
 
-  private static boolean isRowBlank(Map<ColumnField, Integer> columnNameToIndexMap, Row currentRow, DataFormatter formatter, FormulaEvaluator evaluator) {
-    return columnNameToIndexMap.values().stream().allMatch(colIdx -> {
-      if (colIdx == null || colIdx < 0) return true;
-      Cell c = currentRow.getCell(colIdx);
-      String v = (c == null) ? "" : formatter.formatCellValue(c, evaluator).trim();
-      return v.isEmpty();
-    });
-  }
-
   /**
-   * Helps to determine if we are reading beyond transaction table rows.
+   * Returns the {@code Optional<CellRangeAddress>} if the cell is in the merged-region. Every merged region of the
+   * sheet counts as a row scanned.
    *
-   * @param jsonObject   JsonObject
-   * @param columnFields List<ColumnField>
-   * @return boolean true - when we can read at least 4 non-null/non-empty values else false
-   */
-  private boolean isValidTransactionRecord(JsonObject jsonObject, List<ColumnField> columnFields) {
-    List<String> mappedToPropertiesList = columnFields.stream().map(ColumnField::mappedTo).toList();
-    Map<String, JsonElement> map = jsonObject.asMap();
-
-    //If we read less than 4 values, we are sure we are out of the transaction table range.
-    long numberOfColumnsParsed = mappedToPropertiesList.stream()
-      .filter(key -> {
-        JsonElement el = map.get(key);
-        return el != null && !el.isJsonNull() && StringUtils.isNotBlank(el.getAsString());
-      })
-      .count();
-    JsonElement errors = jsonObject.get(ERROR);
-    if (errors != null && errors.getAsString().split("\\|").length > 3) {
-      return false;
-    }
-    return numberOfColumnsParsed >= 5;
-  }
-
-  /**
-   * Returns the {@code Optional<CellRangeAddress>} if the cell is in the merged-region
-   *
-   * @param sheet sheet of the account statement
-   * @param cell  cell to check
+   * @param sheet  sheet of the account statement
+   * @param cell   cell to check
+   * @param budget budget the regions scanned are counted against
    * @return CellRangeAddress of the merged-region or else Optional.empty()
    */
-  Optional<CellRangeAddress> mergedCellAddressOptional(Sheet sheet, Cell cell) {
+  Optional<CellRangeAddress> mergedCellAddressOptional(Sheet sheet, Cell cell, BudgetTracker budget) {
+    budget.countRows(sheet.getNumMergedRegions());
     return sheet.getMergedRegions()
       .stream()
       .filter(cellAddress -> cellAddress.isInRange(cell))
@@ -361,8 +506,29 @@ public record TransformTransactionRecord() {
         .map(JsonElement::getAsJsonObject)
         .map(jsonObject -> GSON.instance().fromJson(jsonObject, ColumnField.class))
         .toList();
-      return new TransactionTableConfig(table.get("headerRowOffset").getAsInt(), columnFields);
+      TableTerminatorConfig terminator = table.has(CONFIG_KEY_TERMINATOR)
+        ? getTableTerminatorConfig(table.getAsJsonObject(CONFIG_KEY_TERMINATOR))
+        : TableTerminatorConfig.DEFAULT;
+      return new TransactionTableConfig(table.get("headerRowOffset").getAsInt(), columnFields, terminator);
     }
     return null;
   }
+
+  private static TableTerminatorConfig getTableTerminatorConfig(JsonObject terminator) {
+    TableTerminatorConfig defaults = TableTerminatorConfig.DEFAULT;
+    List<String> footerKeywords = terminator.has("footerKeywords")
+      ? terminator.getAsJsonArray("footerKeywords").asList().stream().map(JsonElement::getAsString).toList()
+      : defaults.footerKeywords();
+    return new TableTerminatorConfig(
+      getIntOrDefault(terminator, "blankRows", defaults.blankRows()),
+      footerKeywords,
+      getIntOrDefault(terminator, "minimumColumns", defaults.minimumColumns()),
+      getIntOrDefault(terminator, "maximumErrors", defaults.maximumErrors()),
+      getIntOrDefault(terminator, "invalidRows", defaults.invalidRows()));
+  }
+
+  private static int getIntOrDefault(JsonObject jsonObject, String key, int defaultValue) {
+    JsonElement value = jsonObject.get(key);
+    return value == null || value.isJsonNull() ? defaultValue : value.getAsInt();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.util.XMLHelper;
+
+/**
+ * Number format of every cell style of an .xlsx file, the only part of {@code styles.xml} needed to format cell values.
+ * Keeps one {@code int} per cell style and the custom format strings instead of the styles table.
+ */
+final class XlsxNumberFormats {
+  static final XlsxNumberFormats NONE = new XlsxNumberFormats(new int[0], Map.of());
+  private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+  private final int[] styleFormats;
+  private final Map<Integer, String> customFormats;
+
+  private XlsxNumberFormats(int[] styleFormats, Map<Integer, String> customFormats) {
+    this.styleFormats = styleFormats;
+    this.customFormats = customFormats;
+  }
+
+  static XlsxNumberFormats read(InputStream stylesXml) throws IOException {
+    int[] styleFormats = new int[16];
+    int styles = 0;
+    Map<Integer, String> customFormats = new HashMap<>();
+    try {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stylesXml);
+      boolean inCellXfs = false;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "numFmt" -> customFormats.put(Integer.parseInt(reader.getAttributeValue(null, "numFmtId")),
+              reader.getAttributeValue(null, "formatCode"));
+            case "cellXfs" -> inCellXfs = true;
+            case "xf" -> {
+              if (inCellXfs) {
+                if (styles == styleFormats.length) {
+                  styleFormats = Arrays.copyOf(styleFormats, styles * 2);
+                }
+                String numFmtId = reader.getAttributeValue(null, "numFmtId");
+                styleFormats[styles++] = numFmtId == null ? 0 : Integer.parseInt(numFmtId);
+              }
+            }
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("cellXfs")) {
+          inCellXfs = false;
+        }
+      }
+    } catch (XMLStreamException | NumberFormatException e) {
+      throw new IOException("Malformed styles part", e);
+    }
+    return new XlsxNumberFormats(Arrays.copyOf(styleFormats, styles), customFormats);
+  }
+
+  /**
+   * @param styleIndex the {@code s} attribute of a cell
+   * @return number format id of the cell style, {@code 0} (General) for an unknown style
+   */
+  int formatIndex(int styleIndex) {
+    return styleIndex >= 0 && styleIndex < styleFormats.length ? styleFormats[styleIndex] : 0;
+  }
+
+  boolean isCustom(int formatIndex) {
+    return customFormats.containsKey(formatIndex);
+  }
+
+  String formatString(int formatIndex) {
+    String formatString = customFormats.get(formatIndex);
+    if (formatString == null) {
+      formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+    }
+    return formatString == null ? "General" : formatString;
+  }
+}
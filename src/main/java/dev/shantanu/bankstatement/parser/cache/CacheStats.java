@@ -0,0 +1,16 @@
+package dev.shantanu.bankstatement.parser.cache;
+
+/**
+ * Point-in-time snapshot of {@link StatementCache} counters.
+ */
+public record CacheStats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {
+
+  public long requests() {
+    return hits + misses;
+  }
+
+  public double hitRate() {
+    long requests = requests();
+    return requests == 0 ? 0.0 : (double) hits / requests;
+  }
+}
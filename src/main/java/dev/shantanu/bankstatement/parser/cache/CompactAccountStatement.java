@@ -0,0 +1,156 @@
+package dev.shantanu.bankstatement.parser.cache;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import dev.shantanu.bankstatement.parser.model.StatementSummary;
+import dev.shantanu.bankstatement.parser.model.TransactionInfo;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Column oriented, boxing free copy of an {@link AccountStatement} used as the cached representation.
+ * Dates are kept as epoch days and amounts as unscaled {@code long} plus scale, so a statement costs a handful of
+ * primitive arrays instead of one record, two {@link LocalDate} and three {@link BigDecimal} objects per row.
+ */
+public final class CompactAccountStatement {
+  private static final int NO_DATE = Integer.MIN_VALUE;
+  private static final byte NO_AMOUNT = Byte.MIN_VALUE;
+  private static final int AMOUNTS_PER_ROW = 3;
+  private static final long OBJECT_OVERHEAD_BYTES = 16;
+  private static final long STRING_OVERHEAD_BYTES = 40;
+  private static final long SUMMARY_ENTRY_BYTES = 128;
+
+  private final TransactionInfo transactionInfo;
+  private final StatementSummary summary;
+  private final ParseErrorReport parseErrors;
+  private final int[] serialNumbers;
+  private final int[] valueDates;
+  private final int[] transactionDates;
+  private final String[] checkNumbers;
+  private final String[] remarks;
+  private final long[] unscaledAmounts;
+  private final byte[] amountScales;
+  private final String[] errors;
+  private final long columnBytes;
+
+  private CompactAccountStatement(TransactionInfo transactionInfo, StatementSummary summary, ParseErrorReport parseErrors,
+                                  int rows) {
+    this.transactionInfo = transactionInfo;
+    this.summary = summary;
+    this.parseErrors = parseErrors;
+    this.serialNumbers = new int[rows];
+    this.valueDates = new int[rows];
+    this.transactionDates = new int[rows];
+    this.checkNumbers = new String[rows];
+    this.remarks = new String[rows];
+    this.unscaledAmounts = new long[rows * AMOUNTS_PER_ROW];
+    this.amountScales = new byte[rows * AMOUNTS_PER_ROW];
+    this.errors = new String[rows];
+    this.columnBytes = OBJECT_OVERHEAD_BYTES * 10
+      + (long) rows * (Integer.BYTES * 3 + AMOUNTS_PER_ROW * (Long.BYTES + 1) + 3L * 4);
+  }
+
+  /**
+   * Compacts the statement, or returns {@code Optional.empty()} when one of its amounts does not fit the compact
+   * representation (unscaled value wider than 63 bits or scale outside a byte), in which case it is not cached.
+   */
+  public static Optional<CompactAccountStatement> of(AccountStatement accountStatement) {
+    Set<TransactionRecord> records = accountStatement.transactionRecords();
+    CompactAccountStatement compact = new CompactAccountStatement(accountStatement.transactionInfo(),
+      accountStatement.summary(), accountStatement.errors(), records.size());
+    int row = 0;
+    for (TransactionRecord transactionRecord : records) {
+      compact.serialNumbers[row] = transactionRecord.serialNumber();
+      compact.valueDates[row] = toEpochDay(transactionRecord.valueDate());
+      compact.transactionDates[row] = toEpochDay(transactionRecord.transactionDate());
+      compact.checkNumbers[row] = transactionRecord.checkNumber();
+      compact.remarks[row] = transactionRecord.transactionRemarks();
+      compact.errors[row] = transactionRecord.error();
+      int amountIndex = row * AMOUNTS_PER_ROW;
+      if (!compact.setAmount(amountIndex, transactionRecord.withdrawalAmount())
+        || !compact.setAmount(amountIndex + 1, transactionRecord.depositAmount())
+        || !compact.setAmount(amountIndex + 2, transactionRecord.balance())) {
+        return Optional.empty();
+      }
+      row++;
+    }
+    return Optional.of(compact);
+  }
+
+  public AccountStatement toAccountStatement() {
+    Set<TransactionRecord> records = new LinkedHashSet<>();
+    for (int row = 0; row < serialNumbers.length; row++) {
+      int amountIndex = row * AMOUNTS_PER_ROW;
+      records.add(new TransactionRecord(serialNumbers[row],
+        toLocalDate(valueDates[row]),
+        toLocalDate(transactionDates[row]),
+        checkNumbers[row],
+        remarks[row],
+        getAmount(amountIndex),
+        getAmount(amountIndex + 1),
+        getAmount(amountIndex + 2),
+        errors[row]));
+    }
+    return new AccountStatement(transactionInfo, records, summary, parseErrors);
+  }
+
+  public int size() {
+    return serialNumbers.length;
+  }
+
+  /**
+   * Approximate retained size in bytes: the primitive columns, every distinct string instance referenced, the
+   * summary entries and the sampled parse errors.
+   */
+  public long estimatedBytes() {
+    Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    long stringBytes = 0;
+    for (String[] column : new String[][]{checkNumbers, remarks, errors}) {
+      for (String value : column) {
+        if (value != null && distinct.add(value)) {
+          stringBytes += STRING_OVERHEAD_BYTES + value.length();
+        }
+      }
+    }
+    long summaryBytes = summary == null
+      ? 0
+      : SUMMARY_ENTRY_BYTES * (1 + summary.monthlyTotals().size() + summary.dailyTotals().size() + summary.channelCounts().size());
+    long parseErrorBytes = SUMMARY_ENTRY_BYTES * (parseErrors.counts().size() + parseErrors.samples().size());
+    return columnBytes + stringBytes + summaryBytes + parseErrorBytes;
+  }
+
+  private boolean setAmount(int index, BigDecimal amount) {
+    if (amount == null) {
+      amountScales[index] = NO_AMOUNT;
+      return true;
+    }
+    BigInteger unscaled = amount.unscaledValue();
+    int scale = amount.scale();
+    if (unscaled.bitLength() > 63 || scale <= NO_AMOUNT || scale > Byte.MAX_VALUE) {
+      return false;
+    }
+    unscaledAmounts[index] = unscaled.longValue();
+    amountScales[index] = (byte) scale;
+    return true;
+  }
+
+  private BigDecimal getAmount(int index) {
+    byte scale = amountScales[index];
+    return scale == NO_AMOUNT ? null : BigDecimal.valueOf(unscaledAmounts[index], scale);
+  }
+
+  private static int toEpochDay(LocalDate date) {
+    return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+  }
+
+  private static LocalDate toLocalDate(int epochDay) {
+    return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+  }
+}
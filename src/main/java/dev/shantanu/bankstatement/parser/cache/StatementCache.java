@@ -0,0 +1,164 @@
+package dev.shantanu.bankstatement.parser.cache;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Byte-budgeted LRU cache of parsed statements. Entries are stored as {@link CompactAccountStatement} and weighed by
+ * {@link CompactAccountStatement#estimatedBytes()}; the least recently used entries are evicted once the budget is
+ * exceeded. A single instance is safe to share between threads and parsers.
+ */
+public final class StatementCache {
+  private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+  private static final int MAX_REMEMBERED_DIGESTS = 1024;
+  private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+  // Coarsest modification time resolution of common file systems (FAT keeps 2 seconds)
+  private static final Duration MTIME_GRANULARITY = Duration.ofSeconds(2);
+
+  private final long maxBytes;
+  private final LinkedHashMap<StatementCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<FileStamp, String> digests = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<FileStamp, String> eldest) {
+      return size() > MAX_REMEMBERED_DIGESTS;
+    }
+  };
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public StatementCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Cache byte budget must be positive, was " + maxBytes);
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Builds the cache key for a statement file parsed with the given options. The SHA-256 of the content is remembered
+   * per path, size and modification time, so repeat lookups of an unchanged file do not re-read it. A file modified
+   * less than two seconds before it is hashed is not remembered: it could be rewritten again without its modification
+   * time changing, so it is hashed on every lookup until its modification time is older.
+   */
+  public StatementCacheKey keyFor(File statementFile, StatementType statementType, String configVersion,
+                                  ParseOptions parseOptions) {
+    FileStamp stamp = stampOf(statementFile);
+    String contentHash;
+    synchronized (digests) {
+      contentHash = digests.get(stamp);
+    }
+    if (contentHash == null) {
+      long hashedAtNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+      contentHash = sha256(statementFile);
+      if (hashedAtNanos - stamp.lastModifiedNanos() > MTIME_GRANULARITY.toNanos()) {
+        synchronized (digests) {
+          digests.put(stamp, contentHash);
+        }
+      }
+    }
+    return new StatementCacheKey(contentHash, statementType, configVersion, parseOptions.formulaMode(),
+      parseOptions.computeSummary(), parseOptions.errorSampleLimit());
+  }
+
+  public Optional<AccountStatement> get(StatementCacheKey key) {
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        misses++;
+        return Optional.empty();
+      }
+      hits++;
+    }
+    return Optional.of(entry.statement().toAccountStatement());
+  }
+
+  public void put(StatementCacheKey key, AccountStatement accountStatement) {
+    Optional<CompactAccountStatement> compact = CompactAccountStatement.of(accountStatement);
+    if (compact.isEmpty()) {
+      logger.debug("Statement for key = {} has amounts outside the compact range, not caching", key);
+      return;
+    }
+    long weight = compact.get().estimatedBytes();
+    if (weight > maxBytes) {
+      logger.debug("Statement for key = {} weighs {} bytes, more than the whole budget of {} bytes", key, weight, maxBytes);
+      return;
+    }
+    synchronized (this) {
+      Entry previous = entries.put(key, new Entry(compact.get(), weight));
+      if (previous != null) {
+        bytes -= previous.weight();
+      }
+      bytes += weight;
+      evictToBudget();
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  public synchronized CacheStats stats() {
+    return new CacheStats(hits, misses, evictions, entries.size(), bytes, maxBytes);
+  }
+
+  private void evictToBudget() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (bytes > maxBytes && iterator.hasNext()) {
+      bytes -= iterator.next().weight();
+      iterator.remove();
+      evictions++;
+    }
+  }
+
+  private static FileStamp stampOf(File statementFile) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(statementFile.toPath(), BasicFileAttributes.class);
+      return new FileStamp(statementFile.getAbsolutePath(), attributes.size(),
+        attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+    } catch (IOException e) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not read the attributes of the input file = " + statementFile, e);
+    }
+  }
+
+  private static String sha256(File statementFile) {
+    try (InputStream inputStream = Files.newInputStream(statementFile.toPath())) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not hash the input file = " + statementFile, e);
+    }
+  }
+
+  private record Entry(CompactAccountStatement statement, long weight) {
+  }
+
+  private record FileStamp(String path, long size, long lastModifiedNanos) {
+  }
+}
@@ -0,0 +1,28 @@
+package dev.shantanu.bankstatement.parser.cache;
+
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.parser.FormulaMode;
+import java.util.Objects;
+
+/**
+ * Identity of a parse result: the same bytes parsed for the same statement type with the same configuration version
+ * and the same result-affecting parse options always produce the same
+ * {@link dev.shantanu.bankstatement.common.AccountStatement}. Options that only change how the file is read, such as
+ * sheet parallelism or the streaming threshold, are not part of it.
+ *
+ * @param contentHash      hex encoded SHA-256 of the statement file content
+ * @param statementType    statement type used for parsing
+ * @param configVersion    version of the statement configuration used for parsing
+ * @param formulaMode      how formula cells were read
+ * @param computeSummary   whether the statement carries a summary
+ * @param errorSampleLimit maximum number of conversion errors sampled per worksheet
+ */
+public record StatementCacheKey(String contentHash, StatementType statementType, String configVersion,
+                                FormulaMode formulaMode, boolean computeSummary, int errorSampleLimit) {
+  public StatementCacheKey {
+    Objects.requireNonNull(contentHash, "Content hash cannot be null");
+    Objects.requireNonNull(statementType, "Statement type cannot be null");
+    Objects.requireNonNull(configVersion, "Configuration version cannot be null");
+    Objects.requireNonNull(formulaMode, "Formula mode cannot be null");
+  }
+}
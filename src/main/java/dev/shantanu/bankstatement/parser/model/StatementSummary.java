@@ -0,0 +1,24 @@
+package dev.shantanu.bankstatement.parser.model;
+
+import dev.shantanu.bankstatement.common.PaymentChannel;
+import dev.shantanu.bankstatement.common.TransactionTotals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Totals of a statement computed while its rows are parsed.
+ *
+ * @param openingBalance balance before the first transaction, {@code null} when no row has a balance
+ * @param closingBalance balance after the last transaction, {@code null} when no row has a balance
+ * @param totals         totals over every transaction
+ * @param monthlyTotals  totals per month, oldest first
+ * @param dailyTotals    totals per transaction date, oldest first
+ * @param channelCounts  number of transactions per payment channel, see {@link dev.shantanu.bankstatement.common.RemarkTokens}
+ */
+public record StatementSummary(BigDecimal openingBalance, BigDecimal closingBalance, TransactionTotals totals,
+                               Map<YearMonth, TransactionTotals> monthlyTotals,
+                               Map<LocalDate, TransactionTotals> dailyTotals,
+                               Map<PaymentChannel, Integer> channelCounts) {
+}
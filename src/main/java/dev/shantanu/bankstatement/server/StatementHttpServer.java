@@ -0,0 +1,235 @@
+package dev.shantanu.bankstatement.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.GsonSingleton;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.output.StatementWriter;
+import dev.shantanu.bankstatement.parser.BankStatementParserFactory;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embeddable HTTP parse service on the JDK {@link HttpServer}.
+ * <ul>
+ *   <li>{@code POST /statements[?type=<StatementType>]} with the statement file as body answers NDJSON: for every
+ *   account one {@code "statement"} line with the {@code TransactionInfo} and error counts, followed by one
+ *   {@code "transaction"} line per record. Without {@code type} the statement type is detected from the content.</li>
+ *   <li>{@code GET /health} answers {@code ok}.</li>
+ * </ul>
+ * Every exchange runs on its own virtual thread, so thousands of slow uploads only cost parked threads. Memory stays
+ * bounded because uploads are spooled to temporary files of at most {@code maxUploadBytes}, and at most
+ * {@code maxConcurrentParses} workbooks are held in memory at once; the other requests wait for a permit up to
+ * {@code permitTimeout} and are then answered 503.
+ */
+public final class StatementHttpServer implements Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(StatementHttpServer.class);
+  private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson; charset=utf-8";
+  private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore parsePermits;
+  private final ParseOptions parseOptions;
+  private final long maxUploadBytes;
+  private final long permitTimeoutMillis;
+  private final Gson gson = GsonSingleton.GSON.instance();
+
+  public StatementHttpServer(InetSocketAddress address, ParseOptions parseOptions, int maxConcurrentParses,
+                             long maxUploadBytes, long permitTimeout, TimeUnit permitTimeoutUnit) throws IOException {
+    if (maxConcurrentParses < 1) {
+      throw new IllegalArgumentException("Maximum concurrent parses must be at least 1, was " + maxConcurrentParses);
+    }
+    if (maxUploadBytes < 1) {
+      throw new IllegalArgumentException("Maximum upload size must be positive, was " + maxUploadBytes);
+    }
+    this.parseOptions = Objects.requireNonNull(parseOptions, "Parse options cannot be null");
+    this.parsePermits = new Semaphore(maxConcurrentParses);
+    this.maxUploadBytes = maxUploadBytes;
+    this.permitTimeoutMillis = permitTimeoutUnit.toMillis(permitTimeout);
+    this.server = HttpServer.create(address, 0);
+    this.server.setExecutor(executor);
+    this.server.createContext("/statements", this::handleStatement);
+    this.server.createContext("/health", exchange -> respond(exchange, 200, "ok"));
+  }
+
+  public void start() {
+    server.start();
+    logger.info("Listening on {}", server.getAddress());
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops accepting requests, waits at most one second for running exchanges and then for their threads.
+   */
+  @Override
+  public void close() {
+    server.stop(1);
+    executor.close();
+  }
+
+  private void handleStatement(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "POST");
+        respond(exchange, 405, "Use POST with the statement file as body");
+        return;
+      }
+      StatementType statementType;
+      try {
+        statementType = statementTypeOf(exchange.getRequestURI().getRawQuery());
+      } catch (IllegalArgumentException e) {
+        respond(exchange, 400, e.getMessage());
+        return;
+      }
+
+      Path upload = Files.createTempFile("statement-", ".upload");
+      try {
+        if (!spool(exchange.getRequestBody(), upload)) {
+          respond(exchange, 413, "Statement larger than " + maxUploadBytes + " bytes");
+          return;
+        }
+        if (!parsePermits.tryAcquire(permitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+          exchange.getResponseHeaders().set("Retry-After", "1");
+          respond(exchange, 503, "Too many statements being parsed, retry later");
+          return;
+        }
+        List<AccountStatement> accountStatements;
+        try {
+          accountStatements = parse(statementType, upload.toFile());
+        } finally {
+          parsePermits.release();
+        }
+        writeStatements(exchange, accountStatements);
+      } catch (AccountStatementException e) {
+        logger.debug("Rejected upload from {}", exchange.getRemoteAddress(), e);
+        respond(exchange, 422, e.getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        respond(exchange, 503, "Server is stopping");
+      } finally {
+        Files.deleteIfExists(upload);
+      }
+    }
+  }
+
+  /**
+   * Any failure of the parser is reported as an {@link AccountStatementException}, including the unchecked exceptions
+   * POI throws on a malformed file and the I/O errors of reading one, so that the upload is answered 422 instead of
+   * the connection being closed without a response.
+   */
+  private List<AccountStatement> parse(StatementType statementType, File file) {
+    try {
+      BankStatementParserFactory factory = statementType == null
+        ? BankStatementParserFactory.detect(file, parseOptions)
+        : new BankStatementParserFactory(statementType, file, parseOptions);
+      return factory.getParser().getAccountStatements();
+    } catch (AccountStatementException e) {
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Could not parse upload {}", file.getName(), e);
+      throw new AccountStatementException(ErrorCode.ERROR_PARSING_FILE, "Could not parse the statement: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return {@code false} when the body exceeds {@link #maxUploadBytes}
+   */
+  private boolean spool(InputStream body, Path upload) throws IOException {
+    long size = 0;
+    byte[] buffer = new byte[COPY_BUFFER_BYTES];
+    try (body; OutputStream out = Files.newOutputStream(upload)) {
+      int read;
+      while ((read = body.read(buffer)) >= 0) {
+        size += read;
+        if (size > maxUploadBytes) {
+          return false;
+        }
+        out.write(buffer, 0, read);
+      }
+    }
+    return true;
+  }
+
+  private void writeStatements(HttpExchange exchange, List<AccountStatement> accountStatements) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", NDJSON_CONTENT_TYPE);
+    exchange.sendResponseHeaders(200, 0);
+    try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+      for (AccountStatement accountStatement : accountStatements) {
+        JsonObject statementLine = new JsonObject();
+        statementLine.addProperty("type", "statement");
+        statementLine.add("transactionInfo", gson.toJsonTree(accountStatement.transactionInfo()));
+        statementLine.add("errors", gson.toJsonTree(accountStatement.errors().counts()));
+        writeLine(out, statementLine);
+        for (TransactionRecord transactionRecord : accountStatement.transactionRecords().stream().sorted(StatementWriter.ROW_ORDER).toList()) {
+          JsonObject transactionLine = new JsonObject();
+          transactionLine.addProperty("type", "transaction");
+          gson.toJsonTree(transactionRecord).getAsJsonObject().asMap().forEach(transactionLine::add);
+          writeLine(out, transactionLine);
+        }
+      }
+    }
+  }
+
+  private void writeLine(Writer out, JsonObject line) throws IOException {
+    gson.toJson(line, out);
+    out.write('\n');
+  }
+
+  private static StatementType statementTypeOf(String rawQuery) {
+    if (rawQuery == null) {
+      return null;
+    }
+    for (String parameter : rawQuery.split("&")) {
+      int separator = parameter.indexOf('=');
+      if (separator > 0 && parameter.substring(0, separator).equals("type")) {
+        String value = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+        try {
+          return value.isBlank() ? null : StatementType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Unknown statement type " + value, e);
+        }
+      }
+    }
+    return null;
+  }
+
+  private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+    byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package dev.shantanu.bankstatement.validation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A row whose balance does not equal the previous balance minus its withdrawal plus its deposit.
+ */
+public record BalanceBreak(int serialNumber, LocalDate transactionDate, BigDecimal expectedBalance,
+                           BigDecimal actualBalance) {
+
+  public BigDecimal difference() {
+    return actualBalance.subtract(expectedBalance);
+  }
+}
@@ -0,0 +1,17 @@
+package dev.shantanu.bankstatement.validation;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link BalanceVerifier#verify}.
+ */
+public record BalanceReport(int recordsChecked, List<BalanceBreak> breaks, List<SerialNumberGap> gaps) {
+  public BalanceReport {
+    breaks = List.copyOf(breaks);
+    gaps = List.copyOf(gaps);
+  }
+
+  public boolean isConsistent() {
+    return breaks.isEmpty() && gaps.isEmpty();
+  }
+}
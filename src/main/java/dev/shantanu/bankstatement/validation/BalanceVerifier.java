@@ -0,0 +1,76 @@
+package dev.shantanu.bankstatement.validation;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.ScaledAmounts;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reconciles the running balance of a statement: for rows ordered by serial number,
+ * {@code balance[i] == balance[i-1] - withdrawal[i] + deposit[i]} must hold. Amounts are converted once into
+ * {@code long} columns in minor units (see {@link ScaledAmounts}) and the check itself is a branch free loop over
+ * primitive arrays which the JIT can vectorize; {@link java.math.BigDecimal} is only created for reported breaks.
+ */
+public final class BalanceVerifier {
+  private static final Logger logger = LoggerFactory.getLogger(BalanceVerifier.class);
+
+  private BalanceVerifier() {
+  }
+
+  public static BalanceReport verify(AccountStatement accountStatement) {
+    return verify(accountStatement.transactionRecords());
+  }
+
+  public static BalanceReport verify(Collection<TransactionRecord> transactionRecords) {
+    TransactionRecord[] records = transactionRecords.toArray(TransactionRecord[]::new);
+    Arrays.sort(records, Comparator.comparingInt(TransactionRecord::serialNumber));
+
+    int size = records.length;
+    int[] serialNumbers = new int[size];
+    long[] withdrawals = new long[size];
+    long[] deposits = new long[size];
+    long[] balances = new long[size];
+    for (int i = 0; i < size; i++) {
+      TransactionRecord transactionRecord = records[i];
+      serialNumbers[i] = transactionRecord.serialNumber();
+      withdrawals[i] = ScaledAmounts.toScaled(transactionRecord.withdrawalAmount());
+      deposits[i] = ScaledAmounts.toScaled(transactionRecord.depositAmount());
+      balances[i] = ScaledAmounts.toScaled(transactionRecord.balance());
+    }
+
+    long[] differences = balanceDifferences(withdrawals, deposits, balances);
+    List<BalanceBreak> breaks = new ArrayList<>();
+    List<SerialNumberGap> gaps = new ArrayList<>();
+    for (int i = 1; i < size; i++) {
+      if (differences[i] != 0) {
+        long expected = balances[i] - differences[i];
+        breaks.add(new BalanceBreak(serialNumbers[i], records[i].transactionDate(),
+          ScaledAmounts.fromScaled(expected), ScaledAmounts.fromScaled(balances[i])));
+      }
+      if (serialNumbers[i] != serialNumbers[i - 1] + 1) {
+        gaps.add(new SerialNumberGap(serialNumbers[i - 1], serialNumbers[i]));
+      }
+    }
+
+    logger.debug("Verified balances of {} transactions, breaks = {}, serial number gaps = {}", size, breaks.size(), gaps.size());
+    return new BalanceReport(size, breaks, gaps);
+  }
+
+  /**
+   * @return for every row the actual balance minus the balance implied by the previous row, {@code 0} for the first row
+   */
+  static long[] balanceDifferences(long[] withdrawals, long[] deposits, long[] balances) {
+    int size = balances.length;
+    long[] differences = new long[size];
+    for (int i = 1; i < size; i++) {
+      differences[i] = balances[i] - (balances[i - 1] - withdrawals[i] + deposits[i]);
+    }
+    return differences;
+  }
+}
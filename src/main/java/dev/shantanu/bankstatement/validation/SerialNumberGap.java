@@ -0,0 +1,17 @@
+package dev.shantanu.bankstatement.validation;
+
+/**
+ * Two adjacent rows whose serial numbers are not consecutive.
+ *
+ * @param previousSerialNumber serial number of the earlier row
+ * @param serialNumber         serial number of the later row
+ */
+public record SerialNumberGap(int previousSerialNumber, int serialNumber) {
+
+  /**
+   * @return number of serial numbers missing between the two rows, {@code -1} when the serial number is repeated
+   */
+  public int missingCount() {
+    return serialNumber - previousSerialNumber - 1;
+  }
+}
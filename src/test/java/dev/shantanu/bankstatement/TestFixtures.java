@@ -0,0 +1,21 @@
+package dev.shantanu.bankstatement;
+
+import java.io.File;
+import java.net.URL;
+
+/**
+ * Statement files shipped with the tests.
+ */
+public final class TestFixtures {
+  private TestFixtures() {
+  }
+
+  /**
+   * @return the ICICI search statement workbook with ten transactions
+   */
+  public static File statementWorkbook() {
+    URL resource = ClassLoader.getSystemClassLoader().getResource("dev/shantanu/bankstatement/Test-Account-Statement.xlsx");
+    assert resource != null;
+    return new File(resource.getFile());
+  }
+}
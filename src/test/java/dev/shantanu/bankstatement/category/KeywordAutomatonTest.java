@@ -0,0 +1,55 @@
+package dev.shantanu.bankstatement.category;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class KeywordAutomatonTest {
+
+  @Test
+  void testOverlappingKeywordsAreFoundThroughFailureLinks() {
+    // The textbook set: HE is a prefix of HERS and a suffix of SHE
+    KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("HE", "SHE", "HIS", "HERS"));
+
+    Assertions.assertEquals(0, automaton.firstMatch("USHERS"));
+    Assertions.assertEquals(2, automaton.firstMatch("THIS"));
+    Assertions.assertEquals(2, KeywordAutomaton.compile(List.of("SHE", "HIS", "HERS")).firstMatch("XHERSX"));
+    Assertions.assertEquals(KeywordAutomaton.NO_MATCH, automaton.firstMatch("HSIH"));
+    Assertions.assertEquals(KeywordAutomaton.NO_MATCH, automaton.firstMatch(""));
+  }
+
+  @Test
+  void testKeywordEndingInsideALongerOneIsFound() {
+    // Reading SHE the automaton is deep in the SHE branch; HE is only reported through the suffix link of that state
+    KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("SHELL", "HE"));
+
+    Assertions.assertEquals(1, automaton.firstMatch("SHEX"));
+    Assertions.assertEquals(0, automaton.firstMatch("SEASHELLS"));
+    Assertions.assertEquals(KeywordAutomaton.NO_MATCH, automaton.firstMatch("SHLE"));
+  }
+
+  @Test
+  void testFailedPartialMatchRestartsFromItsLongestSuffix() {
+    // After SHI fails on the S of HIS, the automaton must resume from the HI it has already read
+    KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("SHIP", "HIS"));
+
+    Assertions.assertEquals(1, automaton.firstMatch("SHIS"));
+    Assertions.assertEquals(0, automaton.firstMatch("SSHIP"));
+    Assertions.assertEquals(KeywordAutomaton.NO_MATCH, automaton.firstMatch("SHI"));
+  }
+
+  @Test
+  void testLowestRuleWinsAndCaseIsIgnored() {
+    KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("hers", "he", "ΣΟΦΙΑ"));
+
+    // HE is found before HERS is complete, the lower rule still wins once HERS is read
+    Assertions.assertEquals(0, automaton.firstMatch("ushers"));
+    Assertions.assertEquals(1, automaton.firstMatch("The"));
+    Assertions.assertEquals(2, automaton.firstMatch("σοφια"));
+  }
+
+  @Test
+  void testEmptyKeywordIsRejected() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> KeywordAutomaton.compile(List.of("SHE", "")));
+  }
+}
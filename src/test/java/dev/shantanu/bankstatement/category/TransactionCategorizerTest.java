@@ -0,0 +1,81 @@
+package dev.shantanu.bankstatement.category;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionCategorizerTest {
+  private static final LocalDate DATE = LocalDate.of(2024, 11, 1);
+  private static final String RULES = """
+    {"categories": [
+      {"name": "Food", "keywords": ["SWIGGY", "ZOMATO"]},
+      {"name": "Travel", "keywords": ["IRCTC", "UBER"]},
+      {"name": "Shopping", "keywords": ["AMAZON", "AMAZON PAY"]},
+      {"name": "Wallet", "keywords": ["PAY"]}
+    ]}
+    """;
+
+  private TransactionCategorizer categorizer;
+
+  @BeforeEach
+  void loadRules(@TempDir Path tempDir) throws IOException {
+    categorizer = TransactionCategorizer.load(Files.writeString(tempDir.resolve("categories.json"), RULES));
+  }
+
+  @Test
+  void testFirstListedCategoryWins() {
+    Assertions.assertEquals("Food", categorizer.categorize("UPI/123456/SWIGGY ORDER/swiggy@icici"));
+    Assertions.assertEquals("Travel", categorizer.categorize("UPI/987654/UBER TRIP/uber@axis/PAY"));
+    Assertions.assertEquals("Shopping", categorizer.categorize("UPI/555/AMAZON PAY/amazonpay@apl"));
+    Assertions.assertEquals("Wallet", categorizer.categorize("BIL/ONL/PAYTM WALLET"));
+    // A keyword found later in the remarks still wins when its category is listed first
+    Assertions.assertEquals("Food", categorizer.categorize("GPAY SWIGGY"));
+    Assertions.assertNull(categorizer.categorize("NEFT-SALARY NOV"));
+    Assertions.assertNull(categorizer.categorize(null));
+  }
+
+  @Test
+  void testMatchingIgnoresCase() {
+    Assertions.assertEquals("Food", categorizer.categorize("upi/zomato limited"));
+    Assertions.assertEquals("Travel", categorizer.categorize("Irctc e-ticket"));
+  }
+
+  @Test
+  void testLargeStatementIsCategorisedInOrder() {
+    String[] remarks = {"SWIGGY", "IRCTC", "SALARY", "AMAZON"};
+    List<TransactionRecord> transactionRecords = IntStream.range(0, 10_000)
+      .mapToObj(i -> transaction(i + 1, remarks[i % remarks.length]))
+      .toList();
+
+    String[] categories = categorizer.categorizeAll(transactionRecords);
+
+    Assertions.assertEquals(transactionRecords.size(), categories.length);
+    for (int i = 0; i < categories.length; i++) {
+      Assertions.assertEquals(categorizer.categorize(remarks[i % remarks.length]), categories[i], "Row " + i);
+    }
+  }
+
+  @Test
+  void testMalformedRulesFailWithConfigurationError(@TempDir Path tempDir) throws IOException {
+    Path rules = Files.writeString(tempDir.resolve("categories.json"), "{\"categories\": [{\"name\": \"Food\"}]}");
+
+    AccountStatementException exception = Assertions.assertThrows(AccountStatementException.class,
+      () -> TransactionCategorizer.load(rules));
+    Assertions.assertTrue(exception.getMessage().contains("CONFIGURATION_ERROR"), exception.getMessage());
+  }
+
+  private static TransactionRecord transaction(int serialNumber, String remarks) {
+    return new TransactionRecord(serialNumber, DATE, DATE, null, remarks, BigDecimal.ONE, BigDecimal.ZERO,
+      BigDecimal.TEN, null);
+  }
+}
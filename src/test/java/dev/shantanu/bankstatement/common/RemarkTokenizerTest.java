@@ -0,0 +1,44 @@
+package dev.shantanu.bankstatement.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RemarkTokenizerTest {
+
+  @Test
+  void testUpiNarration() {
+    RemarkTokens tokens = RemarkTokenizer.tokenize("UPI/JOHN DOE/john@okaxis/Payment/AXIS BANK/412345678901/ICIabc");
+    Assertions.assertEquals(new RemarkTokens(PaymentChannel.UPI, "JOHN DOE", "412345678901", "john@okaxis"), tokens);
+  }
+
+  @Test
+  void testUpiNarrationWithoutPayeeNameFallsBackToVpa() {
+    RemarkTokens tokens = RemarkTokenizer.tokenize("UPI/xxyy123123@ybl/UPI/Yes Bank Ltd/100020003000/ICI0adf24srweradfsdf/");
+    Assertions.assertEquals(new RemarkTokens(PaymentChannel.UPI, "xxyy123123@ybl", "100020003000", "xxyy123123@ybl"), tokens);
+  }
+
+  @Test
+  void testImpsNarration() {
+    RemarkTokens tokens = RemarkTokenizer.tokenize("MMT/IMPS/412345678901/JOHN DOE/HDFC Bank");
+    Assertions.assertEquals(new RemarkTokens(PaymentChannel.IMPS, "JOHN DOE", "412345678901", null), tokens);
+  }
+
+  @Test
+  void testNeftNarration() {
+    RemarkTokens tokens = RemarkTokenizer.tokenize("NEFT-HDFCN52022051234567-ACME CORP-SALARY-0000012345-HDFC0000001");
+    Assertions.assertEquals(new RemarkTokens(PaymentChannel.NEFT, "ACME CORP", "HDFCN52022051234567", null), tokens);
+  }
+
+  @Test
+  void testChequeClearingNarration() {
+    RemarkTokens tokens = RemarkTokenizer.tokenize("CLG Another Person Name");
+    Assertions.assertEquals(new RemarkTokens(PaymentChannel.CHEQUE, "Another Person Name", null, null), tokens);
+  }
+
+  @Test
+  void testUnknownOrMissingNarration() {
+    Assertions.assertEquals(PaymentChannel.OTHER, RemarkTokenizer.tokenize("Interest credit").channel());
+    Assertions.assertSame(RemarkTokens.EMPTY, RemarkTokenizer.tokensOf(null));
+    Assertions.assertSame(RemarkTokens.EMPTY, RemarkTokenizer.tokensOf(""));
+  }
+}
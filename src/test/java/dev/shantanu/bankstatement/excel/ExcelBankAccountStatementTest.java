@@ -0,0 +1,55 @@
+package dev.shantanu.bankstatement.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExcelBankAccountStatementTest {
+
+  @Test
+  void testProbeOfXlsxStatement() throws URISyntaxException {
+    URL resource = ClassLoader.getSystemClassLoader().getResource("dev/shantanu/bankstatement/Test-Account-Statement.xlsx");
+    assert resource != null;
+
+    ExcelBankAccountStatement statement = ExcelBankAccountStatement.probe(Path.of(resource.toURI()));
+
+    Assertions.assertEquals(List.of("OpTransactionHistory"), statement.sheetNames());
+    Assertions.assertTrue(statement.hasAccountInformation());
+    Assertions.assertTrue(statement.hasTransactionPeriodInformation());
+    Assertions.assertTrue(statement.hasTransactions());
+    Assertions.assertEquals(51, statement.estimatedRowCount());
+  }
+
+  @Test
+  void testProbeOfXlsWithoutTransactions(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("statement.xls");
+    try (HSSFWorkbook workbook = new HSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+      Sheet sheet = workbook.createSheet("Statement");
+      sheet.createRow(3).createCell(1).setCellValue("Account Number");
+      Row header = sheet.createRow(12);
+      List<String> labels = List.of("S No.", "Value Date", "Transaction Date", "Transaction Remarks", "Balance(INR)");
+      for (int column = 0; column < labels.size(); column++) {
+        header.createCell(column + 1).setCellValue(labels.get(column));
+      }
+      workbook.write(out);
+    }
+
+    ExcelBankAccountStatement statement = ExcelBankAccountStatement.probe(file);
+
+    Assertions.assertEquals(List.of("Statement"), statement.sheetNames());
+    Assertions.assertTrue(statement.hasAccountInformation());
+    Assertions.assertFalse(statement.hasTransactionPeriodInformation());
+    Assertions.assertFalse(statement.hasTransactions());
+    Assertions.assertEquals(13, statement.estimatedRowCount());
+  }
+}
@@ -0,0 +1,78 @@
+package dev.shantanu.bankstatement.history;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.common.TransactionTotals;
+import dev.shantanu.bankstatement.parser.model.TransactionInfo;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AccountHistoryTest {
+  private static final String ACCOUNT_NUMBER = "XXXXXXXX1234";
+
+  @Test
+  void testOverlappingStatementsAreMergedOnce() {
+    AccountHistory history = new AccountHistory(ACCOUNT_NUMBER);
+    int firstAdded = history.add(statement(
+      transaction(1, "2024-11-01", "60.00", "0", "500"),
+      transaction(2, "2024-11-20", "80.00", "0", "420"),
+      transaction(3, "2024-12-05", "0", "60", "480")));
+    // Next export starts a month later and numbers its rows from 1 again
+    int secondAdded = history.add(statement(
+      transaction(1, "2024-12-05", "0", "60", "480"),
+      transaction(2, "2025-01-10", "100", "0", "380")));
+
+    Assertions.assertEquals(3, firstAdded);
+    Assertions.assertEquals(1, secondAdded);
+    Assertions.assertEquals(4, history.size());
+    Assertions.assertEquals(Set.of(YearMonth.of(2024, 11), YearMonth.of(2024, 12), YearMonth.of(2025, 1)), history.months());
+  }
+
+  @Test
+  void testRangeAndTotals() {
+    AccountHistory history = new AccountHistory(ACCOUNT_NUMBER);
+    history.add(statement(
+      transaction(1, "2024-11-01", "60.00", "0", "500"),
+      transaction(2, "2024-11-20", "80.00", "0", "420"),
+      transaction(3, "2024-12-05", "0", "60", "480"),
+      transaction(4, "2025-01-10", "100", "0", "380")));
+
+    List<TransactionRecord> range = history.range(LocalDate.of(2024, 11, 15), LocalDate.of(2024, 12, 31));
+    Assertions.assertEquals(List.of(2, 3), range.stream().map(TransactionRecord::serialNumber).toList());
+
+    TransactionTotals totals = history.totals(LocalDate.of(2024, 11, 15), LocalDate.of(2025, 1, 31));
+    Assertions.assertEquals(3, totals.transactionCount());
+    Assertions.assertEquals(new BigDecimal("180.00"), totals.totalWithdrawals());
+    Assertions.assertEquals(new BigDecimal("60.00"), totals.totalDeposits());
+
+    TransactionTotals november = history.monthlyTotals(YearMonth.of(2024, 11));
+    Assertions.assertEquals(2, november.transactionCount());
+    Assertions.assertEquals(new BigDecimal("-140.00"), november.netChange());
+    Assertions.assertEquals(0, history.monthlyTotals(YearMonth.of(2024, 10)).transactionCount());
+  }
+
+  @Test
+  void testStatementOfAnotherAccountIsRejected() {
+    AccountHistory history = new AccountHistory(ACCOUNT_NUMBER);
+    AccountStatement otherAccount = new AccountStatement(
+      new TransactionInfo("XXXXXXXX9999", null, null, null, null), Set.of());
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> history.add(otherAccount));
+  }
+
+  private static AccountStatement statement(TransactionRecord... transactionRecords) {
+    return new AccountStatement(new TransactionInfo(ACCOUNT_NUMBER, null, null, null, null), Set.of(transactionRecords));
+  }
+
+  private static TransactionRecord transaction(int serialNumber, String date, String withdrawal, String deposit,
+                                               String balance) {
+    LocalDate transactionDate = LocalDate.parse(date);
+    return new TransactionRecord(serialNumber, transactionDate, transactionDate, null, null, new BigDecimal(withdrawal),
+      new BigDecimal(deposit), new BigDecimal(balance), null);
+  }
+}
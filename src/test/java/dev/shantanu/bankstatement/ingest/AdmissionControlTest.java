@@ -0,0 +1,74 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.parser.ParseCost;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AdmissionControlTest {
+  private static final int MIB = 1024 * 1024;
+
+  @Test
+  void testParsesWaitUntilTheirHeapFits(@TempDir Path tempDir) throws Exception {
+    // A CSV file is estimated at its own size
+    Path twoMiB = Files.write(tempDir.resolve("Two.csv"), new byte[2 * MIB]);
+    Path oneMiB = Files.write(tempDir.resolve("One.csv"), new byte[MIB]);
+    AdmissionControl admissionControl = new AdmissionControl(3L * MIB);
+
+    AdmissionControl.Permit first = admissionControl.admit(twoMiB, ParseOptions.defaults());
+    Assertions.assertEquals(1, admissionControl.availableMiB());
+    AdmissionControl.Permit second = admissionControl.admit(oneMiB, ParseOptions.defaults());
+    Assertions.assertEquals(0, admissionControl.availableMiB());
+
+    CompletableFuture<AdmissionControl.Permit> waiting = CompletableFuture.supplyAsync(() -> admit(admissionControl, oneMiB));
+    Assertions.assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+    second.close();
+    try (AdmissionControl.Permit _ = waiting.get(30, TimeUnit.SECONDS)) {
+      Assertions.assertEquals(0, admissionControl.availableMiB());
+    }
+    first.close();
+    Assertions.assertEquals(3, admissionControl.availableMiB());
+  }
+
+  @Test
+  void testFileAboveCapacityIsAdmittedAlone(@TempDir Path tempDir) throws Exception {
+    Path tenMiB = Files.write(tempDir.resolve("Ten.csv"), new byte[10 * MIB]);
+    AdmissionControl admissionControl = new AdmissionControl(3L * MIB);
+
+    try (AdmissionControl.Permit _ = admissionControl.admit(tenMiB, ParseOptions.defaults())) {
+      Assertions.assertEquals(0, admissionControl.availableMiB());
+    }
+    Assertions.assertEquals(3, admissionControl.availableMiB());
+  }
+
+  @Test
+  void testPermitCarriesTheEstimatedCost(@TempDir Path tempDir) throws Exception {
+    Path file = Files.write(tempDir.resolve("Statement.csv"), new byte[MIB + 1]);
+    AdmissionControl admissionControl = new AdmissionControl(3L * MIB);
+
+    try (AdmissionControl.Permit permit = admissionControl.admit(file, ParseOptions.defaults())) {
+      Assertions.assertEquals(ParseCost.estimate(file.toFile(), ParseOptions.defaults()), permit.parseOptions().estimatedCost());
+      Assertions.assertEquals(1, admissionControl.availableMiB());
+    }
+    // A file that can't be estimated takes the smallest cost and leaves the estimate to the parse
+    try (AdmissionControl.Permit permit = admissionControl.admit(tempDir.resolve("Missing.csv"), ParseOptions.defaults())) {
+      Assertions.assertNull(permit.parseOptions().estimatedCost());
+      Assertions.assertEquals(2, admissionControl.availableMiB());
+    }
+  }
+
+  private static AdmissionControl.Permit admit(AdmissionControl admissionControl, Path file) {
+    try {
+      return admissionControl.admit(file, ParseOptions.defaults());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
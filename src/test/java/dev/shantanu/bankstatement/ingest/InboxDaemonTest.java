@@ -0,0 +1,88 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.output.OutputFormat;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InboxDaemonTest {
+  private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  @Test
+  void testStatementsAreWrittenToOutboxAndMovedOutOfInbox(@TempDir Path tempDir) throws Exception {
+    Path inbox = tempDir.resolve("inbox");
+    Path outbox = tempDir.resolve("outbox");
+    Files.createDirectories(inbox);
+    // Already in the inbox at start-up, picked up by the initial scan
+    Files.copy(fixture(), inbox.resolve("Existing.xlsx"));
+
+    InboxDaemon daemon = new InboxDaemon(inbox, outbox, StatementType.getDefault(), 2, ParseOptions.defaults(), OutputFormat.NDJSON);
+    Thread watcher = Thread.ofPlatform().start(() -> {
+      try {
+        daemon.run();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    try {
+      awaitIngested(daemon, 1);
+      // Moved in once written, as producers should
+      Path staged = Files.copy(fixture(), tempDir.resolve("Dropped.xlsx"));
+      Files.move(staged, inbox.resolve("Dropped.xlsx"), StandardCopyOption.ATOMIC_MOVE);
+      Path broken = Files.writeString(tempDir.resolve("Broken.xlsx"), "not a workbook", StandardCharsets.UTF_8);
+      Files.move(broken, inbox.resolve("Broken.xlsx"), StandardCopyOption.ATOMIC_MOVE);
+      awaitIngested(daemon, 3);
+    } finally {
+      daemon.close();
+      watcher.join(TIMEOUT_MILLIS);
+    }
+
+    Assertions.assertEquals(2, daemon.processedFiles());
+    Assertions.assertEquals(1, daemon.failedFiles());
+    Assertions.assertEquals(List.of("Dropped.xlsx.ndjson", "Existing.xlsx.ndjson"), fileNames(outbox));
+    List<String> rows = Files.readAllLines(outbox.resolve("Dropped.xlsx.ndjson"));
+    Assertions.assertFalse(rows.isEmpty());
+    Assertions.assertTrue(rows.getFirst().contains("\"source\":\"Dropped.xlsx\""), rows.getFirst());
+    Assertions.assertEquals(Files.readAllLines(outbox.resolve("Existing.xlsx.ndjson")).size(), rows.size());
+    Assertions.assertEquals(List.of("Dropped.xlsx", "Existing.xlsx"), fileNames(inbox.resolve("processed")));
+    Assertions.assertEquals(List.of("Broken.xlsx"), fileNames(inbox.resolve("failed")));
+    Assertions.assertEquals(List.of("failed", "processed"), fileNames(inbox));
+  }
+
+  private static void awaitIngested(InboxDaemon daemon, int files) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (daemon.processedFiles() + daemon.failedFiles() < files) {
+      if (System.currentTimeMillis() > deadline) {
+        Assertions.fail("Ingested " + (daemon.processedFiles() + daemon.failedFiles()) + " of " + files + " files");
+      }
+      Thread.sleep(20);
+    }
+  }
+
+  /**
+   * @return names of the entries of the directory, sorted, hidden {@code .part} files included
+   */
+  private static List<String> fileNames(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(file -> file.getFileName().toString()).sorted().toList();
+    }
+  }
+
+  private static Path fixture() throws URISyntaxException {
+    URL resource = ClassLoader.getSystemClassLoader().getResource("dev/shantanu/bankstatement/Test-Account-Statement.xlsx");
+    assert resource != null;
+    return Path.of(resource.toURI());
+  }
+}
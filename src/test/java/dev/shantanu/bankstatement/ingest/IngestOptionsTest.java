@@ -0,0 +1,73 @@
+package dev.shantanu.bankstatement.ingest;
+
+import dev.shantanu.bankstatement.output.OutputFormat;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IngestOptionsTest {
+  @Test
+  void testDefaults() {
+    IngestOptions options = IngestOptions.parse("statement.xls");
+
+    Assertions.assertEquals(List.of("statement.xls"), options.inputs());
+    Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), options.threads());
+    Assertions.assertEquals(OutputFormat.NDJSON, options.format());
+    Assertions.assertNull(options.output());
+    Assertions.assertNull(options.categories());
+    Assertions.assertFalse(options.isDaemon());
+    Assertions.assertFalse(options.isServer());
+    Assertions.assertFalse(options.help());
+  }
+
+  @Test
+  void testOptionsWithSeparateAndInlineValues() {
+    IngestOptions options = IngestOptions.parse("--threads=3", "a.xls", "--format", "CSV", "--output", "rows.csv",
+      "--categories=rules.json", "inbox/*.xlsx");
+
+    Assertions.assertEquals(List.of("a.xls", "inbox/*.xlsx"), options.inputs());
+    Assertions.assertEquals(3, options.threads());
+    Assertions.assertEquals(OutputFormat.CSV, options.format());
+    Assertions.assertEquals(Path.of("rows.csv"), options.output());
+    Assertions.assertEquals(Path.of("rules.json"), options.categories());
+  }
+
+  @Test
+  void testDaemonAndServerModes() {
+    IngestOptions daemon = IngestOptions.parse("--watch", "inbox", "--outbox", "outbox");
+    IngestOptions server = IngestOptions.parse("--serve", "8080");
+
+    Assertions.assertTrue(daemon.isDaemon());
+    Assertions.assertEquals(Path.of("inbox"), daemon.inbox());
+    Assertions.assertTrue(server.isServer());
+    Assertions.assertEquals(8080, server.port());
+  }
+
+  @Test
+  void testHelpStopsParsing() {
+    Assertions.assertTrue(IngestOptions.parse("--help", "--unknown").help());
+  }
+
+  @Test
+  void testInvalidCommandLinesAreRejected() {
+    List<String[]> commandLines = List.of(
+      new String[]{},
+      new String[]{"--unknown", "x", "a.xls"},
+      new String[]{"a.xls", "--threads"},
+      new String[]{"--threads", "many", "a.xls"},
+      new String[]{"--threads", "0", "a.xls"},
+      new String[]{"--format", "xml", "a.xls"},
+      new String[]{"--watch", "inbox"},
+      new String[]{"--watch", "inbox", "--outbox", "outbox", "a.xls"},
+      new String[]{"--serve", "8080", "--watch", "inbox", "--outbox", "outbox"},
+      new String[]{"--watch", "inbox", "--outbox", "outbox", "--output", "rows.ndjson"},
+      new String[]{"--serve", "8080", "--output", "rows.ndjson"},
+      new String[]{"--serve", "70000"},
+      new String[]{"--serve", "8080", "--categories", "rules.json"});
+
+    for (String[] arguments : commandLines) {
+      Assertions.assertThrows(IllegalArgumentException.class, () -> IngestOptions.parse(arguments), String.join(" ", arguments));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package dev.shantanu.bankstatement.ingest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatementFilesTest {
+  @TempDir
+  Path inbox;
+
+  @BeforeEach
+  void createFiles() throws IOException {
+    Files.createDirectories(inbox.resolve("2024/november"));
+    for (String file : List.of("b.xls", "a.XLSX", "notes.txt", "2024/c.csv", "2024/november/d.xlsx", "2024/november/e.pdf")) {
+      Files.createFile(inbox.resolve(file));
+    }
+  }
+
+  @Test
+  void testDirectoryIsSearchedRecursivelyForStatements() throws IOException {
+    List<Path> files = StatementFiles.resolve(List.of(inbox.toString()));
+
+    Assertions.assertEquals(paths("2024/c.csv", "2024/november/d.xlsx", "2024/november/e.pdf", "a.XLSX", "b.xls"), files);
+  }
+
+  @Test
+  void testGlobsMatchBelowTheirBaseDirectory() throws IOException {
+    String base = inbox.toString().replace('\\', '/');
+
+    Assertions.assertEquals(paths("b.xls"), StatementFiles.resolve(List.of(base + "/*.xls")));
+    Assertions.assertEquals(paths("2024/november/d.xlsx"), StatementFiles.resolve(List.of(base + "/**/*.xlsx")));
+    Assertions.assertEquals(paths("2024/c.csv", "2024/november/e.pdf"), StatementFiles.resolve(List.of(base + "/2024/**.{csv,pdf}")));
+    Assertions.assertEquals(List.of(), StatementFiles.resolve(List.of(base + "/missing/*.xls")));
+  }
+
+  @Test
+  void testFilesAreDistinctInArgumentOrder() throws IOException {
+    List<Path> files = StatementFiles.resolve(List.of(inbox.resolve("b.xls").toString(), inbox.toString(),
+      inbox.resolve("notes.txt").toString()));
+
+    Assertions.assertEquals(paths("b.xls", "2024/c.csv", "2024/november/d.xlsx", "2024/november/e.pdf", "a.XLSX", "notes.txt"), files);
+  }
+
+  @Test
+  void testMissingPathFails() {
+    Assertions.assertThrows(IOException.class, () -> StatementFiles.resolve(List.of(inbox.resolve("missing.xls").toString())));
+  }
+
+  private List<Path> paths(String... files) {
+    return Arrays.stream(files).map(file -> inbox.resolve(file).toAbsolutePath().normalize()).toList();
+  }
+}
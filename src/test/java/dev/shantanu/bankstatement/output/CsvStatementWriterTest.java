@@ -0,0 +1,76 @@
+package dev.shantanu.bankstatement.output;
+
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.parser.model.TransactionInfo;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvStatementWriterTest {
+  private static final String HEADER = "source,accountNumber,serialNumber,valueDate,transactionDate,checkNumber,"
+    + "transactionRemarks,withdrawalAmount,depositAmount,balance,error\r\n";
+  private static final LocalDate DATE = LocalDate.of(2024, 11, 1);
+
+  @Test
+  void testFieldsAreEscapedAndRowsWrittenInSerialOrder() throws IOException {
+    AccountStatement accountStatement = new AccountStatement(new TransactionInfo("000601655000", null, null, null, null), Set.of(
+      transaction(2, "CLG/\"0042\"/CHEQUE", null),
+      transaction(1, "NEFT-HDFC, SALARY", "Invalid date, kept as text"),
+      transaction(3, "UPI/line one\nline two", null)));
+    StringWriter out = new StringWriter();
+
+    try (StatementWriter writer = OutputFormat.CSV.open(out)) {
+      Assertions.assertEquals(3, writer.write("Nov, 2024.xls", accountStatement));
+    }
+
+    Assertions.assertEquals(HEADER
+      + "\"Nov, 2024.xls\",000601655000,1,2024-11-01,2024-11-01,,\"NEFT-HDFC, SALARY\",10.50,0,99.50,\"Invalid date, kept as text\"\r\n"
+      + "\"Nov, 2024.xls\",000601655000,2,2024-11-01,2024-11-01,,\"CLG/\"\"0042\"\"/CHEQUE\",10.50,0,99.50,\r\n"
+      + "\"Nov, 2024.xls\",000601655000,3,2024-11-01,2024-11-01,,\"UPI/line one\nline two\",10.50,0,99.50,\r\n", out.toString());
+  }
+
+  @Test
+  void testHeaderIsWrittenOnceEvenWithoutRows() throws IOException {
+    StringWriter out = new StringWriter();
+
+    try (StatementWriter writer = OutputFormat.CSV.open(out)) {
+      writer.flush();
+      writer.write("empty.xls", new AccountStatement(null, Set.of()));
+    }
+
+    Assertions.assertEquals(HEADER, out.toString());
+  }
+
+  @Test
+  void testCategoryColumnIsAdded(@TempDir Path tempDir) throws IOException {
+    TransactionCategorizer categorizer = TransactionCategorizer.load(Files.writeString(tempDir.resolve("categories.json"),
+      "{\"categories\": [{\"name\": \"Food\", \"keywords\": [\"SWIGGY\"]}]}"));
+    AccountStatement accountStatement = new AccountStatement(null,
+      Set.of(transaction(2, "NEFT-SALARY NOV", null), transaction(1, "UPI/SWIGGY", null)));
+    StringWriter out = new StringWriter();
+
+    try (StatementWriter writer = OutputFormat.CSV.open(out, categorizer)) {
+      writer.write("statement.xls", accountStatement);
+    }
+
+    List<String> lines = out.toString().lines().toList();
+    Assertions.assertEquals(HEADER.replace("error\r\n", "error,category"), lines.get(0));
+    Assertions.assertTrue(lines.get(1).endsWith(",UPI/SWIGGY,10.50,0,99.50,,Food"), lines.get(1));
+    Assertions.assertTrue(lines.get(2).endsWith(",NEFT-SALARY NOV,10.50,0,99.50,,"), lines.get(2));
+  }
+
+  private static TransactionRecord transaction(int serialNumber, String remarks, String error) {
+    return new TransactionRecord(serialNumber, DATE, DATE, null, remarks, new BigDecimal("10.50"), BigDecimal.ZERO,
+      new BigDecimal("99.50"), error);
+  }
+}
@@ -0,0 +1,74 @@
+package dev.shantanu.bankstatement.output;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.shantanu.bankstatement.category.TransactionCategorizer;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.parser.model.TransactionInfo;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NdjsonStatementWriterTest {
+  private static final LocalDate DATE = LocalDate.of(2024, 11, 1);
+  private static final AccountStatement ACCOUNT_STATEMENT = new AccountStatement(
+    new TransactionInfo("000601655000", null, null, null, null),
+    Set.of(transaction(2, "NEFT-SALARY NOV"), transaction(1, "UPI/SWIGGY ORDER"), transaction(3, "IRCTC E-TICKET")));
+
+  @Test
+  void testOneObjectPerRecordInSerialOrder() throws IOException {
+    StringWriter out = new StringWriter();
+
+    try (StatementWriter writer = OutputFormat.NDJSON.open(out)) {
+      Assertions.assertEquals(3, writer.write("statement.xls", ACCOUNT_STATEMENT));
+    }
+
+    List<JsonObject> rows = rows(out);
+    Assertions.assertEquals(List.of(1, 2, 3), rows.stream().map(row -> row.get("serialNumber").getAsInt()).toList());
+    rows.forEach(row -> {
+      Assertions.assertEquals("statement.xls", row.get("source").getAsString());
+      Assertions.assertEquals("000601655000", row.get("accountNumber").getAsString());
+      Assertions.assertFalse(row.has("category"), row.toString());
+    });
+  }
+
+  @Test
+  void testCategoryPropertyIsAdded(@TempDir Path tempDir) throws IOException {
+    TransactionCategorizer categorizer = TransactionCategorizer.load(Files.writeString(tempDir.resolve("categories.json"), """
+      {"categories": [
+        {"name": "Food", "keywords": ["SWIGGY"]},
+        {"name": "Travel", "keywords": ["IRCTC"]}
+      ]}
+      """));
+    StringWriter out = new StringWriter();
+
+    try (StatementWriter writer = OutputFormat.NDJSON.open(out, categorizer)) {
+      writer.write("statement.xls", ACCOUNT_STATEMENT);
+    }
+
+    List<JsonObject> rows = rows(out);
+    Assertions.assertEquals("Food", rows.get(0).get("category").getAsString());
+    Assertions.assertEquals("UPI/SWIGGY ORDER", rows.get(0).get("transactionRemarks").getAsString());
+    // An uncategorised record has no category, whether the property is left out or null
+    Assertions.assertTrue(!rows.get(1).has("category") || rows.get(1).get("category").isJsonNull(), rows.get(1).toString());
+    Assertions.assertEquals("Travel", rows.get(2).get("category").getAsString());
+  }
+
+  private static List<JsonObject> rows(StringWriter out) {
+    return out.toString().lines().map(line -> JsonParser.parseString(line).getAsJsonObject()).toList();
+  }
+
+  private static TransactionRecord transaction(int serialNumber, String remarks) {
+    return new TransactionRecord(serialNumber, DATE, DATE, null, remarks, BigDecimal.ONE, BigDecimal.ZERO,
+      BigDecimal.TEN, null);
+  }
+}
@@ -0,0 +1,55 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import java.io.File;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BudgetTrackerTest {
+  private static final File MISSING_FILE = new File("missing-statement.xlsx");
+
+  @Test
+  void testDeadlineIsCheckedWhateverTheRowsAreCountedBy() throws InterruptedException {
+    ParseOptions parseOptions = ParseOptions.builder().budget(ParseBudget.builder().timeLimit(Duration.ofNanos(1)).build()).build();
+    BudgetTracker budget = BudgetTracker.start(MISSING_FILE, parseOptions);
+    Thread.sleep(1);
+
+    // Counted one row and then two at a time, the total never lands on a multiple of the check interval
+    budget.countRow();
+    int counts = 0;
+    try {
+      while (counts < 1000) {
+        budget.countRows(2);
+        counts++;
+      }
+      Assertions.fail("Deadline was never checked");
+    } catch (AccountStatementException e) {
+      Assertions.assertTrue(e.getMessage().contains("BUDGET_EXCEEDED"), e.getMessage());
+    }
+    Assertions.assertTrue(counts < 128, "Deadline checked after " + counts + " counts");
+  }
+
+  @Test
+  void testLargeCountsCheckTheDeadlineAtOnce() throws InterruptedException {
+    ParseOptions parseOptions = ParseOptions.builder().budget(ParseBudget.builder().timeLimit(Duration.ofNanos(1)).build()).build();
+    BudgetTracker budget = BudgetTracker.start(MISSING_FILE, parseOptions);
+    Thread.sleep(1);
+
+    Assertions.assertThrows(AccountStatementException.class, () -> budget.countRows(1000));
+  }
+
+  @Test
+  void testEstimatedCostOfOptionsIsNotEstimatedAgain() {
+    ParseOptions parseOptions = ParseOptions.builder().budget(ParseBudget.builder().maxHeapBytes(1000).build()).build();
+
+    // The missing file would fail the estimate with INVALID_FILE_FORMAT if it were listed
+    AccountStatementException unknownCost = Assertions.assertThrows(AccountStatementException.class,
+      () -> BudgetTracker.start(MISSING_FILE, parseOptions));
+    Assertions.assertTrue(unknownCost.getMessage().contains("INVALID_FILE_FORMAT"), unknownCost.getMessage());
+    Assertions.assertDoesNotThrow(() -> BudgetTracker.start(MISSING_FILE, parseOptions.withEstimatedCost(new ParseCost(250, 1000))));
+    AccountStatementException overBudget = Assertions.assertThrows(AccountStatementException.class,
+      () -> BudgetTracker.start(MISSING_FILE, parseOptions.withEstimatedCost(new ParseCost(250, 1001))));
+    Assertions.assertTrue(overBudget.getMessage().contains("BUDGET_EXCEEDED"), overBudget.getMessage());
+  }
+}
@@ -0,0 +1,69 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.TestFixtures;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.StatementType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvStatementParserTest {
+
+  @Test
+  void testCsvExportMatchesWorkbook(@TempDir Path tempDir) throws IOException {
+    File workbookFile = TestFixtures.statementWorkbook();
+    Path csvFile = tempDir.resolve("Test-Account-Statement.csv");
+    EngineEquivalenceHarness.exportFirstSheet(workbookFile, csvFile);
+
+    AccountStatement expected = new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, workbookFile)
+      .getParser()
+      .getTransactionInformation();
+    BankStatementParserFactory csvFactory = BankStatementParserFactory.detect(csvFile.toFile(), ParseOptions.defaults());
+    AccountStatement actual = csvFactory.getParser().getTransactionInformation();
+
+    Assertions.assertInstanceOf(CsvStatementParser.class, csvFactory.getParser());
+    Assertions.assertEquals(expected.transactionInfo(), actual.transactionInfo());
+    Assertions.assertEquals(expected.transactionRecords(), actual.transactionRecords());
+    Assertions.assertEquals(expected.summary(), actual.summary());
+  }
+
+  @Test
+  void testWorkbookNamedCsvIsReadAsWorkbook(@TempDir Path tempDir) throws IOException {
+    File workbookFile = TestFixtures.statementWorkbook();
+    Path misnamedFile = Files.copy(workbookFile.toPath(), tempDir.resolve("Test-Account-Statement.csv"));
+
+    AccountStatementParser parser = new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, misnamedFile.toFile())
+      .getParser();
+
+    Assertions.assertInstanceOf(ExcelSearchStatementParser.class, parser);
+    Assertions.assertEquals(new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, workbookFile)
+      .getParser()
+      .getTransactionInformation(), parser.getTransactionInformation());
+  }
+
+  @Test
+  void testQuotedFieldsAcrossMappedWindows(@TempDir Path tempDir) throws IOException {
+    Path csvFile = tempDir.resolve("quoted.csv");
+    Files.writeString(csvFile, "\uFEFFa,\"b,1\" ,c\r\n\"multi\nline\",\"say \"\"hi\"\"\",\n\nlast", StandardCharsets.UTF_8);
+
+    List<List<String>> lines = new ArrayList<>();
+    try (MappedCsvReader reader = new MappedCsvReader(csvFile, 32)) {
+      while (reader.nextLine()) {
+        lines.add(reader.fields());
+      }
+    }
+
+    Assertions.assertEquals(List.of(
+      List.of("a", "b,1", "c"),
+      List.of("multi\nline", "say \"hi\"", ""),
+      List.of(""),
+      List.of("last")), lines);
+  }
+}
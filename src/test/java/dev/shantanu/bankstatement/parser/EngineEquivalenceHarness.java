@@ -0,0 +1,474 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.parser.cache.StatementCache;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+/**
+ * Runs every parse engine over a corpus of statements and diffs the statements of each engine against those of the
+ * loaded workbook, the first engine, field by field: the transaction info, the records in the order the statement
+ * holds them, the summary and the error report. An engine throwing is a difference too. Engines reading a single
+ * worksheet skip workbooks of several, and the time an engine takes is summed over the files it read.
+ */
+final class EngineEquivalenceHarness {
+  private static final int MAX_DIFFERENCES_PER_FILE = 20;
+  // Parses of the engines running threads within one parse, a race rarely shows on every run
+  private static final int CONCURRENT_ENGINE_RUNS = 5;
+
+  /**
+   * A way of parsing a statement whose output must match the loaded workbook's.
+   */
+  interface Engine {
+    String name();
+
+    /**
+     * Untimed preparation of the input, such as exporting the workbook or warming a cache.
+     *
+     * @return the file the engine reads for the workbook, {@code null} when it can't read it
+     */
+    default File prepare(File workbookFile, Path workDirectory) throws IOException {
+      return workbookFile;
+    }
+
+    List<AccountStatement> parse(File input) throws IOException;
+
+    /**
+     * @return whether only the records are produced, without transaction info and summary
+     */
+    default boolean recordsOnly() {
+      return false;
+    }
+  }
+
+  /**
+   * @param path     where in the statements of the file the values differ, such as
+   *                 {@code statement[0].records[3].balance}
+   * @param expected value of the loaded workbook
+   * @param actual   value of the engine
+   */
+  record Difference(String file, String engine, String path, Object expected, Object actual) {
+    @Override
+    public String toString() {
+      return file + " [" + engine + "] " + path + ": expected " + expected + ", was " + actual;
+    }
+  }
+
+  /**
+   * @param elapsed time spent parsing the files read, preparation excluded
+   */
+  record EngineTiming(String engine, int files, int skippedFiles, Duration elapsed) {
+  }
+
+  record Report(List<Difference> differences, List<EngineTiming> timings) {
+    boolean isEquivalent() {
+      return differences.isEmpty();
+    }
+
+    String format() {
+      StringBuilder report = new StringBuilder();
+      for (EngineTiming timing : timings) {
+        long engineDifferences = differences.stream().filter(difference -> difference.engine().equals(timing.engine())).count();
+        report.append(String.format(Locale.ROOT, "%-20s %3d files %3d skipped %10.3f ms %5d differences%n", timing.engine(),
+          timing.files(), timing.skippedFiles(), timing.elapsed().toNanos() / 1e6, engineDifferences));
+      }
+      differences.forEach(difference -> report.append(difference).append(System.lineSeparator()));
+      return report.toString();
+    }
+  }
+
+  private final List<Engine> engines;
+
+  EngineEquivalenceHarness(List<Engine> engines) {
+    if (engines.isEmpty()) {
+      throw new IllegalArgumentException("At least the reference engine is needed");
+    }
+    this.engines = List.copyOf(engines);
+  }
+
+  /**
+   * The loaded workbook first, as the reference, then every other engine of the parser.
+   */
+  static List<Engine> allEngines(StatementType statementType) {
+    ParseOptions reference = ParseOptions.builder().computeSummary(true).sheetParallelism(1).build();
+    LayoutCache layoutCache = new LayoutCache();
+    StatementCache statementCache = new StatementCache(64L * 1024 * 1024);
+    return List.of(
+      workbookEngine("loaded-workbook", statementType, reference),
+      repeated(workbookEngine("parallel-sheets", statementType, ParseOptions.builder().computeSummary(true).sheetParallelism(4).build()),
+        CONCURRENT_ENGINE_RUNS),
+      workbookEngine("streamed-xlsx", statementType, ParseOptions.builder().computeSummary(true).sheetParallelism(1).largeFileThreshold(1).build()),
+      workbookEngine("evaluated-formulas", statementType, ParseOptions.builder().computeSummary(true).sheetParallelism(1).formulaMode(FormulaMode.EVALUATE).build()),
+      new Engine() {
+        private final ParseOptions parseOptions = ParseOptions.builder().computeSummary(true).sheetParallelism(1).layoutCache(layoutCache).build();
+
+        @Override
+        public String name() {
+          return "cached-layout";
+        }
+
+        @Override
+        public File prepare(File workbookFile, Path workDirectory) throws IOException {
+          parse(workbookFile);
+          return workbookFile;
+        }
+
+        @Override
+        public List<AccountStatement> parse(File input) throws IOException {
+          return new BankStatementParserFactory(statementType, input, parseOptions).getParser().getAccountStatements();
+        }
+      },
+      new Engine() {
+        @Override
+        public String name() {
+          return "cached-statement";
+        }
+
+        @Override
+        public File prepare(File workbookFile, Path workDirectory) throws IOException {
+          if (!isSingleSheet(workbookFile)) {
+            return null;
+          }
+          parse(workbookFile);
+          return workbookFile;
+        }
+
+        @Override
+        public List<AccountStatement> parse(File input) throws IOException {
+          return List.of(new BankStatementParserFactory(statementType, input, reference).getParser(statementCache).getTransactionInformation());
+        }
+      },
+      new Engine() {
+        @Override
+        public String name() {
+          return "lazy-records";
+        }
+
+        @Override
+        public File prepare(File workbookFile, Path workDirectory) throws IOException {
+          return isSingleSheet(workbookFile) ? workbookFile : null;
+        }
+
+        @Override
+        public List<AccountStatement> parse(File input) throws IOException {
+          List<LazyTransactionRecord> lazyRecords = new BankStatementParserFactory(statementType, input, reference).getParser().getLazyTransactionRecords();
+          return List.of(new AccountStatement(null, lazyRecords.stream().map(LazyTransactionRecord::toTransactionRecord)
+            .collect(Collectors.toCollection(LinkedHashSet::new))));
+        }
+
+        @Override
+        public boolean recordsOnly() {
+          return true;
+        }
+      },
+      new Engine() {
+        @Override
+        public String name() {
+          return "csv-export";
+        }
+
+        @Override
+        public File prepare(File workbookFile, Path workDirectory) throws IOException {
+          if (!isSingleSheet(workbookFile)) {
+            return null;
+          }
+          Path csvFile = workDirectory.resolve(workbookFile.getName() + ".csv");
+          exportFirstSheet(workbookFile, csvFile);
+          return csvFile.toFile();
+        }
+
+        @Override
+        public List<AccountStatement> parse(File input) throws IOException {
+          return BankStatementParserFactory.detect(input, reference).getParser().getAccountStatements();
+        }
+      });
+  }
+
+  private static Engine workbookEngine(String name, StatementType statementType, ParseOptions parseOptions) {
+    return new Engine() {
+      @Override
+      public String name() {
+        return name;
+      }
+
+      @Override
+      public List<AccountStatement> parse(File input) throws IOException {
+        return new BankStatementParserFactory(statementType, input, parseOptions).getParser().getAccountStatements();
+      }
+    };
+  }
+
+  /**
+   * Parses each file {@code runs} times and fails when a run differs from the first, records order included, so that
+   * an engine is only equivalent when every run is.
+   */
+  static Engine repeated(Engine engine, int runs) {
+    return new Engine() {
+      @Override
+      public String name() {
+        return engine.name();
+      }
+
+      @Override
+      public File prepare(File workbookFile, Path workDirectory) throws IOException {
+        return engine.prepare(workbookFile, workDirectory);
+      }
+
+      @Override
+      public List<AccountStatement> parse(File input) throws IOException {
+        List<AccountStatement> first = engine.parse(input);
+        for (int run = 2; run <= runs; run++) {
+          if (!isSameParse(first, engine.parse(input))) {
+            throw new IllegalStateException("Run " + run + " of " + runs + " differs from the first");
+          }
+        }
+        return first;
+      }
+
+      @Override
+      public boolean recordsOnly() {
+        return engine.recordsOnly();
+      }
+    };
+  }
+
+  private static boolean isSameParse(List<AccountStatement> expected, List<AccountStatement> actual) {
+    if (!expected.equals(actual)) {
+      return false;
+    }
+    for (int s = 0; s < expected.size(); s++) {
+      if (!List.copyOf(expected.get(s).transactionRecords()).equals(List.copyOf(actual.get(s).transactionRecords()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  Report run(List<File> corpus, Path workDirectory) throws IOException {
+    Map<String, long[]> nanos = new LinkedHashMap<>();
+    Map<String, int[]> counts = new LinkedHashMap<>();
+    engines.forEach(engine -> {
+      nanos.put(engine.name(), new long[1]);
+      counts.put(engine.name(), new int[2]);
+    });
+    List<Difference> differences = new ArrayList<>();
+    Engine reference = engines.getFirst();
+    for (File file : corpus) {
+      long start = System.nanoTime();
+      List<AccountStatement> expected = reference.parse(reference.prepare(file, workDirectory));
+      nanos.get(reference.name())[0] += System.nanoTime() - start;
+      counts.get(reference.name())[0]++;
+
+      for (Engine engine : engines.subList(1, engines.size())) {
+        File input = engine.prepare(file, workDirectory);
+        if (input == null) {
+          counts.get(engine.name())[1]++;
+          continue;
+        }
+        List<Difference> fileDifferences = new ArrayList<>();
+        start = System.nanoTime();
+        try {
+          List<AccountStatement> actual = engine.parse(input);
+          nanos.get(engine.name())[0] += System.nanoTime() - start;
+          diffStatements(new Differ(file.getName(), engine, fileDifferences), expected, actual);
+        } catch (RuntimeException | IOException e) {
+          nanos.get(engine.name())[0] += System.nanoTime() - start;
+          fileDifferences.add(new Difference(file.getName(), engine.name(), "parse", "statements", e));
+        }
+        counts.get(engine.name())[0]++;
+        differences.addAll(fileDifferences);
+      }
+    }
+    List<EngineTiming> timings = engines.stream()
+      .map(engine -> new EngineTiming(engine.name(), counts.get(engine.name())[0], counts.get(engine.name())[1],
+        Duration.ofNanos(nanos.get(engine.name())[0])))
+      .toList();
+    return new Report(differences, timings);
+  }
+
+  private static void diffStatements(Differ differ, List<AccountStatement> expected, List<AccountStatement> actual) {
+    differ.compare("statements.size", expected.size(), actual.size());
+    for (int s = 0; s < Math.min(expected.size(), actual.size()); s++) {
+      String prefix = "statement[" + s + "].";
+      AccountStatement expectedStatement = expected.get(s);
+      AccountStatement actualStatement = actual.get(s);
+      if (!differ.engine().recordsOnly()) {
+        differ.compareRecords(prefix + "transactionInfo", expectedStatement.transactionInfo(), actualStatement.transactionInfo());
+        differ.compare(prefix + "summary", expectedStatement.summary(), actualStatement.summary());
+        differ.compareRecords(prefix + "errors", expectedStatement.errors(), actualStatement.errors());
+      }
+      List<TransactionRecord> expectedRecords = List.copyOf(expectedStatement.transactionRecords());
+      List<TransactionRecord> actualRecords = List.copyOf(actualStatement.transactionRecords());
+      differ.compare(prefix + "records.size", expectedRecords.size(), actualRecords.size());
+      for (int r = 0; r < Math.max(expectedRecords.size(), actualRecords.size()); r++) {
+        differ.compareRecords(prefix + "records[" + r + "]", r < expectedRecords.size() ? expectedRecords.get(r) : null,
+          r < actualRecords.size() ? actualRecords.get(r) : null);
+      }
+    }
+  }
+
+  /**
+   * Collects the differences of one engine on one file, up to {@value #MAX_DIFFERENCES_PER_FILE}.
+   */
+  private record Differ(String file, Engine engine, List<Difference> differences) {
+    void compare(String path, Object expected, Object actual) {
+      if (!Objects.equals(expected, actual) && differences.size() < MAX_DIFFERENCES_PER_FILE) {
+        differences.add(new Difference(file, engine.name(), path, expected, actual));
+      }
+    }
+
+    /**
+     * Compares two records component by component, or as a whole when one is missing.
+     */
+    void compareRecords(String path, Record expected, Record actual) {
+      if (expected == null || actual == null) {
+        compare(path, expected, actual);
+        return;
+      }
+      for (RecordComponent component : expected.getClass().getRecordComponents()) {
+        compare(path + "." + component.getName(), componentValue(component, expected), componentValue(component, actual));
+      }
+    }
+
+    private static Object componentValue(RecordComponent component, Record record) {
+      try {
+        return component.getAccessor().invoke(record);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException("Could not read " + component.getName() + " of " + record.getClass().getSimpleName(), e);
+      }
+    }
+  }
+
+  /**
+   * Generates a statement from a template workbook whose first sheet holds a transactions table starting at
+   * {@code firstTransactionRow}: each of the {@code sheets} sheets is a copy of the template with {@code rows}
+   * transactions of seeded random dates, cheque numbers, remarks and amounts, some amounts formatted with thousands
+   * separators. The rows below the table are kept under it.
+   */
+  static File generateStatement(File template, Path target, int firstTransactionRow, int sheets, int rows, long seed)
+    throws IOException {
+    Random random = new Random(seed);
+    DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    try (InputStream inputStream = Files.newInputStream(template.toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      CellStyle thousands = workbook.createCellStyle();
+      thousands.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+      for (int s = 1; s < sheets; s++) {
+        workbook.cloneSheet(0);
+      }
+      int serialNumber = 0;
+      LocalDate date = LocalDate.of(2024, 4, 1);
+      BigDecimal balance = new BigDecimal("100000.00");
+      for (int s = 0; s < sheets; s++) {
+        Sheet sheet = workbook.getSheetAt(s);
+        int templateRows = 0;
+        while (isTransactionRow(sheet.getRow(firstTransactionRow + templateRows))) {
+          templateRows++;
+        }
+        int shift = rows - templateRows;
+        if (shift != 0 && firstTransactionRow + templateRows <= sheet.getLastRowNum()) {
+          sheet.shiftRows(firstTransactionRow + templateRows, sheet.getLastRowNum(), shift);
+        }
+        for (int r = 0; r < rows; r++) {
+          serialNumber++;
+          date = date.plusDays(random.nextInt(3));
+          BigDecimal amount = BigDecimal.valueOf(random.nextInt(500_000), 2);
+          boolean withdrawal = random.nextBoolean();
+          balance = withdrawal ? balance.subtract(amount) : balance.add(amount);
+          Row row = sheet.getRow(firstTransactionRow + r);
+          if (row == null) {
+            row = sheet.createRow(firstTransactionRow + r);
+          }
+          row.createCell(1).setCellValue(serialNumber);
+          row.createCell(2).setCellValue(date.format(dateFormat));
+          row.createCell(3).setCellValue(date.format(dateFormat));
+          row.createCell(4).setCellValue(serialNumber % 7 == 0 ? String.format("%06d", random.nextInt(1_000_000)) : "");
+          row.createCell(5).setCellValue(switch (random.nextInt(3)) {
+            case 0 -> "UPI/" + random.nextInt(1_000_000) + "@ybl/UPI/Yes Bank Ltd/" + serialNumber + "/";
+            case 1 -> "NEFT-HDFC" + random.nextInt(10_000) + "-SALARY, " + date.getMonth();
+            default -> "CLG/\"" + serialNumber + "\"/CHEQUE";
+          });
+          setAmount(row.createCell(withdrawal ? 6 : 7), amount, random.nextInt(3) == 0 ? thousands : null);
+          row.createCell(withdrawal ? 7 : 6).setCellValue("");
+          setAmount(row.createCell(8), balance, thousands);
+        }
+      }
+      try (OutputStream outputStream = Files.newOutputStream(target)) {
+        workbook.write(outputStream);
+      }
+    }
+    return target.toFile();
+  }
+
+  private static boolean isTransactionRow(Row row) {
+    Cell serialCell = row == null ? null : row.getCell(1);
+    String serialNumber = serialCell == null ? "" : new DataFormatter().formatCellValue(serialCell);
+    return !serialNumber.isEmpty() && serialNumber.chars().allMatch(Character::isDigit);
+  }
+
+  private static void setAmount(Cell cell, BigDecimal amount, CellStyle style) {
+    cell.setCellValue(amount.doubleValue());
+    if (style != null) {
+      cell.setCellStyle(style);
+    }
+  }
+
+  private static boolean isSingleSheet(File workbookFile) throws IOException {
+    try (Workbook workbook = WorkbookFactory.create(workbookFile, null, true)) {
+      return workbook.getNumberOfSheets() == 1;
+    }
+  }
+
+  /**
+   * Writes the first sheet as its cells are displayed, one line per row and an empty line per missing row.
+   */
+  static void exportFirstSheet(File workbookFile, Path csvFile) throws IOException {
+    DataFormatter formatter = new DataFormatter();
+    try (Workbook workbook = WorkbookFactory.create(workbookFile, null, true);
+         Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+      Sheet sheet = workbook.getSheetAt(0);
+      for (int r = 0; r <= sheet.getLastRowNum(); r++) {
+        Row row = sheet.getRow(r);
+        List<String> fields = new ArrayList<>();
+        for (int c = 0; row != null && c < row.getLastCellNum(); c++) {
+          String value = row.getCell(c) == null ? "" : formatter.formatCellValue(row.getCell(c));
+          fields.add(value.contains(",") || value.contains("\"") || value.contains("\n")
+            ? "\"" + value.replace("\"", "\"\"") + "\""
+            : value);
+        }
+        writer.write(String.join(",", fields));
+        writer.write("\n");
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.TestFixtures;
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EngineEquivalenceHarnessTest {
+  private static final StatementType STATEMENT_TYPE = StatementType.ICICI_BANK_SEARCH_STATEMENT;
+  private static final int FIRST_TRANSACTION_ROW = 13;
+
+  @Test
+  void testEveryEngineMatchesLoadedWorkbook(@TempDir Path tempDir) throws IOException {
+    File fixture = TestFixtures.statementWorkbook();
+    List<File> corpus = List.of(fixture,
+      EngineEquivalenceHarness.generateStatement(fixture, tempDir.resolve("Generated-500.xlsx"), FIRST_TRANSACTION_ROW, 1, 500, 1),
+      EngineEquivalenceHarness.generateStatement(fixture, tempDir.resolve("Generated-3-Sheets.xlsx"), FIRST_TRANSACTION_ROW, 3, 200, 2),
+      // More sheets than the parallel engine has threads, so that every thread parses several
+      EngineEquivalenceHarness.generateStatement(fixture, tempDir.resolve("Generated-12-Sheets.xlsx"), FIRST_TRANSACTION_ROW, 12, 100, 3));
+
+    List<EngineEquivalenceHarness.Engine> engines = EngineEquivalenceHarness.allEngines(STATEMENT_TYPE);
+    EngineEquivalenceHarness.Report report = new EngineEquivalenceHarness(engines).run(corpus, tempDir);
+
+    Assertions.assertTrue(report.isEquivalent(), report::format);
+    Assertions.assertEquals(engines.size(), report.timings().size());
+    report.timings().forEach(timing -> Assertions.assertEquals(corpus.size(), timing.files() + timing.skippedFiles(), timing.engine()));
+  }
+
+  @Test
+  void testDroppedRecordIsReported(@TempDir Path tempDir) throws IOException {
+    EngineEquivalenceHarness.Engine reference = EngineEquivalenceHarness.allEngines(STATEMENT_TYPE).getFirst();
+    EngineEquivalenceHarness.Engine dropsFirstRecord = new EngineEquivalenceHarness.Engine() {
+      @Override
+      public String name() {
+        return "drops-first-record";
+      }
+
+      @Override
+      public List<AccountStatement> parse(File input) throws IOException {
+        AccountStatement statement = reference.parse(input).getFirst();
+        Set<TransactionRecord> records = statement.transactionRecords().stream()
+          .filter(transactionRecord -> transactionRecord.serialNumber() != 1)
+          .collect(Collectors.toCollection(LinkedHashSet::new));
+        return List.of(new AccountStatement(statement.transactionInfo(), records, statement.summary()));
+      }
+    };
+
+    EngineEquivalenceHarness.Report report = new EngineEquivalenceHarness(List.of(reference, dropsFirstRecord))
+      .run(List.of(TestFixtures.statementWorkbook()), tempDir);
+
+    Assertions.assertFalse(report.isEquivalent());
+    Assertions.assertTrue(report.differences().stream()
+      .anyMatch(difference -> difference.path().equals("statement[0].records.size")), report::format);
+    Assertions.assertTrue(report.differences().stream()
+      .anyMatch(difference -> difference.path().equals("statement[0].records[0].serialNumber")
+        && difference.expected().equals(1) && difference.actual().equals(2)), report::format);
+  }
+
+  @Test
+  void testRecordOrderAndErrorsAreCompared(@TempDir Path tempDir) throws IOException {
+    EngineEquivalenceHarness.Engine reference = EngineEquivalenceHarness.allEngines(STATEMENT_TYPE).getFirst();
+    EngineEquivalenceHarness.Engine reversesRecords = new EngineEquivalenceHarness.Engine() {
+      @Override
+      public String name() {
+        return "reverses-records";
+      }
+
+      @Override
+      public List<AccountStatement> parse(File input) throws IOException {
+        AccountStatement statement = reference.parse(input).getFirst();
+        Set<TransactionRecord> records = new LinkedHashSet<>(List.copyOf(statement.transactionRecords()).reversed());
+        ParseErrorReport errors = new ParseErrorReport(Map.of(ConversionErrorCode.INVALID_DATE, 1), List.of());
+        return List.of(new AccountStatement(statement.transactionInfo(), records, statement.summary(), errors));
+      }
+    };
+
+    EngineEquivalenceHarness.Report report = new EngineEquivalenceHarness(List.of(reference, reversesRecords))
+      .run(List.of(TestFixtures.statementWorkbook()), tempDir);
+
+    Assertions.assertTrue(report.differences().stream()
+      .noneMatch(difference -> difference.path().equals("statement[0].records.size")), report::format);
+    Assertions.assertTrue(report.differences().stream()
+      .anyMatch(difference -> difference.path().equals("statement[0].records[0].serialNumber")), report::format);
+    Assertions.assertTrue(report.differences().stream()
+      .anyMatch(difference -> difference.path().equals("statement[0].errors.counts")), report::format);
+  }
+
+  @Test
+  void testRunDifferingFromTheFirstIsReported(@TempDir Path tempDir) throws IOException {
+    EngineEquivalenceHarness.Engine reference = EngineEquivalenceHarness.allEngines(STATEMENT_TYPE).getFirst();
+    AtomicInteger runs = new AtomicInteger();
+    EngineEquivalenceHarness.Engine racyEngine = new EngineEquivalenceHarness.Engine() {
+      @Override
+      public String name() {
+        return "racy";
+      }
+
+      @Override
+      public List<AccountStatement> parse(File input) throws IOException {
+        AccountStatement statement = reference.parse(input).getFirst();
+        if (runs.incrementAndGet() != 3) {
+          return List.of(statement);
+        }
+        List<TransactionRecord> records = new ArrayList<>(statement.transactionRecords());
+        Collections.swap(records, 0, 1);
+        return List.of(new AccountStatement(statement.transactionInfo(), new LinkedHashSet<>(records), statement.summary()));
+      }
+    };
+
+    EngineEquivalenceHarness.Report report = new EngineEquivalenceHarness(List.of(reference, EngineEquivalenceHarness.repeated(racyEngine, 5)))
+      .run(List.of(TestFixtures.statementWorkbook()), tempDir);
+
+    Assertions.assertEquals(3, runs.get());
+    Assertions.assertEquals(1, report.differences().size(), report::format);
+    Assertions.assertEquals("parse", report.differences().getFirst().path());
+  }
+}
@@ -1,15 +1,52 @@
 package dev.shantanu.bankstatement.parser;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.PaymentChannel;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementConfiguration;
 import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.error.AccountStatementException;
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import dev.shantanu.bankstatement.error.ErrorCode;
+import dev.shantanu.bankstatement.parser.model.StatementSummary;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.Encryptor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ExcelSearchStatementParserTest {
+  // First transaction row of the fixture's table, and the size of the tables generated from it
+  private static final int TABLE_FIRST_ROW = 13;
+  private static final int GENERATED_ROWS = 20;
   static BankStatementParserFactory factory;
 
   @BeforeAll
@@ -30,4 +67,394 @@ class ExcelSearchStatementParserTest {
     Assertions.assertNotNull(transactionInformation.transactionInfo());
   }
 
-}
\ No newline at end of file
+  @Test
+  void testLazyTransactionRecordsMatchParsedRecords() throws IOException {
+    AccountStatementParser parser = factory.getParser();
+    Set<TransactionRecord> parsedRecords = parser.getTransactionInformation().transactionRecords();
+    List<LazyTransactionRecord> lazyRecords = parser.getLazyTransactionRecords();
+
+    Assertions.assertEquals(parsedRecords.size(), lazyRecords.size());
+    Assertions.assertEquals(parsedRecords, lazyRecords.stream()
+      .map(LazyTransactionRecord::toTransactionRecord)
+      .collect(Collectors.toSet()));
+  }
+
+  @Test
+  void testTransactionQueryMatchesFilteredFullParse() throws IOException {
+    AccountStatementParser parser = factory.getParser();
+    Set<TransactionRecord> parsedRecords = parser.getTransactionInformation().transactionRecords();
+    TransactionQuery query = TransactionQuery.builder()
+      .transactionDateFrom(LocalDate.of(2025, 1, 1))
+      .transactionDateTo(LocalDate.of(2030, 12, 31))
+      .minimumAmount(new BigDecimal("80"))
+      .build();
+
+    Set<TransactionRecord> queriedRecords = parser.getTransactionInformation(query).transactionRecords();
+
+    Assertions.assertEquals(parsedRecords.stream().filter(query::matches).collect(Collectors.toSet()), queriedRecords);
+    Assertions.assertEquals(Set.of(4, 5, 7, 8), queriedRecords.stream()
+      .map(TransactionRecord::serialNumber)
+      .collect(Collectors.toSet()));
+  }
+
+  @Test
+  void testRepeatedRemarksShareOneInstance() throws IOException {
+    List<TransactionRecord> records = List.copyOf(factory.getParser().getTransactionInformation().transactionRecords());
+
+    // Every record but the cheque clearing of serial number 8 has the same UPI narration
+    List<String> upiRemarks = records.stream()
+      .map(TransactionRecord::transactionRemarks)
+      .filter(remarks -> remarks.startsWith("UPI/"))
+      .toList();
+    Assertions.assertEquals(9, upiRemarks.size());
+    upiRemarks.forEach(remarks -> Assertions.assertSame(upiRemarks.getFirst(), remarks));
+  }
+
+  @Test
+  void testSharedStringDictionaryIsUsedAcrossParses() throws IOException {
+    StringDictionary dictionary = new StringDictionary();
+    ParseOptions parseOptions = ParseOptions.builder().sharedStringDictionary(dictionary).build();
+    BankStatementParserFactory sharingFactory = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), parseOptions);
+
+    List<TransactionRecord> first = List.copyOf(sharingFactory.getParser().getTransactionInformation().transactionRecords());
+    List<TransactionRecord> second = List.copyOf(sharingFactory.getParser().getTransactionInformation().transactionRecords());
+
+    Assertions.assertEquals(first, second);
+    for (int i = 0; i < first.size(); i++) {
+      Assertions.assertSame(first.get(i).transactionRemarks(), second.get(i).transactionRemarks());
+      Assertions.assertSame(first.get(i).checkNumber(), second.get(i).checkNumber());
+    }
+    Assertions.assertEquals("534234", first.get(7).checkNumber());
+    Assertions.assertSame(dictionary.intern("534234"), first.get(7).checkNumber());
+    Assertions.assertSame(dictionary.intern(new String("CLG Another Person Name")), first.get(7).transactionRemarks());
+  }
+
+  @Test
+  void testSummaryIsComputedWhileParsing() throws IOException {
+    ParseOptions parseOptions = ParseOptions.builder().computeSummary(true).build();
+    AccountStatementParser parser = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), parseOptions).getParser();
+
+    StatementSummary summary = parser.getTransactionInformation().summary();
+
+    Assertions.assertNotNull(summary);
+    Assertions.assertEquals(10, summary.totals().transactionCount());
+    Assertions.assertEquals(new BigDecimal("800.00"), summary.totals().totalWithdrawals());
+    Assertions.assertEquals(new BigDecimal("1340.00"), summary.totals().totalDeposits());
+    Assertions.assertEquals(new BigDecimal("560.00"), summary.openingBalance());
+    Assertions.assertEquals(new BigDecimal("1040.00"), summary.closingBalance());
+    Assertions.assertEquals(2, summary.monthlyTotals().get(YearMonth.of(2024, 11)).transactionCount());
+    Assertions.assertEquals(Map.of(PaymentChannel.UPI, 9, PaymentChannel.CHEQUE, 1), summary.channelCounts());
+    Assertions.assertNull(factory.getParser().getTransactionInformation().summary());
+  }
+
+  @Test
+  void testEveryAccountSheetIsParsed(@TempDir Path tempDir) throws IOException {
+    File workbookFile = tempDir.resolve("Two-Accounts.xlsx").toFile();
+    try (InputStream inputStream = Files.newInputStream(factory.statementFile().toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      Sheet secondAccount = workbook.cloneSheet(0);
+      secondAccount.getRow(3).getCell(3).setCellValue("000601655999 ( INR )  - Another Account");
+      workbook.createSheet("Notes").createRow(0).createCell(0).setCellValue("Legends Used in Account Statement");
+      try (OutputStream outputStream = Files.newOutputStream(workbookFile.toPath())) {
+        workbook.write(outputStream);
+      }
+    }
+    AccountStatementParser parser = new BankStatementParserFactory(factory.statementType(), workbookFile).getParser();
+
+    List<AccountStatement> accountStatements = parser.getAccountStatements();
+
+    Assertions.assertEquals(List.of("000601655000", "000601655999"), accountStatements.stream()
+      .map(accountStatement -> accountStatement.transactionInfo().accountNumber())
+      .toList());
+    Set<TransactionRecord> firstSheetRecords = parser.getTransactionInformation().transactionRecords();
+    accountStatements.forEach(accountStatement -> Assertions.assertEquals(firstSheetRecords, accountStatement.transactionRecords()));
+  }
+
+  @Test
+  void testFieldFormulaIsReadInFormulaMode(@TempDir Path tempDir) throws IOException {
+    File workbookFile = tempDir.resolve("Formula-Account.xlsx").toFile();
+    try (InputStream inputStream = Files.newInputStream(factory.statementFile().toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      Cell accountCell = workbook.getSheetAt(0).getRow(3).getCell(3);
+      // Written without a stored result, as by generators that leave the calculation to Excel
+      accountCell.setBlank();
+      accountCell.setCellFormula("\"000601655999\"&\" ( INR )  - Formula Account\"");
+      try (OutputStream outputStream = Files.newOutputStream(workbookFile.toPath())) {
+        workbook.write(outputStream);
+      }
+    }
+
+    AccountStatement cached = new BankStatementParserFactory(factory.statementType(), workbookFile,
+      ParseOptions.builder().formulaMode(FormulaMode.CACHED).build()).getParser().getTransactionInformation();
+    AccountStatement evaluated = new BankStatementParserFactory(factory.statementType(), workbookFile,
+      ParseOptions.builder().formulaMode(FormulaMode.EVALUATE).build()).getParser().getTransactionInformation();
+
+    Assertions.assertNotEquals("000601655999", cached.transactionInfo().accountNumber());
+    Assertions.assertEquals("000601655999", evaluated.transactionInfo().accountNumber());
+    Assertions.assertEquals(cached.transactionRecords(), evaluated.transactionRecords());
+  }
+
+  @Test
+  void testConcurrentSheetParsesMatchSequentialParse(@TempDir Path tempDir) throws IOException {
+    File workbookFile = EngineEquivalenceHarness.generateStatement(factory.statementFile(), tempDir.resolve("Many-Sheets.xlsx"),
+      13, 12, 100, 3);
+    ParseOptions sequential = ParseOptions.builder().sheetParallelism(1).build();
+    List<AccountStatement> expected = new BankStatementParserFactory(factory.statementType(), workbookFile, sequential)
+      .getParser().getAccountStatements();
+
+    for (int parallelism : new int[]{2, 5, 12}) {
+      ParseOptions parseOptions = ParseOptions.builder().sheetParallelism(parallelism).layoutCache(new LayoutCache()).build();
+      for (int run = 0; run < 4; run++) {
+        List<AccountStatement> accountStatements = new BankStatementParserFactory(factory.statementType(), workbookFile, parseOptions)
+          .getParser().getAccountStatements();
+
+        Assertions.assertEquals(expected, accountStatements, "Parallelism " + parallelism + ", run " + run);
+        Assertions.assertEquals(List.copyOf(expected.getFirst().transactionRecords()),
+          List.copyOf(accountStatements.getFirst().transactionRecords()), "Parallelism " + parallelism + ", run " + run);
+      }
+    }
+    Assertions.assertEquals(1200, expected.getFirst().transactionRecords().size());
+  }
+
+  @Test
+  void testRepeatParseUsesCachedLayout() throws IOException {
+    LayoutCache layoutCache = new LayoutCache();
+    ParseOptions parseOptions = ParseOptions.builder().layoutCache(layoutCache).build();
+    BankStatementParserFactory cachingFactory = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), parseOptions);
+
+    AccountStatement discovered = cachingFactory.getParser().getTransactionInformation();
+    AccountStatement cached = cachingFactory.getParser().getTransactionInformation();
+
+    Assertions.assertEquals(1, layoutCache.misses());
+    Assertions.assertEquals(1, layoutCache.hits());
+    Assertions.assertEquals(factory.getParser().getTransactionInformation(), discovered);
+    Assertions.assertEquals(discovered, cached);
+  }
+
+  @Test
+  void testStreamedLargeFileMatchesLoadedWorkbook() throws IOException {
+    ParseOptions parseOptions = ParseOptions.builder().computeSummary(true).largeFileThreshold(1).build();
+    BankStatementParserFactory streamingFactory = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), parseOptions);
+    ParseOptions loadedOptions = ParseOptions.builder().computeSummary(true).build();
+    BankStatementParserFactory loadingFactory = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), loadedOptions);
+
+    AccountStatement streamed = streamingFactory.getParser().getTransactionInformation();
+
+    Assertions.assertEquals(loadingFactory.getParser().getTransactionInformation(), streamed);
+    Assertions.assertEquals(List.of(streamed), streamingFactory.getParser().getAccountStatements());
+  }
+
+  @Test
+  void testStreamedSheetStartingFarDownMatchesLoadedWorkbook(@TempDir Path tempDir) throws IOException {
+    File workbookFile = tempDir.resolve("Low-Header.xlsx").toFile();
+    try (InputStream inputStream = Files.newInputStream(factory.statementFile().toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      Sheet sheet = workbook.getSheetAt(0);
+      sheet.shiftRows(sheet.getFirstRowNum(), sheet.getLastRowNum(), 5000);
+      try (OutputStream outputStream = Files.newOutputStream(workbookFile.toPath())) {
+        workbook.write(outputStream);
+      }
+    }
+    ParseOptions streamingOptions = ParseOptions.builder().largeFileThreshold(1).build();
+
+    AccountStatement loaded = new BankStatementParserFactory(factory.statementType(), workbookFile).getParser().getTransactionInformation();
+    AccountStatement streamed = new BankStatementParserFactory(factory.statementType(), workbookFile, streamingOptions).getParser().getTransactionInformation();
+
+    Assertions.assertEquals(factory.getParser().getTransactionInformation().transactionRecords(), loaded.transactionRecords());
+    Assertions.assertEquals(loaded, streamed);
+  }
+
+  @Test
+  void testStreamedSheetWithTooManyRowsAboveHeaderIsReported(@TempDir Path tempDir) throws IOException {
+    File workbookFile = tempDir.resolve("Long-Preamble.xlsx").toFile();
+    try (InputStream inputStream = Files.newInputStream(factory.statementFile().toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      Sheet sheet = workbook.getSheetAt(0);
+      sheet.shiftRows(sheet.getFirstRowNum(), sheet.getLastRowNum(), 1000);
+      for (int r = 0; r < 1000; r++) {
+        sheet.createRow(r).createCell(0).setCellValue("Notice " + r);
+      }
+      try (OutputStream outputStream = Files.newOutputStream(workbookFile.toPath())) {
+        workbook.write(outputStream);
+      }
+    }
+    ParseOptions streamingOptions = ParseOptions.builder().largeFileThreshold(1).build();
+    AccountStatementParser streamingParser = new BankStatementParserFactory(factory.statementType(), workbookFile, streamingOptions).getParser();
+
+    AccountStatementException exception = Assertions.assertThrows(AccountStatementException.class, streamingParser::getTransactionInformation);
+    Assertions.assertTrue(exception.getMessage().contains("first 1000 rows"), exception.getMessage());
+  }
+
+  @Test
+  void testParseOverBudgetFailsWithBudgetExceeded() throws IOException {
+    long decompressedBytes = ParseCost.estimate(factory.statementFile(), ParseOptions.defaults()).decompressedBytes();
+    ParseBudget withinBudget = ParseBudget.builder().maxRows(100_000).maxDecompressedBytes(decompressedBytes).build();
+    ParseBudget rowBudget = ParseBudget.builder().maxRows(10).build();
+    ParseBudget sizeBudget = ParseBudget.builder().maxDecompressedBytes(decompressedBytes - 1).build();
+
+    Assertions.assertEquals(factory.getParser().getTransactionInformation(), parserWithBudget(withinBudget, 0).getTransactionInformation());
+    for (ParseBudget budget : List.of(rowBudget, sizeBudget)) {
+      for (long largeFileThreshold : new long[]{0, 1}) {
+        AccountStatementParser parser = parserWithBudget(budget, largeFileThreshold);
+        AccountStatementException exception = Assertions.assertThrows(AccountStatementException.class, parser::getTransactionInformation);
+        Assertions.assertTrue(exception.getMessage().contains(ErrorCode.BUDGET_EXCEEDED.name()), exception.getMessage());
+      }
+    }
+  }
+
+  @Test
+  void testFooterInMappedColumnEndsTable(@TempDir Path tempDir) throws IOException {
+    File statementFile = generatedTable(tempDir, sheet -> {
+      sheet.getRow(TABLE_FIRST_ROW + 5).createCell(0).setCellValue("End of statement");
+      Row footer = sheet.getRow(TABLE_FIRST_ROW + 10);
+      clearRow(footer);
+      footer.createCell(5).setCellValue("END OF STATEMENT - balances are subject to realisation");
+    });
+
+    AccountStatement accountStatement = parseWithTerminator(statementFile, terminator(3, 5, 3, 0));
+
+    // The keyword in the unmapped first column left row 6 a transaction
+    Assertions.assertEquals(serialNumbers(1, 10), serialNumbersOf(accountStatement));
+  }
+
+  @Test
+  void testRunOfBlankRowsEndsTable(@TempDir Path tempDir) throws IOException {
+    File statementFile = generatedTable(tempDir, sheet -> {
+      clearRow(sheet.getRow(TABLE_FIRST_ROW + 10));
+      clearRow(sheet.getRow(TABLE_FIRST_ROW + 11));
+    });
+
+    AccountStatement endedAfterOne = parseWithTerminator(statementFile, terminator(1, 5, 3, 0));
+    AccountStatement skippedTwo = parseWithTerminator(statementFile, terminator(2, 5, 3, 0));
+
+    Assertions.assertEquals(serialNumbers(1, 10), serialNumbersOf(endedAfterOne));
+    List<Integer> expected = new ArrayList<>(serialNumbers(1, 10));
+    expected.addAll(serialNumbers(13, GENERATED_ROWS));
+    Assertions.assertEquals(expected, serialNumbersOf(skippedTwo));
+  }
+
+  @Test
+  void testRunOfInvalidRowsEndsTable(@TempDir Path tempDir) throws IOException {
+    File statementFile = generatedTable(tempDir, sheet -> {
+      for (int r = 10; r < 12; r++) {
+        Row note = sheet.getRow(TABLE_FIRST_ROW + r);
+        clearRow(note);
+        note.createCell(5).setCellValue("Carried forward");
+      }
+    });
+
+    AccountStatement endedAfterTwo = parseWithTerminator(statementFile, terminator(3, 5, 3, 2));
+    AccountStatement skippingInvalidRows = parseWithTerminator(statementFile, terminator(3, 5, 3, 0));
+
+    Assertions.assertEquals(serialNumbers(1, 10), serialNumbersOf(endedAfterTwo));
+    Assertions.assertEquals(GENERATED_ROWS - 2, skippingInvalidRows.transactionRecords().size());
+  }
+
+  @Test
+  void testRowWithTooManyErrorsIsRejected(@TempDir Path tempDir) throws IOException {
+    File statementFile = generatedTable(tempDir, sheet -> {
+      Row garbled = sheet.getRow(TABLE_FIRST_ROW + 7);
+      garbled.createCell(2).setCellValue("not a date");
+      garbled.createCell(3).setCellValue("not a date");
+      garbled.createCell(6).setCellValue("one hundred");
+      garbled.createCell(7).setCellValue("n/a");
+    });
+
+    AccountStatement rejecting = parseWithTerminator(statementFile, terminator(3, 5, 3, 0));
+    AccountStatement tolerant = parseWithTerminator(statementFile, terminator(3, 5, 4, 0));
+
+    Assertions.assertFalse(serialNumbersOf(rejecting).contains(8));
+    Assertions.assertEquals(GENERATED_ROWS - 1, rejecting.transactionRecords().size());
+    Assertions.assertEquals(1, rejecting.errors().count(ConversionErrorCode.ROW_REJECTED));
+    Assertions.assertTrue(rejecting.errors().samples().stream()
+      .anyMatch(error -> error.code() == ConversionErrorCode.ROW_REJECTED && error.rowNumber() == TABLE_FIRST_ROW + 8),
+      rejecting.errors().toString());
+    Assertions.assertEquals(GENERATED_ROWS, tolerant.transactionRecords().size());
+    Assertions.assertEquals(0, tolerant.errors().count(ConversionErrorCode.ROW_REJECTED));
+  }
+
+  /**
+   * Statement of {@value #GENERATED_ROWS} generated transactions, serial numbers 1 onwards, edited before it's saved.
+   */
+  private static File generatedTable(Path tempDir, Consumer<Sheet> edit) throws IOException {
+    File generated = EngineEquivalenceHarness.generateStatement(factory.statementFile(), tempDir.resolve("Generated.xlsx"),
+      TABLE_FIRST_ROW, 1, GENERATED_ROWS, 7);
+    File edited = tempDir.resolve("Edited.xlsx").toFile();
+    try (InputStream inputStream = Files.newInputStream(generated.toPath());
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      edit.accept(workbook.getSheetAt(0));
+      try (OutputStream outputStream = Files.newOutputStream(edited.toPath())) {
+        workbook.write(outputStream);
+      }
+    }
+    return edited;
+  }
+
+  private static void clearRow(Row row) {
+    List<Cell> cells = new ArrayList<>();
+    row.forEach(cells::add);
+    cells.forEach(row::removeCell);
+  }
+
+  private static JsonObject terminator(int blankRows, int minimumColumns, int maximumErrors, int invalidRows) {
+    JsonObject terminator = new JsonObject();
+    terminator.addProperty("blankRows", blankRows);
+    JsonArray footerKeywords = new JsonArray();
+    footerKeywords.add("Legends Used in Account Statement");
+    footerKeywords.add("End of statement");
+    terminator.add("footerKeywords", footerKeywords);
+    terminator.addProperty("minimumColumns", minimumColumns);
+    terminator.addProperty("maximumErrors", maximumErrors);
+    terminator.addProperty("invalidRows", invalidRows);
+    return terminator;
+  }
+
+  private static AccountStatement parseWithTerminator(File statementFile, JsonObject terminator) {
+    StatementConfiguration configuration = StatementConfiguration.builder(factory.statementType()).build();
+    List<JsonObject> sections = configuration.getSections().stream().map(JsonObject::deepCopy).toList();
+    sections.stream()
+      .filter(section -> ExcelSearchStatementParser.CONFIG_SECTION_TRANSACTIONS_TABLE.equals(section.get("id").getAsString()))
+      .forEach(section -> section.getAsJsonObject("table").add("terminator", terminator));
+    StatementConfiguration withTerminator = new StatementConfiguration.Config(configuration.statementType(),
+      configuration.version(), sections);
+    return new ExcelSearchStatementParser(statementFile, withTerminator).getTransactionInformation();
+  }
+
+  private static List<Integer> serialNumbers(int first, int last) {
+    return IntStream.rangeClosed(first, last).boxed().toList();
+  }
+
+  private static List<Integer> serialNumbersOf(AccountStatement accountStatement) {
+    return accountStatement.transactionRecords().stream().map(TransactionRecord::serialNumber).toList();
+  }
+
+  private static AccountStatementParser parserWithBudget(ParseBudget budget, long largeFileThreshold) {
+    ParseOptions parseOptions = ParseOptions.builder().budget(budget).largeFileThreshold(largeFileThreshold).build();
+    return new BankStatementParserFactory(factory.statementType(), factory.statementFile(), parseOptions).getParser();
+  }
+
+  @Test
+  void testEncryptedStatementIsOpenedWithProvidedPassword(@TempDir Path tempDir) throws IOException, GeneralSecurityException {
+    File encryptedFile = tempDir.resolve("Encrypted-Statement.xlsx").toFile();
+    EncryptionInfo encryptionInfo = new EncryptionInfo(EncryptionMode.agile);
+    Encryptor encryptor = encryptionInfo.getEncryptor();
+    encryptor.confirmPassword("01011990");
+    try (POIFSFileSystem fileSystem = new POIFSFileSystem()) {
+      try (OutputStream outputStream = encryptor.getDataStream(fileSystem)) {
+        Files.copy(factory.statementFile().toPath(), outputStream);
+      }
+      try (OutputStream outputStream = Files.newOutputStream(encryptedFile.toPath())) {
+        fileSystem.writeFilesystem(outputStream);
+      }
+    }
+    BankStatementParserFactory encryptedFactory = BankStatementParserFactory.detect(encryptedFile, ParseOptions.defaults());
+    AccountStatement expected = factory.getParser().getTransactionInformation();
+
+    Assertions.assertThrows(AccountStatementException.class, () -> encryptedFactory.getParser().getTransactionInformation());
+    StatementPasswordProvider passwords = StatementPasswordProvider.of("wrong", "01011990");
+    Assertions.assertEquals(expected, encryptedFactory.withPasswordProvider(passwords).getParser().getTransactionInformation());
+    BankStatementParserFactory streamingFactory = new BankStatementParserFactory(factory.statementType(), encryptedFile,
+      ParseOptions.builder().largeFileThreshold(1).build(), passwords);
+    Assertions.assertEquals(expected, streamingFactory.getParser().getTransactionInformation());
+  }
+}
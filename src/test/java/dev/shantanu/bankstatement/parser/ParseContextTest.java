@@ -0,0 +1,80 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParseContextTest {
+
+  @Test
+  void testSharedStringIndexGivesDataFormatterText() throws IOException {
+    try (InputStream inputStream = ClassLoader.getSystemResourceAsStream("dev/shantanu/bankstatement/Test-Account-Statement.xlsx");
+         Workbook workbook = WorkbookFactory.create(inputStream)) {
+      Assertions.assertInstanceOf(XSSFWorkbook.class, workbook);
+      Sheet sheet = workbook.getSheetAt(0);
+      ParseContext context = new ParseContext(sheet, ParseOptions.defaults(), null);
+      DataFormatter formatter = new DataFormatter();
+      int cells = 0;
+      for (Row row : sheet) {
+        for (Cell cell : row) {
+          Assertions.assertEquals(formatter.formatCellValue(cell), context.dictionaryCellValue(cell), cell.getAddress().toString());
+          // Read again from the resolved index
+          Assertions.assertEquals(formatter.formatCellValue(cell), context.dictionaryCellValue(cell), cell.getAddress().toString());
+          cells++;
+        }
+      }
+      Assertions.assertTrue(cells > 100);
+    }
+  }
+
+  @Test
+  void testRepeatedCellsShareOneInstance() throws IOException {
+    try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+      Sheet sheet = workbook.createSheet();
+      for (int r = 0; r < 3; r++) {
+        Row row = sheet.createRow(r);
+        row.createCell(0).setCellValue(new String("UPI/SWIGGY ORDER"));
+        row.createCell(1).setCellValue(534234);
+      }
+      StringDictionary dictionary = new StringDictionary();
+      ParseOptions parseOptions = ParseOptions.builder().sharedStringDictionary(dictionary).build();
+      ParseContext context = new ParseContext(sheet, parseOptions, null);
+      ParseContext nextContext = new ParseContext(sheet, parseOptions, null);
+
+      String remarks = context.dictionaryCellValue(sheet.getRow(0).getCell(0));
+      String chequeNumber = context.dictionaryCellValue(sheet.getRow(0).getCell(1));
+
+      Assertions.assertEquals("UPI/SWIGGY ORDER", remarks);
+      Assertions.assertEquals("534234", chequeNumber);
+      for (int r = 0; r < 3; r++) {
+        Assertions.assertSame(remarks, context.dictionaryCellValue(sheet.getRow(r).getCell(0)));
+        Assertions.assertSame(chequeNumber, context.dictionaryCellValue(sheet.getRow(r).getCell(1)));
+        Assertions.assertSame(remarks, nextContext.dictionaryCellValue(sheet.getRow(r).getCell(0)));
+        Assertions.assertSame(chequeNumber, nextContext.dictionaryCellValue(sheet.getRow(r).getCell(1)));
+      }
+      Assertions.assertEquals(2, dictionary.size());
+    }
+  }
+
+  @Test
+  void testDictionaryStopsGrowingAtItsLimit() {
+    StringDictionary dictionary = new StringDictionary(2);
+    String first = dictionary.intern(new String("NEFT"));
+    dictionary.intern("IMPS");
+    String overflow = new String("RTGS");
+
+    Assertions.assertSame(first, dictionary.intern(new String("NEFT")));
+    Assertions.assertSame(overflow, dictionary.intern(overflow));
+    Assertions.assertEquals(2, dictionary.size());
+    Assertions.assertEquals("", dictionary.intern(""));
+    Assertions.assertNull(dictionary.intern(null));
+  }
+}
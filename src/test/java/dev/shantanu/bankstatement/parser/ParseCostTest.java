@@ -0,0 +1,53 @@
+package dev.shantanu.bankstatement.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParseCostTest {
+
+  @Test
+  void testXlsxCostIsTheListedEntrySizes(@TempDir Path tempDir) throws IOException {
+    File xlsxFile = tempDir.resolve("Statement.xlsx").toFile();
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(xlsxFile.toPath()))) {
+      zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+      zip.write(new byte[3_000_000]);
+      zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+      zip.write(new byte[1_000_000]);
+    }
+    Assertions.assertTrue(xlsxFile.length() < 100_000, "Zeros should compress, was " + xlsxFile.length());
+
+    ParseCost loaded = ParseCost.estimate(xlsxFile, ParseOptions.defaults());
+    ParseCost streamed = ParseCost.estimate(xlsxFile, ParseOptions.builder().largeFileThreshold(1).build());
+    ParseCost stillLoaded = ParseCost.estimate(xlsxFile, ParseOptions.builder().largeFileThreshold(xlsxFile.length() + 1).build());
+
+    Assertions.assertEquals(new ParseCost(4_000_000, 16_000_000), loaded);
+    Assertions.assertEquals(new ParseCost(4_000_000, 4_000_000), streamed);
+    Assertions.assertEquals(loaded, stillLoaded);
+    // Each parse thread but the first loads its own copy, a streamed file is read once whatever the parallelism
+    Assertions.assertEquals(new ParseCost(4_000_000, 48_000_000),
+      ParseCost.estimate(xlsxFile, ParseOptions.builder().sheetParallelism(3).build()));
+    Assertions.assertEquals(streamed, ParseCost.estimate(xlsxFile, ParseOptions.builder().sheetParallelism(3).largeFileThreshold(1).build()));
+  }
+
+  @Test
+  void testCsvCostIsTheFileSizeReadOneRowAtATime(@TempDir Path tempDir) throws IOException {
+    Path csvFile = tempDir.resolve("Statement.csv");
+    try (OutputStream outputStream = Files.newOutputStream(csvFile)) {
+      for (int i = 0; i < 1000; i++) {
+        outputStream.write((i + ",01/11/2024,UPI/SWIGGY,100.00,,900.00\n").getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    long size = Files.size(csvFile);
+    Assertions.assertEquals(new ParseCost(size, size), ParseCost.estimate(csvFile.toFile(), ParseOptions.defaults()));
+  }
+}
@@ -0,0 +1,45 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.error.ConversionErrorCode;
+import dev.shantanu.bankstatement.error.ParseError;
+import dev.shantanu.bankstatement.error.ParseErrorReport;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParseErrorLogTest {
+
+  @Test
+  void testEveryErrorIsCountedAndSamplesAreCapped() {
+    ParseErrorLog errorLog = new ParseErrorLog(10);
+    for (int row = 0; row < 1000; row++) {
+      errorLog.record(ConversionErrorCode.INVALID_DATE, row, 2, "31/02/2024");
+      if (row % 10 == 0) {
+        errorLog.record(ConversionErrorCode.INVALID_AMOUNT, row, 6, "1.2.3");
+      }
+    }
+
+    ParseErrorReport report = errorLog.report();
+
+    Assertions.assertEquals(1000, report.count(ConversionErrorCode.INVALID_DATE));
+    Assertions.assertEquals(100, report.count(ConversionErrorCode.INVALID_AMOUNT));
+    Assertions.assertEquals(0, report.count(ConversionErrorCode.ROW_REJECTED));
+    Assertions.assertEquals(1100, report.totalCount());
+    Assertions.assertEquals(10, report.samples().size());
+    List<Integer> sampledRows = report.samples().stream().map(ParseError::rowNumber).toList();
+    Assertions.assertEquals(sampledRows.stream().sorted().toList(), sampledRows);
+  }
+
+  @Test
+  void testNoErrorsGiveEmptyReport() {
+    Assertions.assertSame(ParseErrorReport.EMPTY, new ParseErrorLog(10).report());
+  }
+
+  @Test
+  void testRowErrorDescriptionNamesEveryCode() {
+    int mask = ConversionErrorCode.INVALID_AMOUNT.mask() | ConversionErrorCode.INVALID_DATE.mask();
+
+    Assertions.assertEquals("INVALID_DATE|INVALID_AMOUNT", ConversionErrorCode.describe(mask));
+    Assertions.assertNull(ConversionErrorCode.describe(0));
+  }
+}
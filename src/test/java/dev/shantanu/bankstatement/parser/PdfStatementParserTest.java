@@ -0,0 +1,112 @@
+package dev.shantanu.bankstatement.parser;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PdfStatementParserTest {
+  private static final float[] COLUMN_X = {20, 60, 130, 210, 290, 470, 590, 710};
+  private static final String[] HEADERS = {"S No.", "Value Date", "Transaction Date", "Cheque Number",
+    "Transaction Remarks", "Withdrawal Amount(INR)", "Deposit Amount(INR)", "Balance(INR)"};
+  private static final int PAGES = 3;
+  private static final int ROWS_PER_PAGE = 10;
+
+  @Test
+  void testPagesReadConcurrentlyAreMergedInPageOrder(@TempDir Path tempDir) throws IOException {
+    File statementFile = writeStatement(tempDir.resolve("statement.pdf"));
+
+    AccountStatement sequential = new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, statementFile,
+      ParseOptions.builder().sheetParallelism(1).build()).getParser().getTransactionInformation();
+    AccountStatement concurrent = BankStatementParserFactory.detect(statementFile, ParseOptions.builder().sheetParallelism(PAGES).build())
+      .getParser()
+      .getTransactionInformation();
+
+    Assertions.assertEquals("123456789012", concurrent.transactionInfo().accountNumber());
+    Assertions.assertEquals(LocalDate.of(2024, 6, 30), concurrent.transactionInfo().transactionTo());
+    List<TransactionRecord> records = List.copyOf(concurrent.transactionRecords());
+    Assertions.assertEquals(PAGES * ROWS_PER_PAGE, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      Assertions.assertEquals(i + 1, records.get(i).serialNumber());
+      Assertions.assertNull(records.get(i).error());
+    }
+    Assertions.assertEquals("UPI/12/PAYMENT FOR ORDER 12 CONTINUED", records.get(11).transactionRemarks());
+    Assertions.assertEquals(0, new BigDecimal("1012.00").compareTo(records.get(11).withdrawalAmount()));
+    Assertions.assertEquals(sequential.transactionInfo(), concurrent.transactionInfo());
+    Assertions.assertEquals(List.copyOf(sequential.transactionRecords()), records);
+  }
+
+  /**
+   * A statement with the header and search fields on the first page and the table header repeated on every page.
+   * The remarks of transaction 12 wrap onto a second line.
+   */
+  private static File writeStatement(Path path) throws IOException {
+    PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    try (PDDocument document = new PDDocument()) {
+      int serialNumber = 0;
+      for (int p = 0; p < PAGES; p++) {
+        PDPage page = new PDPage(new PDRectangle(842, 595));
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          float y = 560;
+          if (p == 0) {
+            text(content, font, 20, y, "DETAILED STATEMENT");
+            y -= 20;
+            text(content, font, 20, y, "Account Number");
+            text(content, font, 150, y, "123456789012 ( INR ) - JANE DOE");
+            y -= 14;
+            text(content, font, 20, y, "Transaction Date from");
+            text(content, font, 150, y, "01/04/2024");
+            text(content, font, 250, y, "To");
+            text(content, font, 280, y, "30/06/2024");
+            y -= 20;
+          }
+          for (int c = 0; c < HEADERS.length; c++) {
+            text(content, font, COLUMN_X[c], y, HEADERS[c]);
+          }
+          for (int r = 0; r < ROWS_PER_PAGE; r++) {
+            serialNumber++;
+            y -= 14;
+            String date = String.format("%02d/05/2024", 1 + serialNumber % 28);
+            String[] cells = {String.valueOf(serialNumber), date, date, "", "UPI/" + serialNumber + "/PAYMENT FOR ORDER " + serialNumber,
+              (1000 + serialNumber) + ".00", "0.00", (50000 - serialNumber) + ".00"};
+            for (int c = 0; c < cells.length; c++) {
+              if (!cells[c].isEmpty()) {
+                text(content, font, COLUMN_X[c], y, cells[c]);
+              }
+            }
+            if (serialNumber == 12) {
+              y -= 10;
+              text(content, font, COLUMN_X[4], y, "CONTINUED");
+            }
+          }
+          text(content, font, 380, 30, "Page " + (p + 1) + " of " + PAGES);
+        }
+      }
+      document.save(path.toFile());
+    }
+    return path.toFile();
+  }
+
+  private static void text(PDPageContentStream content, PDType1Font font, float x, float y, String text) throws IOException {
+    content.beginText();
+    content.setFont(font, 8);
+    content.newLineAtOffset(x, y);
+    content.showText(text);
+    content.endText();
+  }
+}
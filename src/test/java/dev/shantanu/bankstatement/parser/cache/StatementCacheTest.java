@@ -0,0 +1,122 @@
+package dev.shantanu.bankstatement.parser.cache;
+
+import dev.shantanu.bankstatement.common.AccountStatement;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.parser.AccountStatementParser;
+import dev.shantanu.bankstatement.parser.BankStatementParserFactory;
+import dev.shantanu.bankstatement.parser.FormulaMode;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatementCacheTest {
+  static BankStatementParserFactory factory;
+
+  @BeforeAll
+  static void getExcelStatementParser() {
+    String fileName = "Test-Account-Statement.xlsx";
+    URL resource = ClassLoader.getSystemClassLoader().getResource("dev/shantanu/bankstatement/" + fileName);
+    assert resource != null;
+    File statementFile = new File(resource.getFile());
+    factory = new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, statementFile);
+  }
+
+  @Test
+  void testRepeatParseIsServedFromCache() throws IOException {
+    StatementCache cache = new StatementCache(1024 * 1024);
+    AccountStatementParser parser = factory.getParser(cache);
+
+    AccountStatement parsed = parser.getTransactionInformation();
+    AccountStatement cached = parser.getTransactionInformation();
+
+    Assertions.assertEquals(parsed, cached);
+    CacheStats stats = cache.stats();
+    Assertions.assertEquals(1, stats.hits());
+    Assertions.assertEquals(1, stats.misses());
+    Assertions.assertEquals(1, stats.entries());
+    Assertions.assertTrue(stats.bytes() > 0);
+  }
+
+  @Test
+  void testEntriesOverBudgetAreEvicted() throws IOException {
+    AccountStatement parsed = factory.getParser().getTransactionInformation();
+    long weight = CompactAccountStatement.of(parsed).orElseThrow().estimatedBytes();
+    StatementCache cache = new StatementCache(weight);
+
+    StatementCacheKey first = new StatementCacheKey("first", StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", FormulaMode.CACHED, false, 100);
+    StatementCacheKey second = new StatementCacheKey("second", StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", FormulaMode.CACHED, false, 100);
+    cache.put(first, parsed);
+    cache.put(second, parsed);
+
+    Assertions.assertTrue(cache.get(first).isEmpty());
+    Assertions.assertTrue(cache.get(second).isPresent());
+    Assertions.assertEquals(1, cache.stats().evictions());
+  }
+
+  @Test
+  void testParsesWithDifferentOptionsAreCachedApart() throws IOException {
+    StatementCache cache = new StatementCache(1024 * 1024);
+    ParseOptions evaluating = ParseOptions.builder().formulaMode(FormulaMode.EVALUATE).build();
+    ParseOptions summarizing = ParseOptions.builder().computeSummary(true).build();
+
+    AccountStatement cached = factory.getParser(cache).getTransactionInformation();
+    new BankStatementParserFactory(factory.statementType(), factory.statementFile(), evaluating).getParser(cache)
+      .getTransactionInformation();
+    AccountStatement summarized = new BankStatementParserFactory(factory.statementType(), factory.statementFile(), summarizing)
+      .getParser(cache).getTransactionInformation();
+    AccountStatement cachedAgain = factory.getParser(cache).getTransactionInformation();
+
+    Assertions.assertNull(cached.summary());
+    Assertions.assertNotNull(summarized.summary());
+    Assertions.assertEquals(cached, cachedAgain);
+    Assertions.assertEquals(1, cache.stats().hits());
+    Assertions.assertEquals(3, cache.stats().misses());
+    Assertions.assertEquals(3, cache.stats().entries());
+  }
+
+  @Test
+  void testRewriteWithinModificationTimeGranularityIsHashedAgain(@TempDir Path tempDir) throws IOException {
+    StatementCache cache = new StatementCache(1024 * 1024);
+    Path statementFile = tempDir.resolve("statement.csv");
+    Files.writeString(statementFile, "first");
+    FileTime modified = Files.getLastModifiedTime(statementFile);
+
+    StatementCacheKey first = cache.keyFor(statementFile.toFile(), StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", ParseOptions.defaults());
+    // Same size, same modification time
+    Files.writeString(statementFile, "again");
+    Files.setLastModifiedTime(statementFile, modified);
+    StatementCacheKey second = cache.keyFor(statementFile.toFile(), StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", ParseOptions.defaults());
+
+    Assertions.assertNotEquals(first.contentHash(), second.contentHash());
+  }
+
+  @Test
+  void testDigestOfOlderFileIsRemembered(@TempDir Path tempDir) throws IOException {
+    StatementCache cache = new StatementCache(1024 * 1024);
+    Path statementFile = tempDir.resolve("statement.csv");
+    Files.writeString(statementFile, "first");
+    FileTime modified = FileTime.from(Instant.now().minus(Duration.ofHours(1)));
+    Files.setLastModifiedTime(statementFile, modified);
+
+    StatementCacheKey first = cache.keyFor(statementFile.toFile(), StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", ParseOptions.defaults());
+    // Only a rewrite that also restores the modification time goes unnoticed
+    Files.writeString(statementFile, "again");
+    Files.setLastModifiedTime(statementFile, modified);
+    StatementCacheKey remembered = cache.keyFor(statementFile.toFile(), StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", ParseOptions.defaults());
+    Files.setLastModifiedTime(statementFile, FileTime.from(modified.toInstant().plusNanos(1000)));
+    StatementCacheKey rehashed = cache.keyFor(statementFile.toFile(), StatementType.ICICI_BANK_SEARCH_STATEMENT, "1.0", ParseOptions.defaults());
+
+    Assertions.assertEquals(first, remembered);
+    Assertions.assertNotEquals(first.contentHash(), rehashed.contentHash());
+  }
+}
@@ -0,0 +1,118 @@
+package dev.shantanu.bankstatement.server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.shantanu.bankstatement.TestFixtures;
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import dev.shantanu.bankstatement.config.StatementType;
+import dev.shantanu.bankstatement.parser.BankStatementParserFactory;
+import dev.shantanu.bankstatement.parser.ParseOptions;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementHttpServerTest {
+  private static final long MAX_UPLOAD_BYTES = 1024 * 1024;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private StatementHttpServer server;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = new StatementHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), ParseOptions.defaults(),
+      2, MAX_UPLOAD_BYTES, 5, TimeUnit.SECONDS);
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.close();
+    client.close();
+  }
+
+  @Test
+  void testHealth() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/health")).GET());
+
+    Assertions.assertEquals(200, response.statusCode());
+    Assertions.assertEquals("ok\n", response.body());
+  }
+
+  @Test
+  void testOnlyPostIsAllowed() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/statements")).GET());
+
+    Assertions.assertEquals(405, response.statusCode());
+    Assertions.assertEquals("POST", response.headers().firstValue("Allow").orElse(null));
+  }
+
+  @Test
+  void testUnknownStatementTypeIsBadRequest() throws IOException, InterruptedException {
+    HttpResponse<String> response = post("/statements?type=NO_SUCH_BANK", new byte[]{1});
+
+    Assertions.assertEquals(400, response.statusCode());
+  }
+
+  @Test
+  void testUploadOverLimitIsRejected() throws IOException, InterruptedException {
+    HttpResponse<String> response = post("/statements", new byte[(int) MAX_UPLOAD_BYTES + 1]);
+
+    Assertions.assertEquals(413, response.statusCode());
+  }
+
+  @Test
+  void testGarbageUploadIsUnprocessable() throws IOException, InterruptedException {
+    byte[] garbage = "PK\u0003\u0004 not really a workbook".getBytes();
+
+    for (String path : List.of("/statements", "/statements?type=" + StatementType.ICICI_BANK_SEARCH_STATEMENT.name())) {
+      HttpResponse<String> response = post(path, garbage);
+
+      Assertions.assertEquals(422, response.statusCode(), path + ": " + response.body());
+    }
+  }
+
+  @Test
+  void testStatementRoundTrip() throws IOException, InterruptedException {
+    File statementFile = TestFixtures.statementWorkbook();
+    List<Integer> expectedSerialNumbers = new BankStatementParserFactory(StatementType.ICICI_BANK_SEARCH_STATEMENT, statementFile)
+      .getParser().getTransactionInformation().transactionRecords().stream()
+      .map(TransactionRecord::serialNumber)
+      .sorted()
+      .toList();
+
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/statements"))
+      .POST(HttpRequest.BodyPublishers.ofFile(statementFile.toPath())));
+
+    Assertions.assertEquals(200, response.statusCode(), response.body());
+    Assertions.assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+    List<JsonObject> lines = response.body().lines().map(line -> JsonParser.parseString(line).getAsJsonObject()).toList();
+    Assertions.assertEquals("statement", lines.getFirst().get("type").getAsString());
+    Assertions.assertEquals("000601655000", lines.getFirst().getAsJsonObject("transactionInfo").get("accountNumber").getAsString());
+    List<JsonObject> transactions = lines.subList(1, lines.size());
+    Assertions.assertTrue(transactions.stream().allMatch(line -> line.get("type").getAsString().equals("transaction")));
+    Assertions.assertEquals(expectedSerialNumbers, transactions.stream().map(line -> line.get("serialNumber").getAsInt()).toList());
+  }
+
+  private HttpResponse<String> post(String path, byte[] body) throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://127.0.0.1:" + server.port() + path);
+  }
+}
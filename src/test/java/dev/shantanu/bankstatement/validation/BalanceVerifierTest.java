@@ -0,0 +1,48 @@
+package dev.shantanu.bankstatement.validation;
+
+import dev.shantanu.bankstatement.common.TransactionRecord;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BalanceVerifierTest {
+  private static final LocalDate DATE = LocalDate.of(2024, 11, 1);
+
+  @Test
+  void testConsistentStatement() {
+    List<TransactionRecord> records = List.of(
+      transaction(2, "80.00", "0.00", "420"),
+      transaction(1, "60.00", "0.00", "500"),
+      transaction(3, "0", "60", "480.00"));
+
+    BalanceReport report = BalanceVerifier.verify(records);
+
+    Assertions.assertEquals(3, report.recordsChecked());
+    Assertions.assertTrue(report.isConsistent());
+  }
+
+  @Test
+  void testBreaksAndGapsAreReported() {
+    List<TransactionRecord> records = List.of(
+      transaction(1, "60.00", "0.00", "500"),
+      transaction(2, "80.00", "0.00", "425.50"),
+      transaction(5, "0", "60", "485.50"));
+
+    BalanceReport report = BalanceVerifier.verify(records);
+
+    Assertions.assertEquals(1, report.breaks().size());
+    BalanceBreak balanceBreak = report.breaks().getFirst();
+    Assertions.assertEquals(2, balanceBreak.serialNumber());
+    Assertions.assertEquals(new BigDecimal("420.00"), balanceBreak.expectedBalance());
+    Assertions.assertEquals(new BigDecimal("5.50"), balanceBreak.difference());
+    Assertions.assertEquals(List.of(new SerialNumberGap(2, 5)), report.gaps());
+    Assertions.assertEquals(2, report.gaps().getFirst().missingCount());
+  }
+
+  private static TransactionRecord transaction(int serialNumber, String withdrawal, String deposit, String balance) {
+    return new TransactionRecord(serialNumber, DATE, DATE, null, null, new BigDecimal(withdrawal),
+      new BigDecimal(deposit), new BigDecimal(balance), null);
+  }
+}